@@ -0,0 +1,25 @@
+package com.blog.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 请求合并注解
+ * 标注的服务方法在参数相同的并发调用之间只执行一次，其余调用等待并共享同一结果。
+ * 仅适用于无副作用的读方法
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /**
+     * 合并分组名称，用于统计
+     *
+     * @return 分组名称
+     */
+    String value();
+}
@@ -0,0 +1,181 @@
+package com.blog.aspect;
+
+import com.blog.trace.SpanKind;
+import com.blog.trace.Tracer;
+import com.blog.util.LatencyHistogram;
+import com.blog.vo.RepositoryMethodStatsVO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 数据访问层耗时统计切面
+ * 对所有Spring Data Repository方法计时，按“接口名.方法名(参数类型)”汇总延迟直方图和返回行数；
+ * 执行期间在线程上记录当前方法，供慢SQL记录关联到具体的数据访问方法；请求线程上同时记录数据访问追踪片段
+ */
+@Aspect
+@Component
+@Order(0)
+public class RepositoryTimingAspect {
+
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    private final Map<Method, MethodStats> stats = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) "
+            + "&& this(org.springframework.data.repository.Repository)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodStats methodStats = stats.computeIfAbsent(method,
+                key -> new MethodStats(repositoryName(joinPoint.getThis().getClass()) + "." + methodName(key),
+                        AnnotatedElementUtils.hasAnnotation(key, Modifying.class)));
+
+        String outerMethod = CURRENT_METHOD.get();
+        CURRENT_METHOD.set(methodStats.name);
+        Tracer.begin(SpanKind.REPOSITORY, methodStats.traceNameId);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodStats.rows.add(rowCount(result, methodStats.modifying));
+            return result;
+        } catch (Throwable e) {
+            methodStats.errors.increment();
+            throw e;
+        } finally {
+            methodStats.histogram.record(System.nanoTime() - start);
+            Tracer.end();
+            if (outerMethod != null) {
+                CURRENT_METHOD.set(outerMethod);
+            } else {
+                CURRENT_METHOD.remove();
+            }
+        }
+    }
+
+    /**
+     * 获取当前线程正在执行的数据访问方法
+     *
+     * @return 方法名称，不在数据访问方法中时为空
+     */
+    public static String currentMethod() {
+        return CURRENT_METHOD.get();
+    }
+
+    /**
+     * 获取各数据访问方法的耗时统计，按总耗时倒序
+     *
+     * @return 统计列表
+     */
+    public List<RepositoryMethodStatsVO> getStats() {
+        return stats.values().stream()
+                .map(MethodStats::toVO)
+                .sorted(Comparator.comparing(RepositoryMethodStatsVO::getTotalMillis).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * 从代理类实现的接口中找出业务定义的Repository接口名
+     */
+    private String repositoryName(Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, key -> {
+            for (Class<?> candidate : key.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return key.getSimpleName();
+        });
+    }
+
+    /**
+     * 方法名附带参数类型，区分findAll()和findAll(Pageable)等重载方法
+     */
+    private static String methodName(Method method) {
+        return method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /**
+     * 计算返回行数：集合和分页按元素数，修改语句按影响行数，单个对象按1行
+     */
+    private static long rowCount(Object result, boolean modifying) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (modifying && result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return 1;
+    }
+
+    /**
+     * 单个数据访问方法的统计
+     */
+    private static class MethodStats {
+
+        private final String name;
+        private final boolean modifying;
+        private final int traceNameId;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        MethodStats(String name, boolean modifying) {
+            this.name = name;
+            this.modifying = modifying;
+            this.traceNameId = Tracer.nameId(name);
+        }
+
+        RepositoryMethodStatsVO toVO() {
+            return RepositoryMethodStatsVO.builder()
+                    .method(name)
+                    .calls(histogram.getCount())
+                    .errors(errors.sum())
+                    .rows(rows.sum())
+                    .meanMillis(histogram.getMeanMillis())
+                    .p50Millis(histogram.getPercentileMillis(0.5))
+                    .p99Millis(histogram.getPercentileMillis(0.99))
+                    .maxMillis(histogram.getMaxMillis())
+                    .totalMillis(histogram.getTotalMillis())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.blog.aspect;
+
+import com.blog.annotation.SingleFlight;
+import com.blog.datasource.ReadWriteRoutingDataSource;
+import com.blog.util.SingleFlightGroup;
+import com.blog.vo.SingleFlightStatsVO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 请求合并切面
+ * 优先级高于事务切面，被合并的调用不会开启事务或占用数据库连接。
+ * 启用读写分离时，固定读主库的调用（写入后的请求或客户端）不参与合并，避免拿到其他调用从从库读到的旧结果
+ */
+@Aspect
+@Component
+@Order(0)
+public class SingleFlightAspect {
+
+    private final Map<String, SingleFlightGroup<List<Object>, Object>> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 等待进行中调用的最长时间（毫秒），超时后自行执行
+     */
+    @Value("${blog.single-flight.max-wait:3000}")
+    private long maxWaitMillis;
+
+    /**
+     * 读写分离路由数据源，未启用读写分离时不存在；切面创建较早，使用时再获取
+     */
+    @Autowired
+    private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    @Around("@annotation(singleFlight)")
+    public Object around(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+        if (routing != null && routing.isPinnedToPrimary()) {
+            return joinPoint.proceed();
+        }
+        SingleFlightGroup<List<Object>, Object> group = groups.computeIfAbsent(singleFlight.value(),
+                name -> new SingleFlightGroup<>(name, maxWaitMillis));
+        return group.execute(Arrays.asList(joinPoint.getArgs()), joinPoint::proceed);
+    }
+
+    /**
+     * 获取各分组的合并统计
+     *
+     * @return 合并统计列表
+     */
+    public List<SingleFlightStatsVO> getStats() {
+        return groups.values().stream()
+                .map(group -> SingleFlightStatsVO.builder()
+                        .name(group.getName())
+                        .calls(group.getCalls())
+                        .executions(group.getCalls() - group.getCoalesced() + group.getWaitTimeouts())
+                        .coalesced(group.getCoalesced())
+                        .waitTimeouts(group.getWaitTimeouts())
+                        .inFlight(group.getInFlight())
+                        .build())
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .collect(Collectors.toList());
+    }
+}
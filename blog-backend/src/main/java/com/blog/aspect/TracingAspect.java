@@ -0,0 +1,61 @@
+package com.blog.aspect;
+
+import com.blog.trace.SpanKind;
+import com.blog.trace.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 控制器和服务方法追踪切面
+ * 为请求线程上的控制器方法和服务方法打开追踪片段；优先级最高，服务片段包含事务提交和请求合并的等待时间
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final Map<Method, Site> sites = new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *) "
+            + "|| within(@org.springframework.stereotype.Service *)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Site site = sites.get(method);
+        if (site == null) {
+            site = sites.computeIfAbsent(method, key -> new Site(joinPoint.getTarget().getClass(), key));
+        }
+        Tracer.begin(site.kind, site.nameId);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * 追踪点：片段类型和名称编号按方法缓存
+     */
+    private static class Site {
+
+        private final SpanKind kind;
+        private final int nameId;
+
+        Site(Class<?> targetClass, Method method) {
+            this.kind = targetClass.isAnnotationPresent(RestController.class) ? SpanKind.CONTROLLER : SpanKind.SERVICE;
+            this.nameId = Tracer.nameId(targetClass.getSimpleName() + "." + method.getName());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.blog.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果封装
+ * 下一页通过nextCursor定位，不使用偏移量，翻页深度不影响查询代价
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResult<T> {
+
+    /**
+     * 数据列表
+     */
+    private List<T> list;
+
+    /**
+     * 下一页游标，没有更多数据时为空
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,98 @@
+package com.blog.config;
+
+import com.blog.util.ArticleContentCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 存量文章正文压缩
+ * 开启正文压缩后在后台按主键分批扫描明文存储的正文，将超过阈值的正文改为gzip存储并写入搜索文本。
+ * 更新时校验文章更新时间，扫描期间被编辑过的文章保持编辑时写入的内容不变
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"blog.content.compression.enabled", "blog.content.compression.migrate-on-startup"},
+        havingValue = "true")
+public class ArticleContentCompressionRunner implements ApplicationRunner {
+
+    private static final String SELECT_SQL = "SELECT b.article_id, b.content, a.update_time FROM article_body b "
+            + "JOIN article a ON a.id = b.article_id "
+            + "WHERE b.article_id > ? AND b.content_gzip IS NULL ORDER BY b.article_id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE article_body SET content_gzip = ?, search_text = ?, content = NULL "
+            + "WHERE article_id = ? AND content_gzip IS NULL "
+            + "AND (SELECT a.update_time FROM article a WHERE a.id = article_body.article_id) = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArticleContentCodec articleContentCodec;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    /**
+     * 每批扫描的正文数量
+     */
+    @Value("${blog.content.compression.migrate-batch-size:200}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskExecutor.execute(() -> {
+            try {
+                compressExisting();
+            } catch (RuntimeException e) {
+                log.error("存量文章正文压缩失败", e);
+            }
+        });
+    }
+
+    /**
+     * 分批将存量正文改为压缩存储
+     *
+     * @return 压缩的正文数量
+     */
+    public long compressExisting() {
+        long lastId = 0;
+        long compressed = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_SQL, lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("article_id")).longValue();
+                String content = (String) row.get("content");
+                byte[] gzip = articleContentCodec.compressIfWorthwhile(content);
+                if (gzip != null) {
+                    updates.add(new Object[]{gzip, ArticleContentCodec.toSearchText(content), lastId,
+                            (Timestamp) row.get("update_time")});
+                }
+            }
+            if (!updates.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(UPDATE_SQL, updates)) {
+                    compressed += Math.max(count, 0);
+                }
+            }
+        }
+        log.info("存量文章正文压缩完成，共压缩{}篇", compressed);
+        return compressed;
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.config;
+
+import com.blog.repository.CategoryRepository;
+import com.blog.util.CorpusGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 合成语料生成命令
+ * 以corpus配置启动时在数据初始化之后按blog.corpus.*参数向当前数据源写入合成文章，完成后退出进程，例如：
+ * java -jar blog-backend.jar --spring.profiles.active=corpus --blog.corpus.articles=1000000
+ */
+@Slf4j
+@Component
+@Profile("corpus")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CorpusGeneratorRunner implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        CorpusGenerator.Options options = Binder.get(applicationContext.getEnvironment())
+                .bind("blog.corpus", CorpusGenerator.Options.class)
+                .orElseGet(CorpusGenerator.Options::new);
+        log.info("开始生成合成语料：{}", options);
+        new CorpusGenerator(jdbcTemplate, categoryRepository, options).generate();
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
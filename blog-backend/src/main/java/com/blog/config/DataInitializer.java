@@ -6,6 +6,9 @@ import com.blog.repository.CategoryRepository;
 import com.blog.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -13,9 +16,12 @@ import java.util.Optional;
 
 /**
  * 数据初始化类
- * 用于在应用启动时初始化必要的数据
+ * 用于在应用启动时初始化必要的数据，先于其他启动任务（如合成语料生成）执行；
+ * 已初始化的生产库可设置blog.data-init.enabled=false跳过，省去启动阶段的查询
  */
 @Component
+@ConditionalOnProperty(name = "blog.data-init.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
@@ -0,0 +1,110 @@
+package com.blog.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceBuilder;
+import com.blog.datasource.ReadWriteRoutingDataSource;
+import com.blog.datasource.ReadWriteRoutingFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 读写分离数据源配置
+ * 启用后主库沿用spring.datasource配置，从库复制主库的连接池参数，只读事务路由到从库
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(name = "blog.datasource.routing.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Autowired
+    private RoutingDataSourceProperties routingProperties;
+
+    @Autowired
+    @Lazy
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    /**
+     * 主库
+     */
+    @Bean(initMethod = "init", destroyMethod = "close")
+    public DruidDataSource primaryDataSource() {
+        return DruidDataSourceBuilder.create().build();
+    }
+
+    /**
+     * 读写分离路由数据源，从库复制主库的连接池参数
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DruidDataSource primaryDataSource) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (RoutingDataSourceProperties.Replica replica : routingProperties.getReplicas()) {
+            DruidDataSource replicaDataSource = primaryDataSource.cloneDruidDataSource();
+            String name = replica.getName() != null ? replica.getName() : "replica-" + index;
+            replicaDataSource.setName(name);
+            replicaDataSource.setUrl(replica.getUrl());
+            replicaDataSource.setUsername(replica.getUsername());
+            replicaDataSource.setPassword(replica.getPassword());
+            replicas.put(name, replicaDataSource);
+            index++;
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+                routingProperties.getStickyWindow(), DataSourceConfig::currentClientKey);
+    }
+
+    /**
+     * 应用使用的数据源
+     * 外层使用LazyConnectionDataSourceProxy延迟获取物理连接，使路由时能读取到事务的只读标记
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 请求结束时清除路由状态
+     */
+    @Bean
+    public FilterRegistrationBean<ReadWriteRoutingFilter> readWriteRoutingFilter() {
+        FilterRegistrationBean<ReadWriteRoutingFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new ReadWriteRoutingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    /**
+     * 定时检查从库健康状态
+     */
+    @Scheduled(fixedDelayString = "${blog.datasource.routing.health-check-interval:10000}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas(routingProperties.getHealthCheckTimeout());
+    }
+
+    /**
+     * 当前客户端标识：已登录用户使用用户名，匿名访问不做跨请求固定
+     */
+    private static String currentClientKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,150 @@
+package com.blog.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.blog.datasource.PermitGuardedDataSource;
+import com.blog.datasource.ReadWriteRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 请求执行模式配置
+ * blog.execution.mode=platform（默认）使用平台线程池；
+ * blog.execution.mode=virtual 使用虚拟线程处理Servlet请求和异步任务，
+ * 同时以信号量限制并发获取数据库连接的线程数，每个物理连接池（含读写分离的主库和各从库）单独限制。
+ * 虚拟线程需以JDK 21及以上运行，项目的编译基线和部署镜像均为JDK 11，在该环境下开启virtual会启动失败，而不是退回平台线程
+ */
+@Slf4j
+@Configuration
+public class ExecutionConfig {
+
+    /**
+     * 虚拟线程执行模式
+     */
+    public static final String MODE_VIRTUAL = "virtual";
+
+    /**
+     * 异步任务执行器（异步请求、流式导出等）
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(Environment environment, TaskExecutorBuilder taskExecutorBuilder) {
+        if (isVirtualMode(environment)) {
+            log.info("异步任务使用虚拟线程执行");
+            return new TaskExecutorAdapter(newVirtualThreadExecutor());
+        }
+        return taskExecutorBuilder.build();
+    }
+
+    /**
+     * 搜索专用有界执行器
+     * 线程数和队列长度都有上限，队列满时拒绝新的搜索请求，避免慢查询占满请求线程。
+     * 任务带上提交请求的安全上下文和读写分离固定标记，写入后的搜索与请求线程一样路由到主库
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int poolSize = environment.getProperty("blog.search.pool-size", Integer.class, 8);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(environment.getProperty("blog.search.queue-capacity", Integer.class, 100));
+        executor.setThreadNamePrefix("search-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(task ->
+                new DelegatingSecurityContextRunnable(ReadWriteRoutingDataSource.propagateRequestState(task)));
+        return executor;
+    }
+
+    /**
+     * Tomcat请求处理使用虚拟线程
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.execution.mode", havingValue = MODE_VIRTUAL)
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executorService = newVirtualThreadExecutor();
+        return protocolHandler -> {
+            log.info("Tomcat请求处理使用虚拟线程执行");
+            protocolHandler.setExecutor(executorService);
+        };
+    }
+
+    /**
+     * 虚拟线程模式下为每个物理连接池增加连接许可限制，许可数与该连接池的最大连接数一致：
+     * 未启用读写分离时包装dataSource连接池；启用时dataSource是路由外层的代理，改为在路由数据源初始化前包装主库和各从库
+     */
+    @Bean
+    public static BeanPostProcessor dataSourcePermitPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof ReadWriteRoutingDataSource && isVirtualMode(environment)) {
+                    ((ReadWriteRoutingDataSource) bean).wrapTargets((name, pool) -> guard(environment, name, pool));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DruidDataSource && "dataSource".equals(beanName) && isVirtualMode(environment)) {
+                    return guard(environment, beanName, (DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 为连接池增加许可限制，未配置blog.execution.db-permits时许可数取该连接池的max-active
+     */
+    private static DataSource guard(Environment environment, String name, DataSource pool) {
+        int maxActive = pool instanceof DruidDataSource ? ((DruidDataSource) pool).getMaxActive()
+                : environment.getProperty("spring.datasource.druid.max-active", Integer.class, 20);
+        int permits = environment.getProperty("blog.execution.db-permits", Integer.class, maxActive);
+        long timeout = environment.getProperty("blog.execution.db-permit-timeout", Long.class, 60000L);
+        log.info("连接池{}启用连接许可限制，许可数：{}", name, permits);
+        return new PermitGuardedDataSource(pool, permits, timeout);
+    }
+
+    /**
+     * 是否开启虚拟线程模式，开启但当前JDK不支持虚拟线程时抛出异常使启动失败
+     */
+    private static boolean isVirtualMode(Environment environment) {
+        if (!MODE_VIRTUAL.equalsIgnoreCase(environment.getProperty("blog.execution.mode", "platform"))) {
+            return false;
+        }
+        requireVirtualThreads();
+        return true;
+    }
+
+    private static void requireVirtualThreads() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("blog.execution.mode=virtual需要以JDK 21及以上运行，当前JDK为"
+                    + System.getProperty("java.version"));
+        }
+    }
+
+    /**
+     * 创建虚拟线程执行器，当前JDK不支持虚拟线程时抛出异常
+     * 项目以JDK 11为编译基线，因此通过反射调用
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        requireVirtualThreads();
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程执行器失败", e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.blog.config;
+
+import com.blog.datasource.DruidPoolMetrics;
+import com.blog.trace.RequestAllocationFilter;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.SlowRequestLog;
+import com.blog.util.SlowStatementLog;
+import com.blog.util.ViewCountBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.util.stream.Collectors;
+
+/**
+ * 运行指标配置
+ * 指标通过独立管理端口（management.server.port）以Prometheus文本格式导出，
+ * JVM、HTTP请求、线程池、Hibernate二级缓存等指标由Spring Boot自动注册，这里补充业务相关指标
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 为HTTP请求计时增加处理方法标签（控制器类名.方法名），按控制器方法统计延迟
+     */
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of("handler", handlerName(handler));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.of("handler", handlerName(handler));
+            }
+        };
+    }
+
+    /**
+     * 按路由统计每个请求分配的字节数，排在请求追踪过滤器之后
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.monitor.allocation-enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RequestAllocationFilter> requestAllocationFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestAllocationFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new RequestAllocationFilter(meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Druid连接池指标
+     */
+    @Bean
+    public MeterBinder druidPoolMetrics(ObjectProvider<DataSource> dataSources) {
+        return new DruidPoolMetrics(dataSources.orderedStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * 业务组件的积压量、慢SQL和慢请求指标
+     */
+    @Bean
+    public MeterBinder blogComponentMetrics(ObjectProvider<ArticlePublishScheduler> articlePublishScheduler,
+                                            ObjectProvider<ViewCountBuffer> viewCountBuffer,
+                                            ObjectProvider<SlowStatementLog> slowStatementLog,
+                                            ObjectProvider<SlowRequestLog> slowRequestLog) {
+        return registry -> {
+            articlePublishScheduler.ifAvailable(scheduler ->
+                    Gauge.builder("blog.publish.scheduled", scheduler, ArticlePublishScheduler::getScheduledCount)
+                            .description("时间轮中待发布的文章数").register(registry));
+            viewCountBuffer.ifAvailable(buffer ->
+                    Gauge.builder("blog.view.count.pending", buffer, ViewCountBuffer::getPendingSize)
+                            .description("尚未写入数据库的浏览量文章数").register(registry));
+            slowStatementLog.ifAvailable(log ->
+                    FunctionCounter.builder("blog.slow.statements", log, SlowStatementLog::getTotalCount)
+                            .description("超过阈值的SQL语句数").register(registry));
+            slowRequestLog.ifAvailable(log ->
+                    FunctionCounter.builder("blog.slow.requests", log, SlowRequestLog::getTotalCount)
+                            .description("超过阈值的请求数").register(registry));
+        };
+    }
+
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
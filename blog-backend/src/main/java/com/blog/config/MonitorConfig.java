@@ -0,0 +1,71 @@
+package com.blog.config;
+
+import com.alibaba.druid.filter.Filter;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.blog.datasource.SlowStatementFilter;
+import com.blog.datasource.TracingStatementFilter;
+import com.blog.trace.TracingFilter;
+import com.blog.util.SlowRequestLog;
+import com.blog.util.SlowStatementLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 运行监控配置
+ */
+@Configuration
+public class MonitorConfig {
+
+    /**
+     * 每个请求线程追踪缓冲区的片段容量
+     */
+    @Value("${blog.monitor.trace-buffer-size:256}")
+    private int traceBufferSize;
+
+    /**
+     * 慢请求是否同时提交JFR事件
+     */
+    @Value("${blog.monitor.trace-jfr-enabled:false}")
+    private boolean traceJfrEnabled;
+
+    /**
+     * 在Druid连接池初始化前注册慢SQL采集和SQL追踪过滤器
+     * 读写分离时从库由主库复制，过滤器随连接池配置一并复制
+     */
+    @Bean
+    public static BeanPostProcessor slowStatementFilterPostProcessor(ObjectProvider<SlowStatementLog> slowStatementLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof DruidDataSource) {
+                    DruidDataSource dataSource = (DruidDataSource) bean;
+                    for (Filter filter : dataSource.getProxyFilters()) {
+                        if (filter instanceof SlowStatementFilter) {
+                            return bean;
+                        }
+                    }
+                    dataSource.getProxyFilters().add(new SlowStatementFilter(slowStatementLog.getObject()));
+                    dataSource.getProxyFilters().add(new TracingStatementFilter());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 请求追踪过滤器，位于过滤器链最外层，片段覆盖认证等全部过滤器
+     */
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new TracingFilter(slowRequestLog, traceBufferSize, traceJfrEnabled));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
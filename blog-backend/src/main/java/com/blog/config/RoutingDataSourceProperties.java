@@ -0,0 +1,67 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 从库列表，连接池参数沿用spring.datasource.druid
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 客户端写入后固定读主库的时长（毫秒）
+     */
+    private long stickyWindow = 5000;
+
+    /**
+     * 从库健康检查间隔（毫秒）
+     */
+    private long healthCheckInterval = 10000;
+
+    /**
+     * 从库健康检查超时（秒）
+     */
+    private int healthCheckTimeout = 2;
+
+    /**
+     * 从库配置
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * 从库名称
+         */
+        private String name;
+
+        /**
+         * 连接地址
+         */
+        private String url;
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 密码
+         */
+        private String password;
+    }
+}
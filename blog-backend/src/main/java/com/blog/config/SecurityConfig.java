@@ -4,6 +4,10 @@ import com.blog.security.JwtAuthenticationEntryPoint;
 import com.blog.security.JwtAuthenticationFilter;
 import com.blog.security.JwtUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -74,6 +78,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers(HttpMethod.GET, "/settings/**").permitAll()
                 .antMatchers("/uploads/**").permitAll()
                 .antMatchers("/swagger-ui/**", "/swagger-resources/**", "/v3/api-docs/**").permitAll()
+                // 管理端口上的健康检查和Prometheus采集接口，其他管理接口需要认证
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class,
+                        PrometheusScrapeEndpoint.class)).permitAll()
                 // 其他所有接口需要认证
                 .anyRequest().authenticated();
 
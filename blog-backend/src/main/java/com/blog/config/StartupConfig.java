@@ -0,0 +1,62 @@
+package com.blog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.Filter;
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 启动配置
+ * 以fast配置启动（spring.main.lazy-initialization=true）时，数据源、JPA、安全过滤器链等每个请求必经的基础设施
+ * 和带定时任务的组件仍在启动阶段创建，控制器、服务等其余组件推迟到首次使用时创建；
+ * blog.startup.exit-after-start=true 时启动完成后立即退出，用作生成AppCDS归档的训练运行
+ */
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    /**
+     * 延迟初始化时仍在启动阶段创建的类型
+     */
+    private static final List<Class<?>> EAGER_TYPES = List.of(
+            DataSource.class, EntityManagerFactory.class, SecurityFilterChain.class, Filter.class);
+
+    /**
+     * 基础设施和定时任务组件不延迟初始化：定时任务只在组件创建时注册，延迟创建的组件上的定时任务永远不会执行
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerInfrastructureExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (EAGER_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType)) || hasScheduledMethods(beanType));
+    }
+
+    /**
+     * 启动完成后退出，供AppCDS训练运行记录启动阶段加载的类
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.startup.exit-after-start", havingValue = "true")
+    public ApplicationRunner exitAfterStartRunner(ConfigurableApplicationContext applicationContext) {
+        return args -> {
+            log.info("启动完成，按blog.startup.exit-after-start退出");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        };
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package com.blog.config;
+
+import com.blog.common.Result;
+import com.blog.service.ArticleService;
+import com.blog.service.CategoryService;
+import com.blog.service.ContributorService;
+import com.blog.service.SettingService;
+import com.blog.util.JwtUtil;
+import com.blog.vo.ArticleVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动预热
+ * 在上下文启动后、就绪状态切换为ACCEPTING_TRAFFIC之前同步执行（应用启动器全部执行完才发布就绪事件），
+ * 就绪探针/actuator/health/readiness在预热结束前返回OUT_OF_SERVICE：
+ * 先预加载系统设置、分类、贡献者及热门、最新文章和浏览量最高的文章详情，填充二级缓存和查询缓存；
+ * 再在blog.warmup.duration内循环读取引用数据、序列化预加载的响应、签发并校验合成JWT，使热点路径在接收流量前完成JIT编译。
+ * 预热失败只记录日志，不阻止启动
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blog.warmup.enabled", havingValue = "true")
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class WarmupRunner implements ApplicationRunner {
+
+    @Autowired
+    private SettingService settingService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ContributorService contributorService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * 预加载的热门、最新文章数量
+     */
+    @Value("${blog.warmup.top-n:20}")
+    private int topN;
+
+    /**
+     * 合成负载的持续时间（毫秒）
+     */
+    @Value("${blog.warmup.duration:10000}")
+    private long duration;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            List<Object> payloads = preload();
+            long preloadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long iterations = exercise(payloads);
+            log.info("启动预热完成：预加载{}项耗时{}ms，合成负载{}轮，总耗时{}ms", payloads.size(), preloadMillis, iterations,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("启动预热失败，跳过剩余预热", e);
+        }
+    }
+
+    /**
+     * 预加载引用数据和热点文章，返回待序列化的响应数据
+     */
+    private List<Object> preload() {
+        List<Object> payloads = new ArrayList<>();
+        payloads.add(settingService.getSetting());
+        payloads.add(categoryService.getAllCategories());
+        payloads.add(contributorService.getAllContributors());
+
+        List<ArticleVO> popular = articleService.getPopularArticles(topN);
+        List<ArticleVO> latest = articleService.getLatestArticles(topN);
+        payloads.add(popular);
+        payloads.add(latest);
+
+        // 热门文章按浏览量倒序，即浏览量最高的文章
+        Set<Long> detailIds = new LinkedHashSet<>();
+        popular.forEach(article -> detailIds.add(article.getId()));
+        latest.forEach(article -> detailIds.add(article.getId()));
+        for (Long id : detailIds) {
+            payloads.add(articleService.getArticle(id));
+        }
+        return payloads;
+    }
+
+    /**
+     * 在预热时长内循环执行合成负载
+     *
+     * @return 执行的轮数
+     */
+    private long exercise(List<Object> payloads) throws JsonProcessingException {
+        UserDetails user = User.withUsername("warmup").password("").authorities("ROLE_USER").build();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(duration);
+        long iterations = 0;
+        while (System.nanoTime() < deadline) {
+            settingService.getSetting();
+            categoryService.getAllCategories();
+            contributorService.getAllContributors();
+            for (Object payload : payloads) {
+                objectMapper.writeValueAsBytes(Result.success(payload));
+            }
+            String token = jwtUtil.generateToken(user);
+            if (!jwtUtil.validateToken(token, user)) {
+                throw new IllegalStateException("合成JWT校验失败");
+            }
+            iterations++;
+        }
+        return iterations;
+    }
+}
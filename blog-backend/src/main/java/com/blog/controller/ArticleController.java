@@ -1,19 +1,46 @@
 package com.blog.controller;
 
+import com.blog.common.CursorResult;
 import com.blog.common.PageResult;
 import com.blog.common.Result;
+import com.blog.common.ResultCode;
+import com.blog.dto.ArticleBatchDTO;
 import com.blog.dto.ArticleDTO;
+import com.blog.service.ArticleBatchService;
+import com.blog.service.ArticleExportService;
+import com.blog.service.ArticleImportService;
 import com.blog.service.ArticleService;
+import com.blog.util.DeadlineExecutor;
+import com.blog.vo.ArchiveMonthVO;
+import com.blog.vo.ArticleContentVO;
 import com.blog.vo.ArticleVO;
+import com.blog.vo.BatchResultVO;
+import com.blog.vo.ImportResultVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 文章控制器
@@ -26,6 +53,18 @@ public class ArticleController {
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private ArticleBatchService articleBatchService;
+
+    @Autowired
+    private ArticleExportService articleExportService;
+
+    @Autowired
+    private ArticleImportService articleImportService;
+
+    @Autowired
+    private DeadlineExecutor deadlineExecutor;
+
     /**
      * 创建文章
      *
@@ -72,6 +111,79 @@ public class ArticleController {
         return Result.success();
     }
 
+    /**
+     * 批量修改文章状态
+     *
+     * @param batchDTO 批量操作参数
+     * @return 状态实际发生变化的文章数量
+     */
+    @Operation(summary = "批量修改文章状态", description = "按ID列表或筛选条件批量发布/撤回文章")
+    @PutMapping("/batch/status")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("isAuthenticated()")
+    public Result<BatchResultVO> batchUpdateStatus(@Validated @RequestBody ArticleBatchDTO batchDTO) {
+        return Result.success(articleBatchService.updateStatus(batchDTO));
+    }
+
+    /**
+     * 批量移动文章分类
+     *
+     * @param batchDTO 批量操作参数
+     * @return 分类实际发生变化的文章数量
+     */
+    @Operation(summary = "批量移动文章分类", description = "按ID列表或筛选条件批量移动文章到目标分类")
+    @PutMapping("/batch/category")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("isAuthenticated()")
+    public Result<BatchResultVO> batchMoveCategory(@Validated @RequestBody ArticleBatchDTO batchDTO) {
+        return Result.success(articleBatchService.moveCategory(batchDTO));
+    }
+
+    /**
+     * 批量删除文章
+     *
+     * @param batchDTO 批量操作参数
+     * @return 删除的文章数量
+     */
+    @Operation(summary = "批量删除文章", description = "按ID列表或筛选条件批量删除文章及正文")
+    @PostMapping("/batch/delete")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("isAuthenticated()")
+    public Result<BatchResultVO> batchDelete(@Validated @RequestBody ArticleBatchDTO batchDTO) {
+        return Result.success(articleBatchService.deleteArticles(batchDTO));
+    }
+
+    /**
+     * 获取文章归档
+     *
+     * @return 各月份已发布文章数量
+     */
+    @Operation(summary = "获取文章归档", description = "按月份倒序返回各月已发布文章数量")
+    @GetMapping("/archive")
+    public Result<List<ArchiveMonthVO>> getArchive() {
+        return Result.success(articleService.getArchive());
+    }
+
+    /**
+     * 获取某月归档文章
+     *
+     * @param month  月份，格式yyyy-MM
+     * @param cursor 上一页返回的游标
+     * @param size   每页数量
+     * @return 文章列表及下一页游标
+     */
+    @Operation(summary = "获取某月归档文章", description = "按创建时间倒序游标分页返回某月已发布文章")
+    @GetMapping("/archive/{month}")
+    public Result<CursorResult<ArticleVO>> getArchiveArticles(
+            @PathVariable String month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size) {
+        if (size < 1 || size > 100) {
+            return Result.failed(ResultCode.VALIDATE_FAILED, "每页数量应在1到100之间");
+        }
+        return Result.success(articleService.getArchiveArticles(month, cursor, size));
+    }
+
     /**
      * 获取文章详情
      *
@@ -82,9 +194,35 @@ public class ArticleController {
     @GetMapping("/{id}")
     public Result<ArticleVO> getArticle(@PathVariable Long id) {
         ArticleVO articleVO = articleService.getArticle(id);
+        // 浏览量按请求计数，不参与请求合并
+        articleService.increaseViewCount(id);
         return Result.success(articleVO);
     }
 
+    /**
+     * 获取文章正文
+     *
+     * @param id             文章ID
+     * @param acceptEncoding 客户端可接受的编码
+     * @return 文章正文（HTML）
+     */
+    @Operation(summary = "获取文章正文", description = "返回文章正文HTML；正文压缩存储且客户端接受gzip时直接返回压缩数据")
+    @GetMapping("/{id}/content")
+    public ResponseEntity<byte[]> getArticleContent(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean acceptGzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ArticleContentVO content = articleService.getArticleContent(id, acceptGzip);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (Boolean.TRUE.equals(content.getGzipped())) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(content.getData());
+    }
+
     /**
      * 分页获取文章列表
      *
@@ -95,16 +233,20 @@ public class ArticleController {
      * @param status   状态：0-草稿，1-已发布，不传则查询所有
      * @return 文章列表
      */
-    @Operation(summary = "分页获取文章列表", description = "分页获取文章列表，支持关键字、分类和状态筛选")
+    @Operation(summary = "分页获取文章列表", description = "分页获取文章列表，支持关键字、分类和状态筛选；关键字查询有截止时间限制")
     @GetMapping
-    public Result<PageResult<ArticleVO>> getArticles(
+    public DeferredResult<Result<PageResult<ArticleVO>>> getArticles(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Long category,
             @RequestParam(required = false) Integer status) {
-        PageResult<ArticleVO> pageResult = articleService.getArticles(page, size, keyword, category, status);
-        return Result.success(pageResult);
+        if (!StringUtils.hasText(keyword)) {
+            return deadlineExecutor.completed(articleService.getArticles(page, size, keyword, category, status));
+        }
+        return deadlineExecutor.submit(
+                () -> articleService.getArticles(page, size, keyword, category, status),
+                () -> searchTooBroad(page, size));
     }
 
     /**
@@ -144,17 +286,18 @@ public class ArticleController {
      * @param sortDir  排序方向：asc, desc
      * @return 搜索结果
      */
-    @Operation(summary = "搜索文章", description = "根据关键词和标签搜索文章，支持高亮显示")
+    @Operation(summary = "搜索文章", description = "根据关键词和标签搜索文章，支持高亮显示；超过截止时间返回空结果并提示缩小范围")
     @GetMapping("/search")
-    public Result<PageResult<ArticleVO>> searchArticles(
+    public DeferredResult<Result<PageResult<ArticleVO>>> searchArticles(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String tag,
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "createTime") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
-        PageResult<ArticleVO> pageResult = articleService.searchArticles(keyword, tag, page, size, sortBy, sortDir);
-        return Result.success(pageResult);
+        return deadlineExecutor.submit(
+                () -> articleService.searchArticles(keyword, tag, page, size, sortBy, sortDir),
+                () -> searchTooBroad(page, size));
     }
 
     /**
@@ -185,4 +328,70 @@ public class ArticleController {
         List<String> hotKeywords = articleService.getHotSearchKeywords(limit);
         return Result.success(hotKeywords);
     }
+
+    /**
+     * 流式导出文章（NDJSON）
+     *
+     * @param updatedSince 仅导出该时间之后更新的文章
+     * @param gzip         是否gzip压缩
+     * @return 导出数据流
+     */
+    @Operation(summary = "导出文章", description = "以NDJSON格式流式导出文章，支持按更新时间增量导出和gzip压缩")
+    @GetMapping("/export")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") Date updatedSince,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (gzip) {
+            // 关闭gzip流以释放Deflater，导出失败时同样关闭；响应输出流由框架负责关闭
+            StreamingResponseBody body = outputStream -> {
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(StreamUtils.nonClosing(outputStream), 8192)) {
+                    articleExportService.exportArticles(updatedSince, gzipOutputStream);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/gzip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articles.ndjson.gz\"")
+                    .body(body);
+        }
+        StreamingResponseBody body = outputStream -> articleExportService.exportArticles(updatedSince, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articles.ndjson\"")
+                .body(body);
+    }
+
+    /**
+     * 批量导入文章（NDJSON）
+     *
+     * @param request 请求，请求体为每行一篇文章的NDJSON，支持Content-Encoding: gzip
+     * @return 导入结果
+     * @throws IOException IO异常
+     */
+    @Operation(summary = "批量导入文章", description = "从NDJSON请求体批量导入文章，按批次提交并返回逐条失败原因")
+    @PostMapping("/import")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("isAuthenticated()")
+    public Result<ImportResultVO> importArticles(HttpServletRequest request) throws IOException {
+        InputStream inputStream = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            inputStream = new GZIPInputStream(inputStream, 8192);
+        }
+        ImportResultVO importResult = articleImportService.importArticles(inputStream);
+        return Result.success(importResult);
+    }
+
+    /**
+     * 搜索超过截止时间时的降级结果：返回空列表并提示缩小搜索范围
+     *
+     * @param page 页码
+     * @param size 每页数量
+     * @return 降级结果
+     */
+    private Result<PageResult<ArticleVO>> searchTooBroad(Integer page, Integer size) {
+        Result<PageResult<ArticleVO>> result = Result.failed(ResultCode.REQUEST_TIMEOUT, "搜索范围过大，请缩小关键词或增加筛选条件");
+        result.setData(PageResult.of(page, size, 0L, Collections.emptyList()));
+        return result;
+    }
 }
\ No newline at end of file
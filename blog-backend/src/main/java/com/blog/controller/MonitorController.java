@@ -0,0 +1,170 @@
+package com.blog.controller;
+
+import com.blog.aspect.RepositoryTimingAspect;
+import com.blog.aspect.SingleFlightAspect;
+import com.blog.common.Result;
+import com.blog.service.MonitorService;
+import com.blog.trace.StackSampler;
+import com.blog.util.SlowRequestLog;
+import com.blog.util.SlowStatementLog;
+import com.blog.vo.CacheRegionStatsVO;
+import com.blog.vo.RepositoryMethodStatsVO;
+import com.blog.vo.RouteAllocationStatsVO;
+import com.blog.vo.SingleFlightStatsVO;
+import com.blog.vo.SlowRequestVO;
+import com.blog.vo.SlowStatementVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 运行监控控制器
+ */
+@Tag(name = "运行监控", description = "运行状态和性能统计接口")
+@RestController
+@RequestMapping("/monitor")
+@SecurityRequirement(name = "Bearer Authentication")
+public class MonitorController {
+
+    @Autowired
+    private SingleFlightAspect singleFlightAspect;
+
+    @Autowired
+    private RepositoryTimingAspect repositoryTimingAspect;
+
+    @Autowired
+    private SlowStatementLog slowStatementLog;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private MonitorService monitorService;
+
+    @Autowired
+    private StackSampler stackSampler;
+
+    /**
+     * 获取请求合并统计
+     *
+     * @return 各分组的调用次数和合并次数
+     */
+    @Operation(summary = "获取请求合并统计", description = "获取并发相同读请求的合并次数")
+    @GetMapping("/single-flight")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<SingleFlightStatsVO>> getSingleFlightStats() {
+        return Result.success(singleFlightAspect.getStats());
+    }
+
+    /**
+     * 获取二级缓存统计
+     *
+     * @return 各缓存区域的命中、未命中和写入次数
+     */
+    @Operation(summary = "获取二级缓存统计", description = "获取实体缓存和查询缓存各区域的命中率")
+    @GetMapping("/cache")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<CacheRegionStatsVO>> getCacheStats() {
+        return Result.success(monitorService.getCacheStats());
+    }
+
+    /**
+     * 获取数据访问方法耗时统计
+     *
+     * @return 各Repository方法的调用次数、返回行数和延迟分位数
+     */
+    @Operation(summary = "获取数据访问耗时统计", description = "获取各Repository方法的p50/p99/最大耗时和返回行数，按总耗时倒序")
+    @GetMapping("/repositories")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<RepositoryMethodStatsVO>> getRepositoryStats() {
+        return Result.success(repositoryTimingAspect.getStats());
+    }
+
+    /**
+     * 获取最近的慢SQL
+     *
+     * @return 慢SQL列表，绑定参数只含类型
+     */
+    @Operation(summary = "获取慢SQL", description = "获取最近超过阈值的SQL语句，按耗时倒序，绑定参数已脱敏")
+    @GetMapping("/slow-statements")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<SlowStatementVO>> getSlowStatements() {
+        return Result.success(slowStatementLog.getEntries());
+    }
+
+    /**
+     * 获取最近的慢请求
+     *
+     * @return 慢请求列表，含各层追踪片段
+     */
+    @Operation(summary = "获取慢请求", description = "获取最近超过阈值的请求及其过滤器、控制器、服务、数据访问、SQL和序列化片段，按耗时倒序")
+    @GetMapping("/slow-requests")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<SlowRequestVO>> getSlowRequests() {
+        return Result.success(slowRequestLog.getEntries());
+    }
+
+    /**
+     * 获取各路由的内存分配统计
+     *
+     * @param limit 返回的路由数量
+     * @return 按累计分配字节数倒序的路由列表
+     */
+    @Operation(summary = "获取请求内存分配统计", description = "获取各路由每个请求在请求线程上分配的字节数，按累计分配量倒序")
+    @GetMapping("/allocations")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<RouteAllocationStatsVO>> getAllocationStats(@RequestParam(defaultValue = "20") Integer limit) {
+        return Result.success(monitorService.getAllocationStats(limit));
+    }
+
+    /**
+     * 采样分析
+     * 在限定时长内对请求线程和后台执行器线程做栈采样，结束后返回折叠栈
+     *
+     * @param seconds        采样时长（秒）
+     * @param intervalMillis 采样间隔（毫秒）
+     * @param threads        线程名正则，为空时采样请求线程和后台执行器
+     * @param includeWaiting 是否包含等待中的线程
+     * @return 折叠栈文本，每行“帧;帧;帧 次数”
+     */
+    @Operation(summary = "采样分析", description = "对请求线程和后台执行器做限时栈采样，返回可直接生成火焰图的折叠栈；同一时间只允许一个采样")
+    @PostMapping("/profile")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> profile(
+            @RequestParam(defaultValue = "10") Integer seconds,
+            @RequestParam(defaultValue = "20") Integer intervalMillis,
+            @RequestParam(required = false) String threads,
+            @RequestParam(defaultValue = "false") boolean includeWaiting) {
+        StackSampler.Session session = stackSampler.start(seconds, intervalMillis, threads, includeWaiting);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                session.await();
+            } catch (InterruptedException e) {
+                session.cancel();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8192);
+            session.writeCollapsed(writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Druid连接池指标
+ * 从应用数据源中逐层解开代理和读写分离路由，为每个Druid连接池注册活跃、空闲、等待连接数等指标，
+ * 以pool标签区分主库和各从库
+ */
+public class DruidPoolMetrics implements MeterBinder {
+
+    private final Collection<DataSource> dataSources;
+
+    public DruidPoolMetrics(Collection<DataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Set<DruidDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DataSource dataSource : dataSources) {
+            collect(dataSource, pools);
+        }
+        for (DruidDataSource pool : pools) {
+            String name = pool.getName();
+            Gauge.builder("druid.connections.active", pool, DruidDataSource::getActiveCount)
+                    .description("正在使用的连接数").tag("pool", name).register(registry);
+            Gauge.builder("druid.connections.idle", pool, DruidDataSource::getPoolingCount)
+                    .description("池中空闲连接数").tag("pool", name).register(registry);
+            Gauge.builder("druid.connections.max", pool, DruidDataSource::getMaxActive)
+                    .description("最大连接数").tag("pool", name).register(registry);
+            Gauge.builder("druid.connections.pending", pool, DruidDataSource::getWaitThreadCount)
+                    .description("等待获取连接的线程数").tag("pool", name).register(registry);
+            FunctionCounter.builder("druid.connections.wait", pool, DruidDataSource::getNotEmptyWaitCount)
+                    .description("因池中无空闲连接而等待的次数").tag("pool", name).register(registry);
+            FunctionCounter.builder("druid.connections.wait.time", pool, p -> p.getNotEmptyWaitMillis() / 1000.0)
+                    .description("等待获取连接的累计时长").baseUnit("seconds").tag("pool", name).register(registry);
+            FunctionCounter.builder("druid.connections.errors", pool, DruidDataSource::getConnectErrorCount)
+                    .description("建立物理连接失败次数").tag("pool", name).register(registry);
+        }
+    }
+
+    private static void collect(DataSource dataSource, Set<DruidDataSource> pools) {
+        if (dataSource instanceof DruidDataSource) {
+            pools.add((DruidDataSource) dataSource);
+        } else if (dataSource instanceof DelegatingDataSource) {
+            DataSource target = ((DelegatingDataSource) dataSource).getTargetDataSource();
+            if (target != null) {
+                collect(target, pools);
+            }
+        } else if (dataSource instanceof AbstractRoutingDataSource) {
+            for (DataSource target : ((AbstractRoutingDataSource) dataSource).getResolvedDataSources().values()) {
+                collect(target, pools);
+            }
+        }
+    }
+}
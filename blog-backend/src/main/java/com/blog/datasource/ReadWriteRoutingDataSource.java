@@ -0,0 +1,226 @@
+package com.blog.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务路由到健康的从库（轮询），其余访问路由到主库。
+ * 当前请求执行过写事务后，后续读取固定走主库；同一客户端在写入后的一段时间内也固定走主库，保证读到自己的写入。
+ * 请求中提交到其他线程执行的查询需通过{@link #propagateRequestState(Runnable)}带上请求级的固定标记。
+ * 需配合LazyConnectionDataSourceProxy使用，使路由发生在事务只读标记设置之后
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * 主库路由键
+     */
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> REQUEST_PINNED = new ThreadLocal<>();
+
+    private DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final List<String> replicaKeys;
+
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private final long stickyWindowMillis;
+
+    private final Supplier<String> clientKeySupplier;
+
+    /**
+     * 构造方法
+     *
+     * @param primary            主库
+     * @param replicas           从库，键为从库名称
+     * @param stickyWindowMillis 客户端写入后固定走主库的时长（毫秒），0表示仅在当前请求内生效
+     * @param clientKeySupplier  当前客户端标识，返回null表示匿名
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      long stickyWindowMillis, Supplier<String> clientKeySupplier) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.stickyWindowMillis = stickyWindowMillis;
+        this.clientKeySupplier = clientKeySupplier;
+        applyTargets();
+    }
+
+    /**
+     * 包装主库和各从库的数据源（如增加连接许可限制），须在afterPropertiesSet之前调用
+     *
+     * @param wrapper 包装函数，参数为路由键和原数据源
+     */
+    public void wrapTargets(BiFunction<String, DataSource, DataSource> wrapper) {
+        primary = wrapper.apply(PRIMARY, primary);
+        replicas.replaceAll(wrapper);
+        applyTargets();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWritten();
+            }
+            return PRIMARY;
+        }
+        if (isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        String replica = nextHealthyReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+
+    /**
+     * 清除当前线程的请求级路由状态，在请求结束时调用
+     */
+    public static void resetRequestState() {
+        REQUEST_PINNED.remove();
+    }
+
+    /**
+     * 将提交线程的请求级路由状态带到执行任务的线程，任务结束后恢复执行线程原有的状态
+     *
+     * @param task 任务，须在提交线程上调用本方法
+     * @return 包装后的任务
+     */
+    public static Runnable propagateRequestState(Runnable task) {
+        Boolean pinned = REQUEST_PINNED.get();
+        return () -> {
+            Boolean previous = REQUEST_PINNED.get();
+            REQUEST_PINNED.set(pinned);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    REQUEST_PINNED.set(previous);
+                } else {
+                    REQUEST_PINNED.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * 检查所有从库连接是否可用，不可用的从库暂时移出路由
+     *
+     * @param timeoutSeconds 检查超时（秒）
+     */
+    public void checkReplicas(int timeoutSeconds) {
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            boolean healthy;
+            try (Connection connection = entry.getValue().getConnection()) {
+                healthy = connection.isValid(timeoutSeconds);
+            } catch (Exception e) {
+                healthy = false;
+            }
+            if (healthy && unhealthyReplicas.remove(entry.getKey())) {
+                log.info("从库{}恢复，重新加入读路由", entry.getKey());
+            } else if (!healthy && unhealthyReplicas.add(entry.getKey())) {
+                log.warn("从库{}不可用，暂时移出读路由", entry.getKey());
+            }
+        }
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until < now);
+    }
+
+    /**
+     * 关闭从库连接池，主库由容器管理
+     */
+    public void close() {
+        for (DataSource replica : replicas.values()) {
+            while (replica instanceof DelegatingDataSource) {
+                replica = ((DelegatingDataSource) replica).getTargetDataSource();
+            }
+            if (replica instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) replica).close();
+                } catch (Exception e) {
+                    log.warn("关闭从库连接池失败", e);
+                }
+            }
+        }
+    }
+
+    private void applyTargets() {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * 获取当前健康的从库名称
+     *
+     * @return 健康从库名称列表
+     */
+    public List<String> getHealthyReplicas() {
+        List<String> healthy = new ArrayList<>(replicaKeys);
+        healthy.removeAll(unhealthyReplicas);
+        return healthy;
+    }
+
+    private void markWritten() {
+        REQUEST_PINNED.set(Boolean.TRUE);
+        if (stickyWindowMillis > 0) {
+            String clientKey = clientKeySupplier.get();
+            if (clientKey != null) {
+                stickyUntil.put(clientKey, System.currentTimeMillis() + stickyWindowMillis);
+            }
+        }
+    }
+
+    /**
+     * 当前请求或客户端是否固定读主库
+     *
+     * @return 是否固定读主库
+     */
+    public boolean isPinnedToPrimary() {
+        if (Boolean.TRUE.equals(REQUEST_PINNED.get())) {
+            return true;
+        }
+        if (stickyWindowMillis > 0 && !stickyUntil.isEmpty()) {
+            String clientKey = clientKeySupplier.get();
+            if (clientKey != null) {
+                Long until = stickyUntil.get(clientKey);
+                return until != null && until >= System.currentTimeMillis();
+            }
+        }
+        return false;
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get(Math.floorMod(counter.getAndIncrement(), size));
+            if (!unhealthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
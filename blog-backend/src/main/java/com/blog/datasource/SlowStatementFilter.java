@@ -0,0 +1,139 @@
+package com.blog.datasource;
+
+import com.alibaba.druid.filter.FilterEventAdapter;
+import com.alibaba.druid.proxy.jdbc.JdbcParameter;
+import com.alibaba.druid.proxy.jdbc.ResultSetProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+import com.blog.aspect.RepositoryTimingAspect;
+import com.blog.util.SlowStatementLog;
+import com.blog.vo.SlowStatementVO;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 慢SQL采集过滤器
+ * 作为Druid过滤器记录每条语句的执行耗时，超过阈值的语句写入慢SQL环形缓冲区。
+ * 只记录绑定参数的类型和长度，不记录参数值，避免密码、个人信息等进入监控数据
+ */
+public class SlowStatementFilter extends FilterEventAdapter {
+
+    private static final String START_NANO_ATTRIBUTE = SlowStatementFilter.class.getName() + ".start";
+
+    private final SlowStatementLog slowStatementLog;
+
+    public SlowStatementFilter(SlowStatementLog slowStatementLog) {
+        this.slowStatementLog = slowStatementLog;
+    }
+
+    @Override
+    protected void statementExecuteBefore(StatementProxy statement, String sql) {
+        markStart(statement);
+    }
+
+    @Override
+    protected void statementExecuteAfter(StatementProxy statement, String sql, boolean result) {
+        record(statement, sql, null);
+    }
+
+    @Override
+    protected void statementExecuteQueryBefore(StatementProxy statement, String sql) {
+        markStart(statement);
+    }
+
+    @Override
+    protected void statementExecuteQueryAfter(StatementProxy statement, String sql, ResultSetProxy resultSet) {
+        record(statement, sql, null);
+    }
+
+    @Override
+    protected void statementExecuteUpdateBefore(StatementProxy statement, String sql) {
+        markStart(statement);
+    }
+
+    @Override
+    protected void statementExecuteUpdateAfter(StatementProxy statement, String sql, int updateCount) {
+        record(statement, sql, updateCount);
+    }
+
+    @Override
+    protected void statementExecuteBatchBefore(StatementProxy statement) {
+        markStart(statement);
+    }
+
+    @Override
+    protected void statementExecuteBatchAfter(StatementProxy statement, int[] result) {
+        int updateCount = 0;
+        for (int count : result) {
+            updateCount += Math.max(count, 0);
+        }
+        String sql = statement.getBatchSql();
+        record(statement, sql != null && !sql.isEmpty() ? sql : statement.getLastExecuteSql(), updateCount);
+    }
+
+    private void markStart(StatementProxy statement) {
+        statement.putAttribute(START_NANO_ATTRIBUTE, System.nanoTime());
+    }
+
+    private void record(StatementProxy statement, String sql, Integer updateCount) {
+        Object start = statement.getAttribute(START_NANO_ATTRIBUTE);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - (Long) start;
+        if (!slowStatementLog.isSlow(elapsedNanos)) {
+            return;
+        }
+        slowStatementLog.add(SlowStatementVO.builder()
+                .sql(sql)
+                .parameters(redactParameters(statement))
+                .elapsedMillis(elapsedNanos / 1_000_000.0)
+                .updateCount(updateCount)
+                .repositoryMethod(RepositoryTimingAspect.currentMethod())
+                .thread(Thread.currentThread().getName())
+                .time(new Date())
+                .build());
+    }
+
+    /**
+     * 将绑定参数转换为类型描述，字符串和二进制参数附带长度
+     *
+     * @param statement 语句
+     * @return 参数类型列表
+     */
+    static List<String> redactParameters(StatementProxy statement) {
+        Map<Integer, JdbcParameter> parameters = statement.getParameters();
+        if (parameters == null || parameters.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(parameters.size());
+        for (JdbcParameter parameter : new TreeMap<>(parameters).values()) {
+            Object value = parameter.getValue();
+            if (value == null) {
+                result.add("NULL");
+                continue;
+            }
+            String type = typeName(parameter.getSqlType());
+            if (value instanceof CharSequence) {
+                type += "(" + ((CharSequence) value).length() + ")";
+            } else if (value instanceof byte[]) {
+                type += "(" + ((byte[]) value).length + ")";
+            }
+            result.add(type);
+        }
+        return result;
+    }
+
+    private static String typeName(int sqlType) {
+        try {
+            return JDBCType.valueOf(sqlType).getName();
+        } catch (IllegalArgumentException e) {
+            return "OTHER";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.datasource;
+
+import com.alibaba.druid.filter.FilterEventAdapter;
+import com.alibaba.druid.proxy.jdbc.ResultSetProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+import com.blog.trace.SpanKind;
+import com.blog.trace.Tracer;
+
+/**
+ * SQL追踪过滤器
+ * 作为Druid过滤器为每条语句的执行打开一个SQL片段，片段名为SQL文本；
+ * 执行失败时Druid不调用After回调，在错误回调中关闭片段
+ */
+public class TracingStatementFilter extends FilterEventAdapter {
+
+    @Override
+    protected void statementExecuteBefore(StatementProxy statement, String sql) {
+        begin(sql);
+    }
+
+    @Override
+    protected void statementExecuteAfter(StatementProxy statement, String sql, boolean result) {
+        Tracer.end();
+    }
+
+    @Override
+    protected void statementExecuteQueryBefore(StatementProxy statement, String sql) {
+        begin(sql);
+    }
+
+    @Override
+    protected void statementExecuteQueryAfter(StatementProxy statement, String sql, ResultSetProxy resultSet) {
+        Tracer.end();
+    }
+
+    @Override
+    protected void statementExecuteUpdateBefore(StatementProxy statement, String sql) {
+        begin(sql);
+    }
+
+    @Override
+    protected void statementExecuteUpdateAfter(StatementProxy statement, String sql, int updateCount) {
+        Tracer.end();
+    }
+
+    @Override
+    protected void statementExecuteBatchBefore(StatementProxy statement) {
+        if (Tracer.isActive()) {
+            String sql = statement.getBatchSql();
+            begin(sql != null && !sql.isEmpty() ? sql : statement.getLastExecuteSql());
+        }
+    }
+
+    @Override
+    protected void statementExecuteBatchAfter(StatementProxy statement, int[] result) {
+        Tracer.end();
+    }
+
+    @Override
+    protected void statement_executeErrorAfter(StatementProxy statement, String sql, Throwable error) {
+        Tracer.end();
+    }
+
+    private static void begin(String sql) {
+        if (Tracer.isActive()) {
+            Tracer.begin(SpanKind.SQL, sql != null ? Tracer.nameId(sql) : 0);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 文章批量操作数据传输对象
+ * 通过ID列表或筛选条件（分类、状态、创建时间）指定文章，二者至少提供一种
+ */
+@Data
+public class ArticleBatchDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文章ID列表
+     */
+    @Size(max = 10000, message = "单次最多操作10000篇文章")
+    private List<Long> ids;
+
+    /**
+     * 筛选条件：分类ID
+     */
+    private Long categoryId;
+
+    /**
+     * 筛选条件：状态
+     */
+    private Integer status;
+
+    /**
+     * 筛选条件：创建时间早于
+     */
+    private Date createdBefore;
+
+    /**
+     * 目标状态：0-草稿，1-已发布（修改状态时使用）
+     */
+    @Min(value = 0, message = "状态不正确")
+    @Max(value = 1, message = "状态不正确")
+    private Integer targetStatus;
+
+    /**
+     * 目标分类ID（移动分类时使用）
+     */
+    private Long targetCategoryId;
+
+    /**
+     * 是否按ID列表操作
+     *
+     * @return 是否提供了ID列表
+     */
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    /**
+     * 是否提供了筛选条件
+     *
+     * @return 是否提供了筛选条件
+     */
+    public boolean hasFilter() {
+        return categoryId != null || status != null || createdBefore != null;
+    }
+}
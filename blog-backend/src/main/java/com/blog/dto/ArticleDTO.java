@@ -5,6 +5,7 @@ import lombok.Data;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.Date;
 
 /**
  * 文章数据传输对象
@@ -58,4 +59,14 @@ public class ArticleDTO implements Serializable {
      * 状态：0-草稿，1-已发布
      */
     private Integer status = 1;
-}
\ No newline at end of file
+
+    /**
+     * 定时发布时间，晚于当前时间时文章保存为草稿并在该时间自动发布；更新时不传则保留原定时发布
+     */
+    private Date publishAt;
+
+    /**
+     * 更新时取消定时发布，文章状态按status生效
+     */
+    private Boolean clearPublishAt;
+}
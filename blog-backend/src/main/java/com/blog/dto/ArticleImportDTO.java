@@ -0,0 +1,75 @@
+package com.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 文章导入数据传输对象
+ * 字段与文章导出格式保持一致，导出文件可直接导入
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ArticleImportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 标题
+     */
+    @NotBlank(message = "标题不能为空")
+    @Size(max = 100, message = "标题长度不能超过100个字符")
+    private String title;
+
+    /**
+     * 内容
+     */
+    @NotBlank(message = "内容不能为空")
+    private String content;
+
+    /**
+     * 摘要
+     */
+    @Size(max = 255, message = "摘要长度不能超过255个字符")
+    private String summary;
+
+    /**
+     * 缩略图
+     */
+    private String thumbnail;
+
+    /**
+     * 分类ID
+     */
+    private Long categoryId;
+
+    /**
+     * 分类名称（未指定分类ID时按名称匹配）
+     */
+    private String categoryName;
+
+    /**
+     * 浏览量
+     */
+    private Integer viewCount;
+
+    /**
+     * 标签（多个标签用逗号分隔）
+     */
+    @Size(max = 500, message = "标签长度不能超过500个字符")
+    private String tags;
+
+    /**
+     * 状态：0-草稿，1-已发布
+     */
+    private Integer status;
+
+    /**
+     * 创建时间（为空则使用导入时间）
+     */
+    private Date createTime;
+}
@@ -1,6 +1,8 @@
 package com.blog.entity;
 
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,7 +16,15 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "article")
+@Table(name = "article", indexes = {
+        @Index(name = "idx_article_status_create_time", columnList = "status, create_time"),
+        @Index(name = "idx_article_status_view_count", columnList = "status, view_count"),
+        @Index(name = "idx_article_category_status_create_time", columnList = "category_id, status, create_time"),
+        @Index(name = "idx_article_category_create_time", columnList = "category_id, create_time"),
+        @Index(name = "idx_article_create_time", columnList = "create_time"),
+        @Index(name = "idx_article_update_time", columnList = "update_time"),
+        @Index(name = "idx_article_status_publish_at", columnList = "status, publish_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Article implements Serializable {
 
@@ -22,9 +32,17 @@ public class Article implements Serializable {
 
     /**
      * 主键ID
+     * 使用号段分配（pooled-lo）而非自增主键，使Hibernate能够批量插入；
+     * MySQL不支持序列，Hibernate会以article_seq表模拟序列
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @GenericGenerator(name = "article_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "article_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")
+            })
     private Long id;
 
     /**
@@ -33,12 +51,6 @@ public class Article implements Serializable {
     @Column(name = "title", nullable = false, length = 100)
     private String title;
 
-    /**
-     * 内容
-     */
-    @Column(name = "content", nullable = false, columnDefinition = "longtext")
-    private String content;
-
     /**
      * 摘要
      */
@@ -82,6 +94,12 @@ public class Article implements Serializable {
     @Column(name = "status", columnDefinition = "tinyint default 1")
     private Integer status;
 
+    /**
+     * 定时发布时间，草稿到达该时间后自动发布，发布后清空
+     */
+    @Column(name = "publish_at")
+    private Date publishAt;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,50 @@
+package com.blog.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * 文章正文实体类
+ * 正文与文章元数据分表存储，列表查询和浏览量更新只访问较窄的文章表，
+ * 只有详情、编辑、导入导出和搜索时才读取正文。正文可能压缩存储，读写需通过ArticleContentCodec
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_body")
+public class ArticleBody implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文章ID，与文章表主键一致
+     */
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    /**
+     * 内容（明文），压缩存储时为空
+     */
+    @Column(name = "content", columnDefinition = "longtext")
+    private String content;
+
+    /**
+     * 压缩存储的内容（gzip），正文超过压缩阈值时写入，可直接返回给支持gzip的客户端
+     */
+    @Column(name = "content_gzip", columnDefinition = "longblob")
+    private byte[] contentGzip;
+
+    /**
+     * 压缩存储内容的搜索文本（去除HTML标记），只用于关键词搜索，读取正文时不查询该列
+     */
+    @Column(name = "search_text", columnDefinition = "longtext")
+    private String searchText;
+
+    public ArticleBody(Long articleId) {
+        this.articleId = articleId;
+    }
+}
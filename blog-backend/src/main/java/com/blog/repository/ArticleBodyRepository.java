@@ -0,0 +1,56 @@
+package com.blog.repository;
+
+import com.blog.entity.ArticleBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 文章正文数据访问接口
+ */
+@Repository
+public interface ArticleBodyRepository extends JpaRepository<ArticleBody, Long> {
+
+    /**
+     * 查询正文的存储内容，只读取明文和压缩数据，不读取搜索文本
+     *
+     * @param articleId 文章ID
+     * @return 正文存储内容
+     */
+    @Query("SELECT b.content AS content, b.contentGzip AS contentGzip FROM ArticleBody b WHERE b.articleId = ?1")
+    Optional<StoredContent> findStoredContentByArticleId(Long articleId);
+
+    /**
+     * 删除文章正文
+     *
+     * @param articleId 文章ID
+     * @return 影响行数
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleBody b WHERE b.articleId = ?1")
+    int deleteByArticleId(Long articleId);
+
+    /**
+     * 批量删除文章正文
+     *
+     * @param articleIds 文章ID列表
+     * @return 影响行数
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleBody b WHERE b.articleId IN ?1")
+    int deleteByArticleIdIn(Collection<Long> articleIds);
+
+    /**
+     * 正文存储内容，压缩存储时content为空
+     */
+    interface StoredContent {
+
+        String getContent();
+
+        byte[] getContentGzip();
+    }
+}
@@ -3,13 +3,17 @@ package com.blog.repository;
 import com.blog.entity.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 文章数据访问接口
@@ -17,6 +21,25 @@ import java.util.List;
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    /**
+     * 分页查询全部文章，同时加载分类
+     *
+     * @param pageable 分页参数
+     * @return 文章列表
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Article> findAll(Pageable pageable);
+
+    /**
+     * 根据ID查询文章，同时加载分类
+     *
+     * @param id 文章ID
+     * @return 文章
+     */
+    @EntityGraph(attributePaths = "category")
+    Optional<Article> findWithCategoryById(Long id);
+
     /**
      * 根据分类ID查询文章列表
      *
@@ -24,6 +47,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable   分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     Page<Article> findByCategoryId(Long categoryId, Pageable pageable);
 
     /**
@@ -34,6 +58,8 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT a FROM Article a JOIN ArticleBody b ON b.articleId = a.id WHERE a.title LIKE %?1% OR (b.content LIKE %?2% OR b.searchText LIKE %?2%)")
     Page<Article> findByTitleContainingOrContentContaining(String title, String content, Pageable pageable);
 
     /**
@@ -45,6 +71,8 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable   分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT a FROM Article a JOIN ArticleBody b ON b.articleId = a.id WHERE a.categoryId = ?1 AND (a.title LIKE %?2% OR (b.content LIKE %?3% OR b.searchText LIKE %?3%))")
     Page<Article> findByCategoryIdAndTitleContainingOrContentContaining(Long categoryId, String title, String content, Pageable pageable);
 
     /**
@@ -54,6 +82,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable   分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     Page<Article> findByCategoryIdAndStatus(Long categoryId, Integer status, Pageable pageable);
 
     /**
@@ -63,6 +92,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     Page<Article> findByStatus(Integer status, Pageable pageable);
 
     /**
@@ -73,7 +103,8 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable 分页参数
      * @return 文章列表
      */
-    @Query("SELECT a FROM Article a WHERE (a.title LIKE %?1% OR a.content LIKE %?1%) AND a.status = ?2")
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT a FROM Article a JOIN ArticleBody b ON b.articleId = a.id WHERE (a.title LIKE %?1% OR (b.content LIKE %?1% OR b.searchText LIKE %?1%)) AND a.status = ?2")
     Page<Article> findByTitleOrContentContainingAndStatus(String keyword, Integer status, Pageable pageable);
     
     /**
@@ -85,35 +116,28 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable   分页参数
      * @return 文章列表
      */
-    @Query("SELECT a FROM Article a WHERE a.categoryId = ?1 AND (a.title LIKE %?2% OR a.content LIKE %?2%) AND a.status = ?3")
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT a FROM Article a JOIN ArticleBody b ON b.articleId = a.id WHERE a.categoryId = ?1 AND (a.title LIKE %?2% OR (b.content LIKE %?2% OR b.searchText LIKE %?2%)) AND a.status = ?3")
     Page<Article> findByCategoryIdAndTitleOrContentContainingAndStatus(Long categoryId, String keyword, Integer status, Pageable pageable);
 
-    /**
-     * 增加文章浏览量
-     *
-     * @param id 文章ID
-     * @return 影响行数
-     */
-    @Modifying
-    @Query("UPDATE Article a SET a.viewCount = a.viewCount + 1 WHERE a.id = ?1")
-    int incrementViewCount(Long id);
-
     /**
      * 获取最新文章列表
      *
-     * @param status 状态
-     * @param limit  数量限制
+     * @param status   状态
+     * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     List<Article> findByStatusOrderByCreateTimeDesc(Integer status, Pageable pageable);
 
     /**
      * 获取热门文章列表
      *
-     * @param status 状态
-     * @param limit  数量限制
+     * @param status   状态
+     * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     List<Article> findByStatusOrderByViewCountDesc(Integer status, Pageable pageable);
 
     /**
@@ -125,22 +149,13 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     Long countByCategoryId(Long categoryId);
 
     /**
-     * 获取最新文章列表
-     *
-     * @param limit 数量限制
-     * @return 文章列表
-     */
-    @Query(value = "SELECT a FROM Article a WHERE a.status = 1 ORDER BY a.createTime DESC LIMIT :limit", nativeQuery = true)
-    List<Article> findLatestArticles(@Param("limit") Integer limit);
-
-    /**
-     * 获取热门文章列表
+     * 按分类分组统计文章数量，一条语句代替逐个分类计数
      *
-     * @param limit 数量限制
-     * @return 文章列表
+     * @param categoryIds 分类ID列表
+     * @return 每行为[分类ID, 文章数量]，没有文章的分类不返回
      */
-    @Query(value = "SELECT a FROM Article a WHERE a.status = 1 ORDER BY a.viewCount DESC LIMIT :limit", nativeQuery = true)
-    List<Article> findPopularArticles(@Param("limit") Integer limit);
+    @Query("SELECT a.categoryId, COUNT(a) FROM Article a WHERE a.categoryId IN :categoryIds GROUP BY a.categoryId")
+    List<Object[]> countGroupByCategoryId(@Param("categoryIds") Collection<Long> categoryIds);
 
     /**
      * 根据标题、内容、摘要模糊查询文章列表
@@ -152,6 +167,10 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT a FROM Article a JOIN ArticleBody b ON b.articleId = a.id WHERE (LOWER(a.title) LIKE LOWER(CONCAT('%', ?1, '%')) "
+            + "OR LOWER(b.content) LIKE LOWER(CONCAT('%', ?2, '%')) OR LOWER(b.searchText) LIKE LOWER(CONCAT('%', ?2, '%')) "
+            + "OR LOWER(a.summary) LIKE LOWER(CONCAT('%', ?3, '%'))) AND a.status = ?4")
     Page<Article> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCaseOrSummaryContainingIgnoreCaseAndStatus(
             String title, String content, String summary, Integer status, Pageable pageable);
 
@@ -163,6 +182,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     Page<Article> findByTagsContainingIgnoreCaseAndStatus(String tag, Integer status, Pageable pageable);
 
     /**
@@ -174,6 +194,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * @param pageable 分页参数
      * @return 文章列表
      */
+    @EntityGraph(attributePaths = "category")
     Page<Article> findByTitleContainingIgnoreCaseAndTagsContainingIgnoreCaseAndStatus(
             String title, String tag, Integer status, Pageable pageable);
 
@@ -187,4 +208,75 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      */
     List<Article> findByTitleContainingIgnoreCaseAndStatusOrderByViewCountDesc(
             String title, Integer status, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * 按筛选条件分批查询文章ID（按ID升序，从lastId之后开始）
+     *
+     * @param lastId        上一批最后一个ID
+     * @param categoryId    分类ID，为空不筛选
+     * @param status        状态，为空不筛选
+     * @param createdBefore 创建时间早于，为空不筛选
+     * @param pageable      分页参数（只使用每批数量）
+     * @return 文章ID列表
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.id > :lastId "
+            + "AND (:categoryId IS NULL OR a.categoryId = :categoryId) "
+            + "AND (:status IS NULL OR a.status = :status) "
+            + "AND (:createdBefore IS NULL OR a.createTime < :createdBefore) ORDER BY a.id")
+    List<Long> findIdsByFilter(@Param("lastId") Long lastId, @Param("categoryId") Long categoryId,
+                               @Param("status") Integer status, @Param("createdBefore") Date createdBefore,
+                               Pageable pageable);
+
+    /**
+     * 批量修改文章状态并清除定时发布时间，状态未变化且未定时发布的文章不更新
+     *
+     * @param ids    文章ID列表
+     * @param status 目标状态
+     * @return 影响行数
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.status = :status, a.publishAt = NULL, a.updateTime = CURRENT_TIMESTAMP "
+            + "WHERE a.id IN :ids AND (a.status IS NULL OR a.status <> :status OR a.publishAt IS NOT NULL)")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Integer status);
+
+    /**
+     * 批量修改文章分类，分类未变化的文章不更新
+     *
+     * @param ids        文章ID列表
+     * @param categoryId 目标分类ID
+     * @return 影响行数
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.categoryId = :categoryId, a.updateTime = CURRENT_TIMESTAMP "
+            + "WHERE a.id IN :ids AND (a.categoryId IS NULL OR a.categoryId <> :categoryId)")
+    int updateCategoryByIdIn(@Param("ids") Collection<Long> ids, @Param("categoryId") Long categoryId);
+
+    /**
+     * 批量删除文章
+     *
+     * @param ids 文章ID列表
+     * @return 影响行数
+     */
+    @Modifying
+    @Query("DELETE FROM Article a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按创建时间倒序分页查询某一时间段内的文章（游标分页）
+     * 走(status, create_time)索引的范围扫描，从游标位置(cursorTime, cursorId)之后继续读取
+     *
+     * @param status     状态
+     * @param start      时间段起点（包含）
+     * @param cursorTime 游标创建时间，首页传时间段终点
+     * @param cursorId   游标文章ID，首页传0
+     * @param pageable   分页参数（只使用每页数量）
+     * @return 文章列表
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT a FROM Article a WHERE a.status = :status AND a.createTime >= :start "
+            + "AND (a.createTime < :cursorTime OR (a.createTime = :cursorTime AND a.id < :cursorId)) "
+            + "ORDER BY a.createTime DESC, a.id DESC")
+    List<Article> findByCreateTimeBeforeCursor(@Param("status") Integer status, @Param("start") Date start,
+                                               @Param("cursorTime") Date cursorTime, @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+}
@@ -3,8 +3,10 @@ package com.blog.repository;
 import com.blog.entity.Category;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -20,6 +22,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param sort   排序
      * @return 分类列表
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Category> findByStatus(Integer status, Sort sort);
 
     /**
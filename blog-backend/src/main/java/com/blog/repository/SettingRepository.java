@@ -2,8 +2,10 @@ package com.blog.repository;
 
 import com.blog.entity.Setting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 /**
@@ -17,5 +19,6 @@ public interface SettingRepository extends JpaRepository<Setting, Long> {
      *
      * @return 系统设置
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Setting> findFirstByOrderById();
 }
\ No newline at end of file
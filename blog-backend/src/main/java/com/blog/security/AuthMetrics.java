@@ -0,0 +1,82 @@
+package com.blog.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 认证指标
+ * blog.auth.logins统计登录成功次数，blog.auth.failures按原因统计认证失败次数：
+ * 登录凭证错误、账号禁用或锁定、JWT无效，以及未认证访问受保护接口
+ */
+@Component
+public class AuthMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter logins;
+    private Counter invalidTokens;
+    private Counter unauthenticated;
+
+    @PostConstruct
+    public void init() {
+        logins = Counter.builder("blog.auth.logins").description("登录成功次数").register(meterRegistry);
+        invalidTokens = failures("invalid_token");
+        unauthenticated = failures("unauthenticated");
+    }
+
+    /**
+     * 记录登录成功
+     */
+    public void loginSucceeded() {
+        logins.increment();
+    }
+
+    /**
+     * 记录登录失败
+     *
+     * @param e 认证异常
+     */
+    public void loginFailed(AuthenticationException e) {
+        String reason;
+        if (e instanceof BadCredentialsException) {
+            reason = "bad_credentials";
+        } else if (e instanceof DisabledException) {
+            reason = "disabled";
+        } else if (e instanceof LockedException) {
+            reason = "locked";
+        } else {
+            reason = "other";
+        }
+        failures(reason).increment();
+    }
+
+    /**
+     * 记录无效或过期的JWT
+     */
+    public void invalidToken() {
+        invalidTokens.increment();
+    }
+
+    /**
+     * 记录未认证访问受保护接口
+     */
+    public void unauthenticated() {
+        unauthenticated.increment();
+    }
+
+    private Counter failures(String reason) {
+        return Counter.builder("blog.auth.failures")
+                .description("认证失败次数")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
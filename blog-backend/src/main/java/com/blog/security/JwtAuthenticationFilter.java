@@ -1,5 +1,7 @@
 package com.blog.security;
 
+import com.blog.trace.SpanKind;
+import com.blog.trace.Tracer;
 import com.blog.util.JwtUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,15 +24,21 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final int AUTHENTICATE = Tracer.nameId("JwtAuthenticationFilter.authenticate");
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private JwtUserDetailsService userDetailsService;
 
+    @Autowired
+    private AuthMetrics authMetrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        Tracer.begin(SpanKind.AUTH, AUTHENTICATE);
         try {
             String jwt = getJwtFromRequest(request);
 
@@ -44,10 +52,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    authMetrics.invalidToken();
                 }
             }
         } catch (Exception ex) {
+            authMetrics.invalidToken();
             log.error("Could not set user authentication in security context", ex);
+        } finally {
+            Tracer.end();
         }
 
         filterChain.doFilter(request, response);
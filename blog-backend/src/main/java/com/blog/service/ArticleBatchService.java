@@ -0,0 +1,34 @@
+package com.blog.service;
+
+import com.blog.dto.ArticleBatchDTO;
+import com.blog.vo.BatchResultVO;
+
+/**
+ * 文章批量操作服务接口
+ */
+public interface ArticleBatchService {
+
+    /**
+     * 批量修改文章状态（发布/撤回）
+     *
+     * @param batchDTO 批量操作参数，targetStatus为目标状态
+     * @return 状态实际发生变化的文章数量
+     */
+    BatchResultVO updateStatus(ArticleBatchDTO batchDTO);
+
+    /**
+     * 批量移动文章分类
+     *
+     * @param batchDTO 批量操作参数，targetCategoryId为目标分类
+     * @return 分类实际发生变化的文章数量
+     */
+    BatchResultVO moveCategory(ArticleBatchDTO batchDTO);
+
+    /**
+     * 批量删除文章
+     *
+     * @param batchDTO 批量操作参数
+     * @return 删除的文章数量
+     */
+    BatchResultVO deleteArticles(ArticleBatchDTO batchDTO);
+}
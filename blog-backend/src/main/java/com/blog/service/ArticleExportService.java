@@ -0,0 +1,21 @@
+package com.blog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+/**
+ * 文章导出服务接口
+ */
+public interface ArticleExportService {
+
+    /**
+     * 以NDJSON格式流式导出文章，每行一篇文章
+     *
+     * @param updatedSince 仅导出该时间之后更新的文章，为空则导出全部
+     * @param outputStream 输出流
+     * @return 导出的文章数量
+     * @throws IOException IO异常
+     */
+    long exportArticles(Date updatedSince, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.blog.service;
+
+import com.blog.vo.ImportResultVO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 文章批量导入服务接口
+ */
+public interface ArticleImportService {
+
+    /**
+     * 从NDJSON输入流批量导入文章，每行一篇文章
+     * 按批次提交，单条记录失败不会中止整个导入
+     *
+     * @param inputStream 输入流
+     * @return 导入结果
+     * @throws IOException IO异常
+     */
+    ImportResultVO importArticles(InputStream inputStream) throws IOException;
+}
@@ -1,7 +1,10 @@
 package com.blog.service;
 
+import com.blog.common.CursorResult;
 import com.blog.common.PageResult;
 import com.blog.dto.ArticleDTO;
+import com.blog.vo.ArchiveMonthVO;
+import com.blog.vo.ArticleContentVO;
 import com.blog.vo.ArticleVO;
 
 import java.util.List;
@@ -43,6 +46,23 @@ public interface ArticleService {
      */
     ArticleVO getArticle(Long id);
 
+    /**
+     * 获取文章正文
+     * 客户端接受gzip且正文压缩存储时直接返回存储的gzip数据，否则返回明文
+     *
+     * @param id         文章ID
+     * @param acceptGzip 客户端是否接受gzip编码
+     * @return 文章正文
+     */
+    ArticleContentVO getArticleContent(Long id, boolean acceptGzip);
+
+    /**
+     * 增加文章浏览量
+     *
+     * @param id 文章ID
+     */
+    void increaseViewCount(Long id);
+
     /**
      * 分页获取文章列表
      *
@@ -100,4 +120,21 @@ public interface ArticleService {
      * @return 热门搜索关键词列表
      */
     List<String> getHotSearchKeywords(Integer limit);
-}
\ No newline at end of file
+
+    /**
+     * 获取文章归档（各月份已发布文章数量）
+     *
+     * @return 归档月份列表，按月份倒序
+     */
+    List<ArchiveMonthVO> getArchive();
+
+    /**
+     * 按创建时间倒序游标分页获取某月已发布文章
+     *
+     * @param month  月份，格式yyyy-MM
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size   每页数量
+     * @return 文章列表及下一页游标
+     */
+    CursorResult<ArticleVO> getArchiveArticles(String month, String cursor, Integer size);
+}
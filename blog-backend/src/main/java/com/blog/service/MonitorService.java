@@ -0,0 +1,27 @@
+package com.blog.service;
+
+import com.blog.vo.CacheRegionStatsVO;
+import com.blog.vo.RouteAllocationStatsVO;
+
+import java.util.List;
+
+/**
+ * 运行监控服务接口
+ */
+public interface MonitorService {
+
+    /**
+     * 获取二级缓存和查询缓存各区域的统计
+     *
+     * @return 缓存区域统计列表
+     */
+    List<CacheRegionStatsVO> getCacheStats();
+
+    /**
+     * 获取各路由每个请求的内存分配统计，按累计分配字节数倒序
+     *
+     * @param limit 返回的路由数量
+     * @return 路由分配统计列表
+     */
+    List<RouteAllocationStatsVO> getAllocationStats(int limit);
+}
@@ -0,0 +1,154 @@
+package com.blog.service.impl;
+
+import com.blog.dto.ArticleBatchDTO;
+import com.blog.exception.BlogException;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.ArticleBatchService;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.ViewCountBuffer;
+import com.blog.vo.BatchResultVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * 文章批量操作服务实现类
+ * 目标文章按ID分块，每块在独立事务中执行一条集合UPDATE/DELETE语句，
+ * 不逐条加载实体，单次锁定的行数和事务时长受块大小限制
+ */
+@Slf4j
+@Service
+public class ArticleBatchServiceImpl implements ArticleBatchService {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private ArchiveIndex archiveIndex;
+
+    @Autowired
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 每个事务处理的文章数量
+     */
+    @Value("${blog.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public BatchResultVO updateStatus(ArticleBatchDTO batchDTO) {
+        Integer targetStatus = batchDTO.getTargetStatus();
+        if (targetStatus == null) {
+            throw new BlogException("目标状态不能为空");
+        }
+        long affected = execute(batchDTO, ids -> articleRepository.updateStatusByIdIn(ids, targetStatus), ids -> {
+            archiveIndex.refresh(ids);
+            articlePublishScheduler.cancel(ids);
+        });
+        log.info("批量修改文章状态为{}，影响{}篇", targetStatus, affected);
+        return new BatchResultVO(affected);
+    }
+
+    @Override
+    public BatchResultVO moveCategory(ArticleBatchDTO batchDTO) {
+        Long targetCategoryId = batchDTO.getTargetCategoryId();
+        if (targetCategoryId == null) {
+            throw new BlogException("目标分类不能为空");
+        }
+        if (!categoryRepository.existsById(targetCategoryId)) {
+            throw new BlogException("分类不存在");
+        }
+        long affected = execute(batchDTO, ids -> articleRepository.updateCategoryByIdIn(ids, targetCategoryId),
+                ids -> {
+                    // 移动分类不影响归档
+                });
+        log.info("批量移动文章到分类{}，影响{}篇", targetCategoryId, affected);
+        return new BatchResultVO(affected);
+    }
+
+    @Override
+    public BatchResultVO deleteArticles(ArticleBatchDTO batchDTO) {
+        long affected = execute(batchDTO, ids -> {
+            // 正文与文章在同一事务中删除
+            articleBodyRepository.deleteByArticleIdIn(ids);
+            int deleted = articleRepository.deleteByIdIn(ids);
+            viewCountBuffer.discard(ids);
+            return deleted;
+        }, ids -> {
+            archiveIndex.remove(ids);
+            articlePublishScheduler.cancel(ids);
+        });
+        log.info("批量删除文章，影响{}篇", affected);
+        return new BatchResultVO(affected);
+    }
+
+    /**
+     * 按块执行批量语句
+     *
+     * @param batchDTO  批量操作参数
+     * @param statement 对一块文章ID执行的语句，返回影响行数
+     * @param committed 每块事务提交后执行的操作（同步内存索引等）
+     * @return 总影响行数
+     */
+    private long execute(ArticleBatchDTO batchDTO, ToIntFunction<List<Long>> statement,
+                         Consumer<List<Long>> committed) {
+        if (batchDTO.hasIds()) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(batchDTO.getIds()));
+            long affected = 0;
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                affected += executeChunk(ids.subList(from, Math.min(from + chunkSize, ids.size())), statement, committed);
+            }
+            return affected;
+        }
+        if (!batchDTO.hasFilter()) {
+            throw new BlogException("请指定文章ID或筛选条件");
+        }
+
+        // 按ID递增分批选取目标，下一批从上一批最大ID之后继续，不受前一批修改结果影响
+        long affected = 0;
+        long lastId = 0;
+        PageRequest pageRequest = PageRequest.of(0, chunkSize);
+        while (true) {
+            List<Long> ids = articleRepository.findIdsByFilter(lastId, batchDTO.getCategoryId(),
+                    batchDTO.getStatus(), batchDTO.getCreatedBefore(), pageRequest);
+            if (ids.isEmpty()) {
+                return affected;
+            }
+            affected += executeChunk(ids, statement, committed);
+            lastId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                return affected;
+            }
+        }
+    }
+
+    private int executeChunk(List<Long> ids, ToIntFunction<List<Long>> statement, Consumer<List<Long>> committed) {
+        Integer affected = transactionTemplate.execute(status -> statement.applyAsInt(ids));
+        committed.accept(ids);
+        return affected != null ? affected : 0;
+    }
+}
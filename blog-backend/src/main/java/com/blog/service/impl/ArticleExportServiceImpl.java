@@ -0,0 +1,120 @@
+package com.blog.service.impl;
+
+import com.blog.service.ArticleExportService;
+import com.blog.util.ArticleContentCodec;
+import com.blog.vo.ArticleVO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * 文章导出服务实现类
+ * 使用只进游标逐行读取文章表并直接写入输出流，内存占用与文章总量无关；压缩存储的正文逐行解压
+ */
+@Slf4j
+@Service
+public class ArticleExportServiceImpl implements ArticleExportService {
+
+    private static final String EXPORT_SQL = "SELECT a.id, a.title, b.content, b.content_gzip, a.summary, a.thumbnail, "
+            + "a.category_id, c.name AS category_name, a.view_count, a.tags, a.status, a.create_time, a.update_time "
+            + "FROM article a LEFT JOIN article_body b ON b.article_id = a.id "
+            + "LEFT JOIN category c ON c.id = a.category_id";
+
+    /**
+     * 每输出多少行刷新一次输出流
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleContentCodec articleContentCodec;
+
+    /**
+     * 游标每次从数据库拉取的行数
+     */
+    @Value("${blog.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public long exportArticles(Date updatedSince, OutputStream outputStream) throws IOException {
+        String sql = updatedSince != null
+                ? EXPORT_SQL + " WHERE a.update_time >= ? ORDER BY a.id"
+                : EXPORT_SQL + " ORDER BY a.id";
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long[] count = {0};
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                if (updatedSince != null) {
+                    ps.setTimestamp(1, new Timestamp(updatedSince.getTime()));
+                }
+                return ps;
+            }, (ResultSet rs) -> {
+                try {
+                    objectMapper.writeValue(generator, mapRow(rs));
+                    generator.writeRaw('\n');
+                    if (++count[0] % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 客户端断开连接等写出异常，中止游标读取
+            throw e.getCause();
+        }
+
+        generator.flush();
+        log.info("导出文章完成，共{}篇，updatedSince={}", count[0], updatedSince);
+        return count[0];
+    }
+
+    /**
+     * 将结果集当前行转换为文章VO
+     *
+     * @param rs 结果集
+     * @return 文章VO
+     * @throws SQLException SQL异常
+     */
+    private ArticleVO mapRow(ResultSet rs) throws SQLException {
+        String content = articleContentCodec.decode(rs.getString("content"), rs.getBytes("content_gzip"));
+        return ArticleVO.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .content(content)
+                .summary(rs.getString("summary"))
+                .thumbnail(rs.getString("thumbnail"))
+                .categoryId(rs.getObject("category_id", Long.class))
+                .categoryName(rs.getString("category_name"))
+                .viewCount(rs.getObject("view_count", Integer.class))
+                .tags(rs.getString("tags"))
+                .status(rs.getObject("status", Integer.class))
+                .createTime(rs.getTimestamp("create_time"))
+                .updateTime(rs.getTimestamp("update_time"))
+                .build();
+    }
+}
@@ -0,0 +1,282 @@
+package com.blog.service.impl;
+
+import com.blog.dto.ArticleImportDTO;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleBody;
+import com.blog.entity.Category;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.ArticleImportService;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.vo.ImportErrorVO;
+import com.blog.vo.ImportResultVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章批量导入服务实现类
+ * 分类一次性预加载到内存，文章按批次在独立事务中批量插入
+ */
+@Slf4j
+@Service
+public class ArticleImportServiceImpl implements ArticleImportService {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ArticleContentCodec articleContentCodec;
+
+    @Autowired
+    private ArchiveIndex archiveIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 每批提交的文章数量，应与hibernate.jdbc.batch_size保持一致
+     */
+    @Value("${blog.import.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * 结果中最多返回的失败记录数
+     */
+    @Value("${blog.import.max-errors:100}")
+    private int maxErrors;
+
+    @Override
+    public ImportResultVO importArticles(InputStream inputStream) throws IOException {
+        ImportContext context = new ImportContext(loadCategories());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        List<PendingArticle> chunk = new ArrayList<>(batchSize);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            context.total++;
+            PendingArticle pending = parse(lineNumber, line, context);
+            if (pending == null) {
+                continue;
+            }
+            chunk.add(pending);
+            if (chunk.size() >= batchSize) {
+                saveChunk(chunk, context);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, context);
+        }
+
+        log.info("批量导入文章完成，共{}条，成功{}条，失败{}条", context.total, context.success, context.failed);
+        return ImportResultVO.builder()
+                .total(context.total)
+                .success(context.success)
+                .failed(context.failed)
+                .errors(context.errors)
+                .build();
+    }
+
+    /**
+     * 预加载全部分类，导入时不再逐条查询
+     *
+     * @return 分类ID到分类的映射
+     */
+    private Map<Long, Category> loadCategories() {
+        return categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, category -> category));
+    }
+
+    /**
+     * 解析并校验一行导入数据
+     *
+     * @param lineNumber 行号
+     * @param line       行内容
+     * @param context    导入上下文
+     * @return 待保存的文章，校验失败返回null
+     */
+    private PendingArticle parse(long lineNumber, String line, ImportContext context) {
+        ArticleImportDTO dto;
+        try {
+            dto = objectMapper.readValue(line, ArticleImportDTO.class);
+        } catch (JsonProcessingException e) {
+            context.fail(lineNumber, "JSON格式错误：" + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<ArticleImportDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            context.fail(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("，")));
+            return null;
+        }
+
+        Category category = context.resolveCategory(dto);
+        if (category == null) {
+            context.fail(lineNumber, "分类不存在");
+            return null;
+        }
+
+        Article article = new Article();
+        article.setTitle(dto.getTitle());
+        article.setSummary(dto.getSummary());
+        article.setTags(dto.getTags());
+        article.setThumbnail(dto.getThumbnail());
+        article.setCategoryId(category.getId());
+        article.setViewCount(dto.getViewCount() != null ? dto.getViewCount() : 0);
+        article.setStatus(dto.getStatus() != null ? dto.getStatus() : 1);
+        return new PendingArticle(lineNumber, article, dto.getContent(), dto.getCreateTime());
+    }
+
+    /**
+     * 在一个事务中批量保存一批文章；若整批失败则逐条重试以定位失败记录
+     *
+     * @param chunk   待保存的文章
+     * @param context 导入上下文
+     */
+    private void saveChunk(List<PendingArticle> chunk, ImportContext context) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            context.success += chunk.size();
+            archiveIndex.refresh(chunk.stream().map(pending -> pending.article.getId()).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            log.warn("批量保存失败，改为逐条保存：{}", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (PendingArticle pending : chunk) {
+                pending.article.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+                    context.success++;
+                    archiveIndex.refresh(List.of(pending.article.getId()));
+                } catch (RuntimeException ex) {
+                    pending.article.setId(null);
+                    context.fail(pending.lineNumber, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 保存文章并回填原始创建时间，须在事务中调用
+     *
+     * @param chunk 待保存的文章
+     */
+    private void persist(List<PendingArticle> chunk) {
+        List<Article> articles = chunk.stream().map(pending -> pending.article).collect(Collectors.toList());
+        articleRepository.saveAll(articles);
+        // 正文主键与文章一致，直接persist避免按主键先查询
+        for (PendingArticle pending : chunk) {
+            ArticleBody body = new ArticleBody(pending.article.getId());
+            articleContentCodec.encode(body, pending.content);
+            entityManager.persist(body);
+        }
+        entityManager.flush();
+
+        // 审计监听器会覆盖创建时间，导入的原始创建时间在插入后统一批量回填
+        List<Object[]> createTimes = chunk.stream()
+                .filter(pending -> pending.createTime != null)
+                .map(pending -> new Object[]{new Timestamp(pending.createTime.getTime()), pending.article.getId()})
+                .collect(Collectors.toList());
+        if (!createTimes.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE article SET create_time = ? WHERE id = ?", createTimes);
+        }
+        entityManager.clear();
+    }
+
+    /**
+     * 待保存的文章
+     */
+    private static class PendingArticle {
+
+        private final long lineNumber;
+        private final Article article;
+        private final String content;
+        private final Date createTime;
+
+        PendingArticle(long lineNumber, Article article, String content, Date createTime) {
+            this.lineNumber = lineNumber;
+            this.article = article;
+            this.content = content;
+            this.createTime = createTime;
+        }
+    }
+
+    /**
+     * 导入上下文，记录分类映射和统计信息
+     */
+    private class ImportContext {
+
+        private final Map<Long, Category> categoriesById;
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+        private final List<ImportErrorVO> errors = new ArrayList<>();
+        private long total;
+        private long success;
+        private long failed;
+
+        ImportContext(Map<Long, Category> categoriesById) {
+            this.categoriesById = categoriesById;
+            categoriesById.values().forEach(category -> categoriesByName.put(category.getName(), category));
+        }
+
+        Category resolveCategory(ArticleImportDTO dto) {
+            if (dto.getCategoryId() != null) {
+                return categoriesById.get(dto.getCategoryId());
+            }
+            return dto.getCategoryName() != null ? categoriesByName.get(dto.getCategoryName()) : null;
+        }
+
+        void fail(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorVO(lineNumber, message));
+            }
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.blog.service.impl;
 
+import com.blog.annotation.SingleFlight;
+import com.blog.common.CursorResult;
 import com.blog.common.PageResult;
 import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
+import com.blog.entity.ArticleBody;
 import com.blog.entity.Category;
 import com.blog.exception.BlogException;
+import com.blog.repository.ArticleBodyRepository;
 import com.blog.repository.ArticleRepository;
 import com.blog.repository.CategoryRepository;
 import com.blog.security.JwtUserDetails;
 import com.blog.service.ArticleService;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.util.ArticleConverter;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.ViewCountBuffer;
+import com.blog.vo.ArchiveMonthVO;
+import com.blog.vo.ArticleContentVO;
 import com.blog.vo.ArticleVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -21,6 +32,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,9 +51,27 @@ public class ArticleServiceImpl implements ArticleService {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private ArticleContentCodec articleContentCodec;
+
+    @Autowired
+    private ArchiveIndex archiveIndex;
+
+    @Autowired
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional
     public ArticleVO createArticle(ArticleDTO articleDTO) {
@@ -46,7 +82,6 @@ public class ArticleServiceImpl implements ArticleService {
         // 创建文章
         Article article = new Article();
         article.setTitle(articleDTO.getTitle());
-        article.setContent(articleDTO.getContent());
         article.setSummary(articleDTO.getSummary());
         article.setTags(articleDTO.getTags());
         article.setThumbnail(articleDTO.getThumbnail());
@@ -54,11 +89,17 @@ public class ArticleServiceImpl implements ArticleService {
         article.setCategory(category);
         article.setViewCount(0);
         article.setStatus(articleDTO.getStatus() != null ? articleDTO.getStatus() : 1);
+        applyPublishAt(article, articleDTO.getPublishAt());
 
-        // 保存文章
+        // 保存文章及正文，正文主键与文章一致，直接persist避免按主键先查询
         articleRepository.save(article);
+        ArticleBody body = new ArticleBody(article.getId());
+        articleContentCodec.encode(body, articleDTO.getContent());
+        entityManager.persist(body);
+        archiveIndex.updateAfterCommit(article.getId(), article.getCreateTime(), article.getStatus());
+        articlePublishScheduler.scheduleAfterCommit(article.getId(), article.getPublishAt());
 
-        return convertToVO(article);
+        return convertToVO(article, articleDTO.getContent());
     }
 
     @Override
@@ -80,9 +121,6 @@ public class ArticleServiceImpl implements ArticleService {
         if (articleDTO.getTitle() != null) {
             article.setTitle(articleDTO.getTitle());
         }
-        if (articleDTO.getContent() != null) {
-            article.setContent(articleDTO.getContent());
-        }
         if (articleDTO.getSummary() != null) {
             article.setSummary(articleDTO.getSummary());
         }
@@ -95,11 +133,32 @@ public class ArticleServiceImpl implements ArticleService {
         if (articleDTO.getStatus() != null) {
             article.setStatus(articleDTO.getStatus());
         }
+        if (Boolean.TRUE.equals(articleDTO.getClearPublishAt())) {
+            article.setPublishAt(null);
+        } else if (articleDTO.getPublishAt() != null) {
+            applyPublishAt(article, articleDTO.getPublishAt());
+        } else if (article.getPublishAt() != null) {
+            // 未传发布时间时保留原定时发布，文章保持草稿直到到点发布
+            article.setStatus(0);
+        }
+
+        // 更新正文，正文在单独的表中，需同步刷新文章的更新时间
+        ArticleBody body = articleBodyRepository.findById(id)
+                .orElseGet(() -> new ArticleBody(id));
+        String content = articleContentCodec.decode(body);
+        if (articleDTO.getContent() != null && !articleDTO.getContent().equals(content)) {
+            content = articleDTO.getContent();
+            articleContentCodec.encode(body, content);
+            articleBodyRepository.save(body);
+            article.setUpdateTime(new Date());
+        }
 
         // 保存文章
         articleRepository.save(article);
+        archiveIndex.updateAfterCommit(article.getId(), article.getCreateTime(), article.getStatus());
+        articlePublishScheduler.scheduleAfterCommit(article.getId(), article.getPublishAt());
 
-        return convertToVO(article);
+        return convertToVO(article, content);
     }
 
     @Override
@@ -109,24 +168,48 @@ public class ArticleServiceImpl implements ArticleService {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new BlogException("文章不存在"));
 
-        // 删除文章
+        // 删除文章及正文
+        articleBodyRepository.deleteByArticleId(id);
         articleRepository.delete(article);
+        archiveIndex.removeAfterCommit(id);
+        articlePublishScheduler.scheduleAfterCommit(id, null);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    @SingleFlight("article.detail")
     public ArticleVO getArticle(Long id) {
         // 查询文章
-        Article article = articleRepository.findById(id)
+        Article article = articleRepository.findWithCategoryById(id)
                 .orElseThrow(() -> new BlogException("文章不存在"));
+        String content = articleBodyRepository.findStoredContentByArticleId(id)
+                .map(stored -> articleContentCodec.decode(stored.getContent(), stored.getContentGzip()))
+                .orElse("");
+
+        return convertToVO(article, content);
+    }
 
-        // 增加浏览量
-        articleRepository.incrementViewCount(id);
+    @Override
+    @Transactional(readOnly = true)
+    public ArticleContentVO getArticleContent(Long id, boolean acceptGzip) {
+        ArticleBodyRepository.StoredContent stored = articleBodyRepository.findStoredContentByArticleId(id)
+                .orElseThrow(() -> new BlogException("文章不存在"));
 
-        return convertToVO(article);
+        if (acceptGzip && stored.getContentGzip() != null) {
+            return ArticleContentVO.builder().data(stored.getContentGzip()).gzipped(true).build();
+        }
+        String content = articleContentCodec.decode(stored.getContent(), stored.getContentGzip());
+        return ArticleContentVO.builder().data(content.getBytes(StandardCharsets.UTF_8)).gzipped(false).build();
     }
 
     @Override
+    public void increaseViewCount(Long id) {
+        // 浏览量先在内存中累加，由定时任务批量写入，不在读请求中开启写事务
+        viewCountBuffer.increment(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResult<ArticleVO> getArticles(Integer page, Integer size, String keyword, Long category, Integer status) {
         // 创建分页请求
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "createTime"));
@@ -181,9 +264,11 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @SingleFlight("article.latest")
     public List<ArticleVO> getLatestArticles(Integer limit) {
         // 查询最新文章
-        List<Article> articleList = articleRepository.findLatestArticles(limit);
+        List<Article> articleList = articleRepository.findByStatusOrderByCreateTimeDesc(1, PageRequest.of(0, limit));
 
         // 转换为VO
         return articleList.stream()
@@ -192,9 +277,11 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @SingleFlight("article.popular")
     public List<ArticleVO> getPopularArticles(Integer limit) {
         // 查询热门文章
-        List<Article> articleList = articleRepository.findPopularArticles(limit);
+        List<Article> articleList = articleRepository.findByStatusOrderByViewCountDesc(1, PageRequest.of(0, limit));
 
         // 转换为VO
         return articleList.stream()
@@ -203,6 +290,7 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResult<ArticleVO> searchArticles(String keyword, String tag, Integer page, Integer size, String sortBy, String sortDir) {
         // 创建分页对象
         Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
@@ -237,6 +325,7 @@ public class ArticleServiceImpl implements ArticleService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<String> getSearchSuggestions(String keyword, Integer limit) {
         if (!StringUtils.hasText(keyword)) {
             return List.of();
@@ -254,6 +343,7 @@ public class ArticleServiceImpl implements ArticleService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<String> getHotSearchKeywords(Integer limit) {
         // 这里可以从搜索日志表中获取热门关键词
         // 暂时返回一些模拟数据
@@ -263,26 +353,99 @@ public class ArticleServiceImpl implements ArticleService {
         ).stream().limit(limit).collect(Collectors.toList());
     }
 
+    @Override
+    public List<ArchiveMonthVO> getArchive() {
+        // 直接读取内存中的归档索引，不访问数据库
+        return archiveIndex.getMonthCounts().entrySet().stream()
+                .map(entry -> new ArchiveMonthVO(entry.getKey().toString(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResult<ArticleVO> getArchiveArticles(String month, String cursor, Integer size) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new BlogException("月份格式不正确，应为yyyy-MM");
+        }
+        // 归档索引中没有文章的月份无需查询数据库
+        if (archiveIndex.getArticleIds(yearMonth).isEmpty()) {
+            return new CursorResult<>(List.of(), null);
+        }
+
+        ZoneId zoneId = archiveIndex.zoneId();
+        Date start = Date.from(yearMonth.atDay(1).atStartOfDay(zoneId).toInstant());
+        Date end = Date.from(yearMonth.plusMonths(1).atDay(1).atStartOfDay(zoneId).toInstant());
+
+        // 游标格式为“创建时间毫秒数_文章ID”，首页从月末开始
+        Date cursorTime = end;
+        long cursorId = 0;
+        if (StringUtils.hasText(cursor)) {
+            String[] parts = cursor.split("_");
+            try {
+                cursorTime = new Date(Long.parseLong(parts[0]));
+                cursorId = Long.parseLong(parts[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new BlogException("游标格式不正确");
+            }
+            if (cursorTime.after(end)) {
+                cursorTime = end;
+                cursorId = 0;
+            }
+        }
+
+        // 多查一条判断是否还有下一页
+        List<Article> articles = articleRepository.findByCreateTimeBeforeCursor(
+                1, start, cursorTime, cursorId, PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (articles.size() > size) {
+            articles = articles.subList(0, size);
+            Article last = articles.get(size - 1);
+            nextCursor = last.getCreateTime().getTime() + "_" + last.getId();
+        }
+
+        List<ArticleVO> articleVOList = articles.stream()
+                .map(this::convertToVO)
+                .collect(Collectors.toList());
+        return new CursorResult<>(articleVOList, nextCursor);
+    }
+
     /**
-     * 将文章实体转换为VO
+     * 设置定时发布时间：发布时间晚于当前时间时文章保存为草稿，到点由定时发布调度器发布；
+     * 否则清除发布时间，按文章状态立即生效
+     *
+     * @param article   文章实体
+     * @param publishAt 定时发布时间
+     */
+    private void applyPublishAt(Article article, Date publishAt) {
+        if (publishAt != null && publishAt.after(new Date())) {
+            article.setStatus(0);
+            article.setPublishAt(publishAt);
+        } else {
+            article.setPublishAt(null);
+        }
+    }
+
+    /**
+     * 将文章实体转换为VO，列表场景不包含正文
      *
      * @param article 文章实体
      * @return 文章VO
      */
     private ArticleVO convertToVO(Article article) {
-        return ArticleVO.builder()
-                .id(article.getId())
-                .title(article.getTitle())
-                .content(article.getContent())
-                .summary(article.getSummary())
-                .thumbnail(article.getThumbnail())
-                .categoryId(article.getCategoryId())
-                .categoryName(article.getCategory() != null ? article.getCategory().getName() : null)
-                .viewCount(article.getViewCount())
-                .tags(article.getTags())
-                .status(article.getStatus())
-                .createTime(article.getCreateTime())
-                .updateTime(article.getUpdateTime())
-                .build();
+        return convertToVO(article, null);
+    }
+
+    /**
+     * 将文章实体转换为VO
+     *
+     * @param article 文章实体
+     * @param content 文章正文
+     * @return 文章VO
+     */
+    private ArticleVO convertToVO(Article article, String content) {
+        return ArticleConverter.toVO(article, content);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.blog.dto.LoginDTO;
 import com.blog.entity.User;
 import com.blog.exception.BlogException;
 import com.blog.repository.UserRepository;
+import com.blog.security.AuthMetrics;
 import com.blog.security.JwtUserDetails;
 import com.blog.service.AuthService;
 import com.blog.util.JwtUtil;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -30,11 +32,21 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthMetrics authMetrics;
+
     @Override
     public LoginVO login(LoginDTO loginDTO) {
         // 认证用户
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginDTO.getUsername(), loginDTO.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginDTO.getUsername(), loginDTO.getPassword()));
+        } catch (AuthenticationException e) {
+            authMetrics.loginFailed(e);
+            throw e;
+        }
+        authMetrics.loginSucceeded();
 
         // 设置认证信息到上下文
         SecurityContextHolder.getContext().setAuthentication(authentication);
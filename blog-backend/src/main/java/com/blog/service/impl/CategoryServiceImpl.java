@@ -1,5 +1,6 @@
 package com.blog.service.impl;
 
+import com.blog.annotation.SingleFlight;
 import com.blog.dto.CategoryDTO;
 import com.blog.entity.Category;
 import com.blog.exception.BlogException;
@@ -12,7 +13,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -101,6 +105,8 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @SingleFlight("category.detail")
     public CategoryVO getCategory(Long id) {
         // 查询分类
         Category category = categoryRepository.findById(id)
@@ -113,16 +119,26 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @SingleFlight("category.list")
     public List<CategoryVO> getAllCategories() {
         // 查询所有可用分类
         List<Category> categoryList = categoryRepository.findByStatus(1, Sort.by(Sort.Direction.ASC, "sort"));
 
+        if (categoryList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 一次分组统计各分类的文章数量
+        List<Long> categoryIds = categoryList.stream().map(Category::getId).collect(Collectors.toList());
+        Map<Long, Long> articleCounts = new HashMap<>();
+        for (Object[] row : articleRepository.countGroupByCategoryId(categoryIds)) {
+            articleCounts.put((Long) row[0], (Long) row[1]);
+        }
+
         // 转换为VO
         return categoryList.stream()
-                .map(category -> {
-                    Long articleCount = articleRepository.countByCategoryId(category.getId());
-                    return convertToVO(category, articleCount);
-                })
+                .map(category -> convertToVO(category, articleCounts.getOrDefault(category.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
@@ -92,6 +92,7 @@ public class ContributorServiceImpl implements ContributorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ContributorVO getContributor(Long id) {
         // 查询贡献者
         Contributor contributor = contributorRepository.findById(id)
@@ -101,6 +102,7 @@ public class ContributorServiceImpl implements ContributorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ContributorVO> getAllContributors() {
         // 查询所有可用贡献者
         List<Contributor> contributorList = contributorRepository.findByStatus(1, Sort.by(Sort.Direction.ASC, "sort"));
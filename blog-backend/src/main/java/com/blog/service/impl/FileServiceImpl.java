@@ -3,6 +3,9 @@ package com.blog.service.impl;
 import com.blog.exception.BlogException;
 import com.blog.service.FileService;
 import com.blog.util.FileUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,6 +23,9 @@ public class FileServiceImpl implements FileService {
     @Autowired
     private FileUtil fileUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * 允许的图片类型
      */
@@ -45,7 +51,7 @@ public class FileServiceImpl implements FileService {
 
         try {
             // 上传图片
-            return fileUtil.uploadFile(file, "images");
+            return upload(file, "images");
         } catch (IOException e) {
             throw new BlogException("图片上传失败: " + e.getMessage());
         }
@@ -61,9 +67,33 @@ public class FileServiceImpl implements FileService {
 
         try {
             // 上传文件
-            return fileUtil.uploadFile(file, "files");
+            return upload(file, "files");
         } catch (IOException e) {
             throw new BlogException("文件上传失败: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 保存文件并记录上传耗时和字节数（blog.upload.duration、blog.upload.size），按目录和结果区分
+     */
+    private String upload(MultipartFile file, String directory) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            String url = fileUtil.uploadFile(file, directory);
+            outcome = "success";
+            DistributionSummary.builder("blog.upload.size")
+                    .description("上传文件大小")
+                    .baseUnit("bytes")
+                    .tag("directory", directory)
+                    .register(meterRegistry)
+                    .record(file.getSize());
+            return url;
+        } finally {
+            sample.stop(Timer.builder("blog.upload.duration")
+                    .description("上传文件耗时")
+                    .tags("directory", directory, "outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
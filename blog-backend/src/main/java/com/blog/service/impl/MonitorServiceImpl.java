@@ -0,0 +1,104 @@
+package com.blog.service.impl;
+
+import com.blog.service.MonitorService;
+import com.blog.trace.RequestAllocationFilter;
+import com.blog.vo.CacheRegionStatsVO;
+import com.blog.vo.RouteAllocationStatsVO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 运行监控服务实现类
+ */
+@Service
+public class MonitorServiceImpl implements MonitorService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * 指标注册表，未启用指标时为空
+     */
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public List<CacheRegionStatsVO> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        List<CacheRegionStatsVO> result = new ArrayList<>(regionNames.length);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            result.add(CacheRegionStatsVO.builder()
+                    .region(regionName)
+                    .hits(hits)
+                    .misses(misses)
+                    .puts(region.getPutCount())
+                    .hitRatio(hits + misses == 0 ? 0D : (double) hits / (hits + misses))
+                    .elementCount(region.getElementCountInMemory())
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public List<RouteAllocationStatsVO> getAllocationStats(int limit) {
+        if (meterRegistry == null) {
+            return new ArrayList<>();
+        }
+        return meterRegistry.find(RequestAllocationFilter.METRIC_NAME).summaries().stream()
+                .filter(summary -> summary.count() > 0)
+                .map(this::toAllocationStats)
+                .sorted(Comparator.comparing(RouteAllocationStatsVO::getTotalBytes).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private RouteAllocationStatsVO toAllocationStats(DistributionSummary summary) {
+        HistogramSnapshot snapshot = summary.takeSnapshot();
+        return RouteAllocationStatsVO.builder()
+                .method(summary.getId().getTag("method"))
+                .route(summary.getId().getTag("uri"))
+                .requests(snapshot.count())
+                .meanBytes(snapshot.mean())
+                .p50Bytes(percentile(snapshot, 0.5))
+                .p99Bytes(percentile(snapshot, 0.99))
+                .maxBytes(snapshot.max())
+                .totalBytes(snapshot.total())
+                .build();
+    }
+
+    /**
+     * 按直方图桶的累计计数估算分位数，返回所在桶的上界，且不超过最大值
+     */
+    private static double percentile(HistogramSnapshot snapshot, double quantile) {
+        long rank = Math.max((long) Math.ceil(quantile * snapshot.count()), 1);
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (bucket.count() >= rank) {
+                return Math.min(bucket.bucket(), snapshot.max());
+            }
+        }
+        return snapshot.max();
+    }
+}
@@ -19,24 +19,11 @@ public class SettingServiceImpl implements SettingService {
     private SettingRepository settingRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public SettingVO getSetting() {
-        // 获取系统设置
+        // 获取系统设置，不存在时返回默认设置（只读事务中不写库，首次更新设置时才保存）
         Setting setting = settingRepository.findFirstByOrderById()
-                .orElseGet(() -> {
-                    // 如果不存在，则创建默认设置
-                    Setting defaultSetting = new Setting();
-                    defaultSetting.setSiteName("博客系统");
-                    defaultSetting.setSiteDescription("一个简单的博客系统");
-                    defaultSetting.setSiteKeywords("博客,技术,生活,编程");
-                    defaultSetting.setSiteLogo("/uploads/default-logo.png");
-                    defaultSetting.setSiteFavicon("/uploads/default-favicon.ico");
-                    defaultSetting.setSiteIcp("");
-                    defaultSetting.setSiteEmail("admin@example.com");
-                    defaultSetting.setFooterInfo("© 2023 博客系统 版权所有");
-                    defaultSetting.setAllowComments(true);
-                    defaultSetting.setCommentAudit(true);
-                    return settingRepository.save(defaultSetting);
-                });
+                .orElseGet(this::createDefaultSetting);
 
         return convertToVO(setting);
     }
@@ -46,7 +33,7 @@ public class SettingServiceImpl implements SettingService {
     public SettingVO updateSetting(SettingDTO settingDTO) {
         // 获取系统设置
         Setting setting = settingRepository.findFirstByOrderById()
-                .orElseGet(() -> new Setting());
+                .orElseGet(this::createDefaultSetting);
 
         // 更新系统设置
         if (settingDTO.getSiteName() != null) {
@@ -86,6 +73,26 @@ public class SettingServiceImpl implements SettingService {
         return convertToVO(setting);
     }
 
+    /**
+     * 创建默认系统设置
+     *
+     * @return 默认系统设置（未保存）
+     */
+    private Setting createDefaultSetting() {
+        Setting defaultSetting = new Setting();
+        defaultSetting.setSiteName("博客系统");
+        defaultSetting.setSiteDescription("一个简单的博客系统");
+        defaultSetting.setSiteKeywords("博客,技术,生活,编程");
+        defaultSetting.setSiteLogo("/uploads/default-logo.png");
+        defaultSetting.setSiteFavicon("/uploads/default-favicon.ico");
+        defaultSetting.setSiteIcp("");
+        defaultSetting.setSiteEmail("admin@example.com");
+        defaultSetting.setFooterInfo("© 2023 博客系统 版权所有");
+        defaultSetting.setAllowComments(true);
+        defaultSetting.setCommentAudit(true);
+        return defaultSetting;
+    }
+
     /**
      * 将系统设置实体转换为VO
      *
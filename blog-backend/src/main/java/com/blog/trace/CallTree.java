@@ -0,0 +1,157 @@
+package com.blog.trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 调用栈聚合树
+ * 相同前缀的调用栈共享节点，按节点累计采样数，输出为折叠栈格式（每行“帧;帧;帧 次数”，根在前），
+ * 可直接生成火焰图。节点数有上限，达到上限后新路径的采样计到已有的最深公共前缀上
+ */
+final class CallTree {
+
+    private final int maxNodes;
+
+    private final Node root = new Node();
+
+    /**
+     * 帧名称缓存，相同的栈帧复用同一个字符串
+     */
+    private final Map<StackTraceElement, String> frameNames = new HashMap<>();
+
+    private int nodeCount;
+
+    private long samples;
+
+    private long truncatedSamples;
+
+    CallTree(int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 添加一次采样
+     *
+     * @param group     根帧（线程池名称）
+     * @param frames    调用栈，最内层在前
+     * @param truncated 调用栈是否被截断（外层帧缺失）
+     * @param leaf      附加在最内层的帧，如线程状态，可为空
+     */
+    void add(String group, StackTraceElement[] frames, boolean truncated, String leaf) {
+        samples++;
+        Node node = root.child(group, this);
+        if (node == null) {
+            // 连根帧都放不下，只计数
+            truncatedSamples++;
+            return;
+        }
+        if (truncated) {
+            node = descend(node, "[truncated]");
+        }
+        for (int i = frames.length - 1; i >= 0 && node != null; i--) {
+            node = descend(node, frameName(frames[i]));
+        }
+        if (node != null && leaf != null) {
+            node = descend(node, leaf);
+        }
+        if (node != null) {
+            node.self++;
+        }
+    }
+
+    /**
+     * 进入子节点，节点数达到上限时把采样计到当前节点并返回空
+     */
+    private Node descend(Node node, String frame) {
+        Node child = node.child(frame, this);
+        if (child == null) {
+            truncatedSamples++;
+            node.self++;
+        }
+        return child;
+    }
+
+    private String frameName(StackTraceElement element) {
+        String name = frameNames.get(element);
+        if (name == null) {
+            name = element.getClassName() + "." + element.getMethodName();
+            if (frameNames.size() < maxNodes) {
+                frameNames.put(element, name);
+            }
+        }
+        return name;
+    }
+
+    long getSamples() {
+        return samples;
+    }
+
+    long getTruncatedSamples() {
+        return truncatedSamples;
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 以折叠栈格式输出，每个有自身采样的节点一行
+     *
+     * @param writer 输出
+     * @throws IOException 写出失败
+     */
+    void writeCollapsed(Writer writer) throws IOException {
+        if (root.children != null) {
+            StringBuilder path = new StringBuilder(1024);
+            for (Map.Entry<String, Node> entry : root.children.entrySet()) {
+                write(writer, path, entry.getKey(), entry.getValue());
+            }
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, StringBuilder path, String frame, Node node) throws IOException {
+        int length = path.length();
+        if (length > 0) {
+            path.append(';');
+        }
+        path.append(frame);
+        if (node.self > 0) {
+            writer.append(path).append(' ').append(Long.toString(node.self)).append('\n');
+        }
+        if (node.children != null) {
+            for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+                write(writer, path, entry.getKey(), entry.getValue());
+            }
+        }
+        path.setLength(length);
+    }
+
+    /**
+     * 树节点
+     */
+    private static class Node {
+
+        private Map<String, Node> children;
+
+        private long self;
+
+        Node child(String frame, CallTree tree) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            Node child = children.get(frame);
+            if (child == null) {
+                if (tree.nodeCount >= tree.maxNodes) {
+                    return null;
+                }
+                child = new Node();
+                children.put(frame, child);
+                tree.nodeCount++;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.blog.trace;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * 请求内存分配统计过滤器
+ * 用HotSpot的线程分配计数器（com.sun.management.ThreadMXBean）读取请求线程在处理请求前后的累计分配字节数，
+ * 差值按请求方法和路由模板计入分布统计，与http.server.requests的延迟并列导出。
+ * 异步请求（DeferredResult）的首次分派和结果分派（含响应序列化）累加后计为一个请求；
+ * 搜索执行器、流式导出等在其他线程上的分配不计入。JVM不支持线程分配计数时不做统计
+ */
+@Slf4j
+public class RequestAllocationFilter extends OncePerRequestFilter {
+
+    /**
+     * 指标名称
+     */
+    public static final String METRIC_NAME = "blog.request.allocated";
+
+    /**
+     * 直方图桶上界：1KB到1GB之间的2的幂，分位数误差不超过一倍
+     */
+    static final double[] BUCKETS = buckets(1L << 10, 1L << 30);
+
+    /**
+     * 异步请求已分派部分的分配字节数
+     */
+    private static final String ALLOCATED_ATTRIBUTE = RequestAllocationFilter.class.getName() + ".allocated";
+
+    private final MeterRegistry meterRegistry;
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    public RequestAllocationFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = allocationCounter();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (threadMXBean == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = threadMXBean.getThreadAllocatedBytes(threadId);
+            // 虚拟线程等不支持计数的线程返回-1
+            if (start >= 0 && end >= start) {
+                long allocated = end - start;
+                Object previous = request.getAttribute(ALLOCATED_ATTRIBUTE);
+                if (previous != null) {
+                    allocated += (Long) previous;
+                }
+                if (isAsyncStarted(request)) {
+                    request.setAttribute(ALLOCATED_ATTRIBUTE, allocated);
+                } else {
+                    summary(request, response).record(allocated);
+                }
+            }
+        }
+    }
+
+    /**
+     * 异步结果分派同样统计，与首次分派累加
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * 获取请求对应的分布统计，路由取值与http.server.requests的uri标签一致，未匹配的请求归入NOT_FOUND等固定值
+     */
+    private DistributionSummary summary(HttpServletRequest request, HttpServletResponse response) {
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("每个请求在请求线程上分配的字节数")
+                .baseUnit("bytes")
+                .tags(Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, response)))
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取线程分配计数器，不支持时返回空
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            log.warn("JVM不提供com.sun.management.ThreadMXBean，不统计请求内存分配");
+            return null;
+        }
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+        if (!counter.isThreadAllocatedMemorySupported()) {
+            log.warn("JVM不支持线程内存分配计数，不统计请求内存分配");
+            return null;
+        }
+        if (!counter.isThreadAllocatedMemoryEnabled()) {
+            counter.setThreadAllocatedMemoryEnabled(true);
+        }
+        return counter;
+    }
+
+    private static double[] buckets(long min, long max) {
+        int count = Long.numberOfTrailingZeros(max) - Long.numberOfTrailingZeros(min) + 1;
+        double[] buckets = new double[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = min << i;
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 慢请求JFR事件
+ * 在请求结束后提交，事件自身的时间为提交时刻，请求耗时见duration字段；片段见同一requestId的TraceSpanEvent
+ */
+@Name("com.blog.SlowRequest")
+@Label("Slow Request")
+@Category({"Blog", "Tracing"})
+@Description("超过阈值的HTTP请求")
+@StackTrace(false)
+class SlowRequestEvent extends Event {
+
+    @Label("Request Id")
+    long requestId;
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Route")
+    String route;
+
+    @Label("Status")
+    int status;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long duration;
+
+    @Label("Dropped Spans")
+    long droppedSpans;
+}
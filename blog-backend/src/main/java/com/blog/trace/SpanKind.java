@@ -0,0 +1,47 @@
+package com.blog.trace;
+
+/**
+ * 追踪片段类型
+ */
+public enum SpanKind {
+
+    /**
+     * Servlet过滤器链，整个请求的根片段
+     */
+    FILTER,
+
+    /**
+     * JWT认证
+     */
+    AUTH,
+
+    /**
+     * 控制器方法
+     */
+    CONTROLLER,
+
+    /**
+     * 服务方法（含事务提交）
+     */
+    SERVICE,
+
+    /**
+     * 数据访问方法
+     */
+    REPOSITORY,
+
+    /**
+     * SQL语句执行，不在数据访问方法内的语句多为延迟加载或JdbcTemplate直接执行
+     */
+    SQL,
+
+    /**
+     * 响应体JSON序列化
+     */
+    SERIALIZATION,
+
+    /**
+     * 在执行器线程上运行的异步任务（如带截止时间的搜索）
+     */
+    ASYNC
+}
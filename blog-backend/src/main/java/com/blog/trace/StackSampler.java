@@ -0,0 +1,290 @@
+package com.blog.trace;
+
+import com.blog.common.ResultCode;
+import com.blog.exception.BlogException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 按需栈采样器
+ * 在限定时长内按固定间隔用ThreadMXBean抓取线程名匹配的线程（Tomcat请求线程和后台执行器）的调用栈，
+ * 在内存中聚合为调用树，结束后输出折叠栈。时长、采样间隔、栈深度、线程数和调用树节点数都有上限，
+ * 同一时间只允许一个采样会话，可以在生产环境短时间开启。
+ * 每次采样都会触发一次安全点，采样间隔不宜过小；虚拟线程不在ThreadMXBean中，无法采样
+ */
+@Slf4j
+@Component
+public class StackSampler {
+
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String[] STATE_FRAMES = stateFrames();
+
+    /**
+     * 单次采样的最长时长（秒）
+     */
+    @Value("${blog.profiler.max-duration-seconds:60}")
+    private int maxDurationSeconds;
+
+    /**
+     * 最小采样间隔（毫秒）
+     */
+    @Value("${blog.profiler.min-interval-millis:10}")
+    private int minIntervalMillis;
+
+    /**
+     * 每个调用栈保留的最大帧数，超出时丢弃外层帧
+     */
+    @Value("${blog.profiler.max-stack-depth:64}")
+    private int maxStackDepth;
+
+    /**
+     * 调用树最大节点数
+     */
+    @Value("${blog.profiler.max-nodes:20000}")
+    private int maxNodes;
+
+    /**
+     * 每次采样的最大线程数
+     */
+    @Value("${blog.profiler.max-threads:256}")
+    private int maxThreads;
+
+    /**
+     * 默认采样的线程名
+     */
+    @Value("${blog.profiler.thread-pattern:http-nio-.*|task-.*|search-.*|scheduling-.*|article-publish-timer}")
+    private String threadPattern;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final AtomicReference<Session> current = new AtomicReference<>();
+
+    /**
+     * 开始一个采样会话
+     *
+     * @param seconds        采样时长（秒）
+     * @param intervalMillis 采样间隔（毫秒）
+     * @param threads        线程名正则，为空时使用默认配置
+     * @param includeWaiting 是否包含非RUNNABLE状态的线程，包含时以线程状态作为最内层帧
+     * @return 采样会话
+     */
+    public Session start(int seconds, int intervalMillis, String threads, boolean includeWaiting) {
+        if (seconds < 1 || seconds > maxDurationSeconds) {
+            throw new BlogException(ResultCode.VALIDATE_FAILED, "采样时长须在1到" + maxDurationSeconds + "秒之间");
+        }
+        if (intervalMillis < minIntervalMillis || intervalMillis > seconds * 1000) {
+            throw new BlogException(ResultCode.VALIDATE_FAILED, "采样间隔须在" + minIntervalMillis + "毫秒到采样时长之间");
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(threads != null && !threads.isEmpty() ? threads : threadPattern);
+        } catch (PatternSyntaxException e) {
+            throw new BlogException(ResultCode.VALIDATE_FAILED, "线程名正则无效");
+        }
+        Session session = new Session(pattern, includeWaiting, seconds, intervalMillis);
+        if (!current.compareAndSet(null, session)) {
+            throw new BlogException(ResultCode.SERVICE_UNAVAILABLE, "已有采样正在进行，请稍后重试");
+        }
+        session.schedule();
+        return session;
+    }
+
+    /**
+     * 是否有采样正在进行
+     *
+     * @return 是否正在采样
+     */
+    public boolean isRunning() {
+        return current.get() != null;
+    }
+
+    private static String[] stateFrames() {
+        Thread.State[] states = Thread.State.values();
+        String[] frames = new String[states.length];
+        for (Thread.State state : states) {
+            frames[state.ordinal()] = "[" + state.name() + "]";
+        }
+        return frames;
+    }
+
+    /**
+     * 采样会话
+     * 采样在独立的守护线程上进行，调用树只由该线程写入，结束后才允许读取
+     */
+    public final class Session implements Runnable {
+
+        private final Pattern pattern;
+        private final boolean includeWaiting;
+        private final int intervalMillis;
+        private final long deadline;
+        private final CallTree tree = new CallTree(maxNodes);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final ScheduledExecutorService executor;
+
+        private volatile boolean cancelled;
+
+        private long[] threadIds = new long[0];
+        private String[] groups = new String[0];
+        private long nextRefresh;
+        private long ticks;
+
+        Session(Pattern pattern, boolean includeWaiting, int seconds, int intervalMillis) {
+            this.pattern = pattern;
+            this.includeWaiting = includeWaiting;
+            this.intervalMillis = intervalMillis;
+            this.deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stack-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void schedule() {
+            executor.scheduleAtFixedRate(this, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            if (cancelled || now - deadline >= 0) {
+                finish();
+                return;
+            }
+            try {
+                sample(now);
+            } catch (RuntimeException e) {
+                log.warn("栈采样失败，提前结束: {}", e.toString());
+                finish();
+            }
+        }
+
+        private void sample(long now) {
+            if (now - nextRefresh >= 0) {
+                refresh();
+                nextRefresh = now + REFRESH_INTERVAL_NANOS;
+            }
+            if (threadIds.length == 0) {
+                return;
+            }
+            ticks++;
+            ThreadInfo[] infos = threadMXBean.getThreadInfo(threadIds, maxStackDepth);
+            for (int i = 0; i < infos.length; i++) {
+                ThreadInfo info = infos[i];
+                // 线程已结束
+                if (info == null) {
+                    continue;
+                }
+                Thread.State state = info.getThreadState();
+                if (!includeWaiting && state != Thread.State.RUNNABLE) {
+                    continue;
+                }
+                StackTraceElement[] frames = info.getStackTrace();
+                if (frames.length == 0) {
+                    continue;
+                }
+                tree.add(groups[i], frames, frames.length >= maxStackDepth,
+                        includeWaiting ? STATE_FRAMES[state.ordinal()] : null);
+            }
+        }
+
+        /**
+         * 重新查找线程名匹配的线程，线程池扩缩容后的新线程在一秒内纳入采样
+         */
+        private void refresh() {
+            long self = Thread.currentThread().getId();
+            long[] all = threadMXBean.getAllThreadIds();
+            ThreadInfo[] infos = threadMXBean.getThreadInfo(all, 0);
+            long[] ids = new long[Math.min(all.length, maxThreads)];
+            String[] names = new String[ids.length];
+            int count = 0;
+            for (ThreadInfo info : infos) {
+                if (count == ids.length) {
+                    break;
+                }
+                if (info == null || info.getThreadId() == self || !pattern.matcher(info.getThreadName()).matches()) {
+                    continue;
+                }
+                ids[count] = info.getThreadId();
+                names[count] = group(info.getThreadName());
+                count++;
+            }
+            threadIds = Arrays.copyOf(ids, count);
+            groups = Arrays.copyOf(names, count);
+        }
+
+        private void finish() {
+            if (done.getCount() == 0) {
+                return;
+            }
+            executor.shutdown();
+            current.compareAndSet(this, null);
+            log.info("栈采样结束: 采样{}次，线程栈{}个，调用树节点{}个，因节点数上限截断{}个",
+                    ticks, tree.getSamples(), tree.getNodeCount(), tree.getTruncatedSamples());
+            done.countDown();
+        }
+
+        /**
+         * 提前结束采样，已采集的数据保留
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * 等待采样结束
+         *
+         * @throws InterruptedException 等待被中断
+         */
+        public void await() throws InterruptedException {
+            done.await();
+        }
+
+        /**
+         * 输出折叠栈，须在采样结束后调用
+         *
+         * @param writer 输出
+         * @throws IOException 写出失败
+         */
+        public void writeCollapsed(Writer writer) throws IOException {
+            if (done.getCount() != 0) {
+                throw new IllegalStateException("采样尚未结束");
+            }
+            tree.writeCollapsed(writer);
+        }
+
+        long getSamples() {
+            return tree.getSamples();
+        }
+    }
+
+    /**
+     * 线程名去掉末尾编号作为根帧，同一线程池的线程合并，如http-nio-8081-exec-12合并为http-nio-8081-exec
+     */
+    static String group(String threadName) {
+        int end = threadName.length();
+        while (end > 0 && Character.isDigit(threadName.charAt(end - 1))) {
+            end--;
+        }
+        if (end > 0 && end < threadName.length() && threadName.charAt(end - 1) == '-') {
+            end--;
+        }
+        return end > 0 ? threadName.substring(0, end) : threadName;
+    }
+}
@@ -0,0 +1,171 @@
+package com.blog.trace;
+
+import com.blog.vo.TraceSpanVO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 线程私有的追踪片段环形缓冲区
+ * 片段按开始顺序编号，字段分别存放在预分配的基本类型数组中，记录时只写数组、不分配对象；
+ * 一个请求的片段超过容量时覆盖最早的片段，结束时按编号校验，被覆盖的片段不会被误写
+ */
+final class TraceBuffer {
+
+    /**
+     * 最大嵌套深度，更深的片段不记录
+     */
+    static final int MAX_DEPTH = 64;
+
+    private static final SpanKind[] KINDS = SpanKind.values();
+
+    private final int mask;
+    private final long[] sequences;
+    private final int[] names;
+    private final byte[] kinds;
+    private final short[] depths;
+    private final long[] starts;
+    private final long[] ends;
+
+    /**
+     * 当前打开的片段编号，下标为嵌套深度
+     */
+    private final long[] open = new long[MAX_DEPTH];
+
+    private long next;
+    private long first;
+    private int depth;
+    private long skipped;
+    private long startNanos;
+    private boolean active;
+
+    /**
+     * 当前请求转为异步处理时的跨线程上下文
+     */
+    private TraceContext context;
+
+    /**
+     * @param capacity 片段容量，向上取整为2的幂
+     */
+    TraceBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new long[size];
+        this.names = new int[size];
+        this.kinds = new byte[size];
+        this.depths = new short[size];
+        this.starts = new long[size];
+        this.ends = new long[size];
+    }
+
+    /**
+     * 开始追踪一个请求，清空上一个请求的片段
+     *
+     * @param now 当前时间（纳秒）
+     */
+    void start(long now) {
+        first = next;
+        depth = 0;
+        skipped = 0;
+        startNanos = now;
+        active = true;
+        context = null;
+    }
+
+    /**
+     * 结束追踪，之后的片段不再记录
+     */
+    void stop() {
+        active = false;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    TraceContext getContext() {
+        return context;
+    }
+
+    void setContext(TraceContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 打开一个片段
+     */
+    void begin(SpanKind kind, int name, long now) {
+        if (depth < MAX_DEPTH) {
+            long sequence = next++;
+            int slot = (int) (sequence & mask);
+            sequences[slot] = sequence;
+            names[slot] = name;
+            kinds[slot] = (byte) kind.ordinal();
+            depths[slot] = (short) depth;
+            starts[slot] = now;
+            ends[slot] = -1;
+            open[depth] = sequence;
+        } else {
+            skipped++;
+        }
+        depth++;
+    }
+
+    /**
+     * 关闭最内层的片段
+     */
+    void end(long now) {
+        if (depth == 0) {
+            return;
+        }
+        depth--;
+        if (depth < MAX_DEPTH) {
+            long sequence = open[depth];
+            int slot = (int) (sequence & mask);
+            if (sequences[slot] == sequence) {
+                ends[slot] = now;
+            }
+        }
+    }
+
+    /**
+     * 当前请求因缓冲区覆盖或嵌套过深而丢失的片段数
+     *
+     * @return 丢失的片段数
+     */
+    long dropped() {
+        return Math.max(next - first - capacity(), 0) + skipped;
+    }
+
+    /**
+     * 复制当前请求的片段，按开始顺序排列，时间相对请求开始；未结束的片段计到now为止
+     *
+     * @param now 当前时间（纳秒）
+     * @return 片段列表
+     */
+    List<TraceSpanVO> snapshot(long now) {
+        long from = Math.max(first, next - capacity());
+        List<TraceSpanVO> spans = new ArrayList<>((int) (next - from));
+        for (long sequence = from; sequence < next; sequence++) {
+            int slot = (int) (sequence & mask);
+            long end = ends[slot] >= 0 ? ends[slot] : now;
+            spans.add(TraceSpanVO.builder()
+                    .kind(KINDS[kinds[slot]].name())
+                    .name(Tracer.nameOf(names[slot]))
+                    .depth((int) depths[slot])
+                    .startMillis((starts[slot] - startNanos) / 1_000_000.0)
+                    .durationMillis((end - starts[slot]) / 1_000_000.0)
+                    .finished(ends[slot] >= 0)
+                    .build());
+        }
+        return spans;
+    }
+}
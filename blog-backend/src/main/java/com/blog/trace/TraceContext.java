@@ -0,0 +1,55 @@
+package com.blog.trace;
+
+import com.blog.vo.TraceSpanVO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 跨线程的请求追踪上下文
+ * 异步请求（DeferredResult）的首次分派、执行器上的任务和结果分派运行在不同线程上，各自写入所在线程的缓冲区；
+ * 每段结束时把片段复制到上下文中，结果分派结束后合并为一棵片段树。只有异步请求才创建上下文
+ */
+public final class TraceContext {
+
+    private static final Comparator<TraceSpanVO> BY_START = Comparator.comparingDouble(TraceSpanVO::getStartMillis);
+
+    private final long startNanos;
+
+    private final List<TraceSpanVO> spans = new ArrayList<>();
+
+    private long dropped;
+
+    TraceContext(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 请求开始时间（纳秒），各线程的片段时间都相对于该时间
+     */
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 加入一个线程上记录的片段
+     */
+    synchronized void add(List<TraceSpanVO> segment, long segmentDropped) {
+        spans.addAll(segment);
+        dropped += segmentDropped;
+    }
+
+    /**
+     * 已加入的片段，按开始时间排列
+     */
+    synchronized List<TraceSpanVO> spans() {
+        List<TraceSpanVO> sorted = new ArrayList<>(spans);
+        sorted.sort(BY_START);
+        return sorted;
+    }
+
+    synchronized long dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,40 @@
+package com.blog.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 慢请求追踪片段JFR事件，随SlowRequestEvent一同提交
+ */
+@Name("com.blog.TraceSpan")
+@Label("Trace Span")
+@Category({"Blog", "Tracing"})
+@Description("慢请求中的一个追踪片段")
+@StackTrace(false)
+class TraceSpanEvent extends Event {
+
+    @Label("Request Id")
+    long requestId;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Name")
+    String name;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Start Offset")
+    @Timespan(Timespan.NANOSECONDS)
+    long startOffset;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long duration;
+}
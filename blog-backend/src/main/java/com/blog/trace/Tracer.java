@@ -0,0 +1,251 @@
+package com.blog.trace;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内请求追踪
+ * 请求线程在过滤器中开始追踪后，过滤器、控制器、服务、数据访问、SQL和序列化各层打开和关闭片段，
+ * 片段写入线程私有的预分配环形缓冲区。片段名称预先登记为整数编号，记录时不分配对象；
+ * 未开始追踪的线程（定时任务、异步执行器等）调用时直接返回。
+ * 异步请求通过fork/join/leave把执行器线程上的片段并入同一请求。
+ * 虚拟线程每个请求一个线程，线程私有缓冲区无法复用，请求结束时归还到有界缓冲区池，供后续请求取用
+ */
+public final class Tracer {
+
+    /**
+     * 最多登记的片段名称数，超出后统一记为“其他”，避免拼接了参数的SQL撑满名称表
+     */
+    static final int MAX_NAMES = 4096;
+
+    private static final String OTHER_NAME = "(其他)";
+
+    /**
+     * 虚拟线程缓冲区池的容量，超出后归还的缓冲区直接丢弃
+     */
+    static final int POOL_CAPACITY = 256;
+
+    private static final ThreadLocal<TraceBuffer> BUFFERS = new ThreadLocal<>();
+
+    private static final BlockingQueue<TraceBuffer> POOL = new ArrayBlockingQueue<>(POOL_CAPACITY);
+
+    /**
+     * Thread.isVirtual()，JDK 21以下为空；项目以JDK 11为编译基线，因此通过方法句柄调用
+     */
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private static final Map<String, Integer> NAME_IDS = new ConcurrentHashMap<>();
+
+    private static volatile String[] names = {OTHER_NAME};
+
+    private static volatile int bufferSize = 256;
+
+    private Tracer() {
+    }
+
+    /**
+     * 设置每个线程缓冲区的片段容量，只影响之后新建的缓冲区
+     *
+     * @param size 片段容量
+     */
+    public static void setBufferSize(int size) {
+        bufferSize = size;
+    }
+
+    /**
+     * 登记片段名称，相同名称返回相同编号；调用方应缓存编号，热点路径上只查表不登记
+     *
+     * @param name 片段名称
+     * @return 名称编号
+     */
+    public static int nameId(String name) {
+        Integer id = NAME_IDS.get(name);
+        return id != null ? id : register(name);
+    }
+
+    private static synchronized int register(String name) {
+        Integer id = NAME_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        String[] current = names;
+        if (current.length >= MAX_NAMES) {
+            return 0;
+        }
+        String[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = name;
+        names = updated;
+        NAME_IDS.put(name, current.length);
+        return current.length;
+    }
+
+    static String nameOf(int id) {
+        String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : OTHER_NAME;
+    }
+
+    /**
+     * 在当前线程开始追踪，线程首次追踪时从池中取用或分配缓冲区
+     *
+     * @return 当前线程的缓冲区，已在追踪中（如请求内转发）时返回空
+     */
+    static TraceBuffer start() {
+        return start(System.nanoTime());
+    }
+
+    /**
+     * 在当前线程继续追踪一个异步请求，片段时间相对于请求开始时间
+     *
+     * @param context 跨线程上下文
+     * @return 当前线程的缓冲区，已在追踪中时返回空
+     */
+    static TraceBuffer start(TraceContext context) {
+        TraceBuffer buffer = start(context.getStartNanos());
+        if (buffer != null) {
+            buffer.setContext(context);
+        }
+        return buffer;
+    }
+
+    private static TraceBuffer start(long startNanos) {
+        TraceBuffer buffer = BUFFERS.get();
+        if (buffer == null) {
+            buffer = POOL.poll();
+        }
+        if (buffer == null || buffer.capacity() < bufferSize) {
+            buffer = new TraceBuffer(bufferSize);
+        } else if (buffer.isActive()) {
+            return null;
+        }
+        BUFFERS.set(buffer);
+        buffer.start(startNanos);
+        return buffer;
+    }
+
+    /**
+     * 请求结束、片段已复制后释放缓冲区：平台线程保留给下一个请求，虚拟线程归还到池中
+     *
+     * @param buffer 已停止的缓冲区
+     */
+    static void release(TraceBuffer buffer) {
+        if (isVirtualThread()) {
+            BUFFERS.remove();
+            POOL.offer(buffer);
+        }
+    }
+
+    /**
+     * 为当前请求创建跨线程上下文，供执行器线程通过join继续记录片段
+     *
+     * @return 跨线程上下文，当前线程未在追踪中时返回空
+     */
+    public static TraceContext fork() {
+        TraceBuffer buffer = BUFFERS.get();
+        if (buffer == null || !buffer.isActive()) {
+            return null;
+        }
+        return contextOf(buffer);
+    }
+
+    /**
+     * 获取缓冲区所属请求的跨线程上下文，不存在时创建
+     */
+    static TraceContext contextOf(TraceBuffer buffer) {
+        TraceContext context = buffer.getContext();
+        if (context == null) {
+            context = new TraceContext(buffer.getStartNanos());
+            buffer.setContext(context);
+        }
+        return context;
+    }
+
+    /**
+     * 在执行器线程上继续记录请求的片段并打开根片段，成功时必须在finally中调用leave
+     *
+     * @param context 跨线程上下文，为空时不记录
+     * @param nameId  根片段名称编号
+     * @return 是否开始记录
+     */
+    public static boolean join(TraceContext context, int nameId) {
+        if (context == null || start(context) == null) {
+            return false;
+        }
+        begin(SpanKind.ASYNC, nameId);
+        return true;
+    }
+
+    /**
+     * 关闭join打开的根片段，把本线程记录的片段并入请求上下文并停止记录
+     *
+     * @param context 跨线程上下文
+     */
+    public static void leave(TraceContext context) {
+        TraceBuffer buffer = BUFFERS.get();
+        if (buffer == null || !buffer.isActive()) {
+            return;
+        }
+        long now = System.nanoTime();
+        buffer.end(now);
+        buffer.stop();
+        context.add(buffer.snapshot(now), buffer.dropped());
+        release(buffer);
+    }
+
+    /**
+     * 当前线程是否在追踪中
+     *
+     * @return 是否在追踪中
+     */
+    public static boolean isActive() {
+        TraceBuffer buffer = BUFFERS.get();
+        return buffer != null && buffer.isActive();
+    }
+
+    /**
+     * 打开片段，必须与end成对调用（放在finally中）
+     *
+     * @param kind   片段类型
+     * @param nameId 名称编号
+     */
+    public static void begin(SpanKind kind, int nameId) {
+        TraceBuffer buffer = BUFFERS.get();
+        if (buffer != null && buffer.isActive()) {
+            buffer.begin(kind, nameId, System.nanoTime());
+        }
+    }
+
+    /**
+     * 关闭当前线程最内层的片段
+     */
+    public static void end() {
+        TraceBuffer buffer = BUFFERS.get();
+        if (buffer != null && buffer.isActive()) {
+            buffer.end(System.nanoTime());
+        }
+    }
+
+    private static boolean isVirtualThread() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.blog.trace;
+
+import com.blog.util.SlowRequestLog;
+import com.blog.vo.SlowRequestVO;
+import com.blog.vo.TraceSpanVO;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 请求追踪过滤器
+ * 位于过滤器链最外层，为请求线程开始追踪并打开根片段；请求耗时超过阈值时复制片段树写入慢请求日志，
+ * 开启JFR时同时提交慢请求和片段事件。未超过阈值的同步请求只重置缓冲区，不产生任何对象。
+ * 异步请求（DeferredResult）的首次分派结束时把片段复制到跨线程上下文，执行器上的任务和结果分派（含响应序列化）
+ * 继续并入该上下文，结果分派结束后按整个请求的耗时判断是否为慢请求
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private static final int FILTER_CHAIN = Tracer.nameId("FilterChain");
+
+    private static final int ASYNC_DISPATCH = Tracer.nameId("AsyncDispatch");
+
+    /**
+     * 异步请求的跨线程上下文
+     */
+    private static final String CONTEXT_ATTRIBUTE = TracingFilter.class.getName() + ".context";
+
+    private final SlowRequestLog slowRequestLog;
+
+    private final boolean jfrEnabled;
+
+    private final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * @param slowRequestLog 慢请求日志
+     * @param bufferSize     每个线程缓冲区的片段容量
+     * @param jfrEnabled     是否提交JFR事件
+     */
+    public TracingFilter(SlowRequestLog slowRequestLog, int bufferSize, boolean jfrEnabled) {
+        this.slowRequestLog = slowRequestLog;
+        this.jfrEnabled = jfrEnabled;
+        Tracer.setBufferSize(bufferSize);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TraceContext context = (TraceContext) request.getAttribute(CONTEXT_ATTRIBUTE);
+        TraceBuffer buffer = context != null ? Tracer.start(context) : Tracer.start();
+        if (buffer == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            Tracer.begin(SpanKind.FILTER, context != null ? ASYNC_DISPATCH : FILTER_CHAIN);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                Tracer.end();
+            }
+        } finally {
+            long now = System.nanoTime();
+            buffer.stop();
+            if (isAsyncStarted(request)) {
+                TraceContext forked = Tracer.contextOf(buffer);
+                forked.add(buffer.snapshot(now), buffer.dropped());
+                request.setAttribute(CONTEXT_ATTRIBUTE, forked);
+            } else if (slowRequestLog.isSlow(now - buffer.getStartNanos())) {
+                capture(request, response, buffer, now);
+            }
+            Tracer.release(buffer);
+        }
+    }
+
+    /**
+     * 异步结果分派同样追踪，与首次分派合并为一个请求
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void capture(HttpServletRequest request, HttpServletResponse response, TraceBuffer buffer, long now) {
+        TraceContext context = buffer.getContext();
+        List<TraceSpanVO> spans;
+        long dropped;
+        if (context == null) {
+            spans = buffer.snapshot(now);
+            dropped = buffer.dropped();
+        } else {
+            context.add(buffer.snapshot(now), buffer.dropped());
+            spans = context.spans();
+            dropped = context.dropped();
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SlowRequestVO entry = SlowRequestVO.builder()
+                .method(request.getMethod())
+                .uri(request.getRequestURI())
+                .route(route != null ? route.toString() : null)
+                .status(response.getStatus())
+                .elapsedMillis((now - buffer.getStartNanos()) / 1_000_000.0)
+                .thread(Thread.currentThread().getName())
+                .time(new Date())
+                .droppedSpans(dropped)
+                .spans(spans)
+                .build();
+        slowRequestLog.add(entry);
+        if (jfrEnabled) {
+            emitJfrEvents(entry, now - buffer.getStartNanos());
+        }
+    }
+
+    /**
+     * 提交JFR事件，未开启JFR录制时isEnabled为false，不产生开销
+     */
+    private void emitJfrEvents(SlowRequestVO entry, long elapsedNanos) {
+        SlowRequestEvent event = new SlowRequestEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        long requestId = requestIds.incrementAndGet();
+        event.requestId = requestId;
+        event.method = entry.getMethod();
+        event.uri = entry.getUri();
+        event.route = entry.getRoute();
+        event.status = entry.getStatus();
+        event.duration = elapsedNanos;
+        event.droppedSpans = entry.getDroppedSpans();
+        event.commit();
+
+        List<TraceSpanVO> spans = entry.getSpans();
+        for (TraceSpanVO span : spans) {
+            TraceSpanEvent spanEvent = new TraceSpanEvent();
+            spanEvent.requestId = requestId;
+            spanEvent.kind = span.getKind();
+            spanEvent.name = span.getName();
+            spanEvent.depth = span.getDepth();
+            spanEvent.startOffset = (long) (span.getStartMillis() * 1_000_000);
+            spanEvent.duration = (long) (span.getDurationMillis() * 1_000_000);
+            spanEvent.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.blog.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 记录序列化片段的JSON消息转换器
+ * 片段覆盖序列化和写出响应体，序列化期间触发的延迟加载SQL作为其子片段出现
+ */
+public class TracingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private static final int WRITE_JSON = Tracer.nameId("Jackson.writeJson");
+
+    public TracingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Tracer.begin(SpanKind.SERIALIZATION, WRITE_JSON);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            Tracer.end();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.blog.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * 文章月度归档索引
+ * 启动时从数据库加载一次已发布文章的创建月份，之后随文章增删改增量维护，
+ * 归档列表直接读内存，不再对文章表按月分组统计。
+ * 多节点部署时其他节点的修改（包括持有租约的节点执行的定时发布）由每个节点定期按更新时间增量同步
+ */
+@Slf4j
+@Component
+public class ArchiveIndex {
+
+    private static final String LOAD_SQL = "SELECT id, create_time FROM article WHERE status = 1";
+
+    private static final String REFRESH_SQL = "SELECT id, create_time, status FROM article WHERE id IN (%s)";
+
+    private static final String SYNC_SQL = "SELECT id, create_time, status FROM article WHERE update_time >= ?";
+
+    /**
+     * 增量同步的时间回看量，覆盖秒级精度的update_time和节点间的少量时钟偏差
+     */
+    private static final long SYNC_OVERLAP_MILLIS = 2000;
+
+    /**
+     * 月份 -> 该月已发布文章ID，按月份倒序
+     */
+    private final ConcurrentSkipListMap<YearMonth, NavigableSet<Long>> months =
+            new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+    /**
+     * 文章ID -> 所在月份，用于文章改期或撤回时定位旧月份
+     */
+    private final Map<Long, YearMonth> monthByArticle = new ConcurrentHashMap<>();
+
+    private volatile boolean built;
+
+    private volatile long lastSync;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 归档月份的时区，与接口返回的日期时区一致
+     */
+    @Value("${spring.jackson.time-zone:GMT+8}")
+    private String timeZone;
+
+    /**
+     * 启动完成后构建索引
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库重新构建索引
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        months.clear();
+        monthByArticle.clear();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            apply(rs.getLong("id"), rs.getTimestamp("create_time"), 1);
+        });
+        lastSync = start;
+        built = true;
+        log.info("文章归档索引构建完成，共{}个月份，{}篇文章", months.size(), monthByArticle.size());
+    }
+
+    /**
+     * 按更新时间增量同步上次同步之后被修改的文章，每个节点都执行，
+     * 使其他节点上的发布、撤回和改期在同步间隔内反映到本节点的归档。
+     * 物理删除的文章不在同步范围内，由执行删除的节点维护
+     */
+    @Scheduled(fixedDelayString = "${blog.archive.sync-interval:5000}")
+    public synchronized void sync() {
+        if (!built) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query(SYNC_SQL, rs -> {
+            apply(rs.getLong("id"), rs.getTimestamp("create_time"), rs.getInt("status"));
+        }, new Timestamp(lastSync - SYNC_OVERLAP_MILLIS));
+        lastSync = start;
+    }
+
+    /**
+     * 获取各月份的已发布文章数量，按月份倒序
+     *
+     * @return 月份到文章数量的映射
+     */
+    public Map<YearMonth, Integer> getMonthCounts() {
+        ensureBuilt();
+        Map<YearMonth, Integer> counts = new LinkedHashMap<>();
+        months.forEach((month, ids) -> counts.put(month, ids.size()));
+        return counts;
+    }
+
+    /**
+     * 获取某月已发布文章ID
+     *
+     * @param month 月份
+     * @return 文章ID（升序）
+     */
+    public NavigableSet<Long> getArticleIds(YearMonth month) {
+        ensureBuilt();
+        NavigableSet<Long> ids = months.get(month);
+        return ids != null ? Collections.unmodifiableNavigableSet(ids) : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * 在当前事务提交后更新文章的归档位置，无事务时立即更新
+     *
+     * @param articleId  文章ID
+     * @param createTime 创建时间
+     * @param status     状态，只有已发布文章计入归档
+     */
+    public void updateAfterCommit(Long articleId, Date createTime, Integer status) {
+        TransactionHooks.afterCommit(() -> update(articleId, createTime, status));
+    }
+
+    /**
+     * 在当前事务提交后移除文章，无事务时立即移除
+     *
+     * @param articleId 文章ID
+     */
+    public void removeAfterCommit(Long articleId) {
+        TransactionHooks.afterCommit(() -> remove(Collections.singleton(articleId)));
+    }
+
+    /**
+     * 更新文章的归档位置
+     *
+     * @param articleId  文章ID
+     * @param createTime 创建时间
+     * @param status     状态
+     */
+    public synchronized void update(Long articleId, Date createTime, Integer status) {
+        if (built) {
+            apply(articleId, createTime, status);
+        }
+    }
+
+    /**
+     * 移除文章
+     *
+     * @param articleIds 文章ID列表
+     */
+    public synchronized void remove(Collection<Long> articleIds) {
+        if (built) {
+            articleIds.forEach(this::detach);
+        }
+    }
+
+    /**
+     * 按数据库中的当前状态刷新一批文章，用于批量语句执行之后；已不存在的文章从索引中移除
+     *
+     * @param articleIds 文章ID列表
+     */
+    public synchronized void refresh(Collection<Long> articleIds) {
+        if (!built || articleIds.isEmpty()) {
+            return;
+        }
+        String placeholders = articleIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        articleIds.forEach(this::detach);
+        jdbcTemplate.query(String.format(REFRESH_SQL, placeholders), rs -> {
+            apply(rs.getLong("id"), rs.getTimestamp("create_time"), rs.getInt("status"));
+        }, articleIds.toArray());
+    }
+
+    /**
+     * 将日期换算为归档月份
+     *
+     * @param date 日期
+     * @return 月份
+     */
+    public YearMonth toMonth(Date date) {
+        return YearMonth.from(date.toInstant().atZone(zoneId()));
+    }
+
+    /**
+     * 归档月份使用的时区
+     *
+     * @return 时区
+     */
+    public ZoneId zoneId() {
+        return TimeZone.getTimeZone(timeZone).toZoneId();
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    private void apply(Long articleId, Date createTime, Integer status) {
+        detach(articleId);
+        if (createTime == null || status == null || status != 1) {
+            return;
+        }
+        YearMonth month = toMonth(createTime);
+        months.computeIfAbsent(month, key -> new ConcurrentSkipListSet<>()).add(articleId);
+        monthByArticle.put(articleId, month);
+    }
+
+    private void detach(Long articleId) {
+        YearMonth month = monthByArticle.remove(articleId);
+        if (month == null) {
+            return;
+        }
+        months.computeIfPresent(month, (key, ids) -> {
+            ids.remove(articleId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.blog.util;
+
+import com.blog.entity.ArticleBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文章正文编解码器
+ * 开启压缩后，超过阈值的正文以gzip格式（deflate数据加头部和CRC校验）存入content_gzip列，content列置空，
+ * 只在返回正文时解压；gzip头部的魔数即格式标记，压缩数据可直接作为 Content-Encoding: gzip 的响应体返回。
+ * 压缩正文去除HTML标记后的文本另存search_text列，供关键词搜索的LIKE匹配；未压缩的正文直接匹配content列
+ */
+@Component
+public class ArticleContentCodec {
+
+    private static final int GZIP_MAGIC_0 = 0x1f;
+    private static final int GZIP_MAGIC_1 = 0x8b;
+
+    private static final Pattern MARKUP = Pattern.compile("(?:<[^>]*>|\\s)+");
+
+    /**
+     * 是否压缩存储新保存的正文
+     */
+    @Value("${blog.content.compression.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 压缩阈值（UTF-8字节数），小于该值的正文不压缩
+     */
+    @Value("${blog.content.compression.threshold:4096}")
+    private int threshold;
+
+    /**
+     * 按配置编码正文并写入实体：满足压缩条件时只存gzip数据和搜索文本，否则只存明文
+     *
+     * @param body    文章正文实体
+     * @param content 正文明文
+     */
+    public void encode(ArticleBody body, String content) {
+        byte[] gzip = compressIfWorthwhile(content);
+        body.setContent(gzip != null ? null : content);
+        body.setContentGzip(gzip);
+        body.setSearchText(gzip != null ? toSearchText(content) : null);
+    }
+
+    /**
+     * 按配置压缩正文，不满足压缩条件或压缩后不更小时返回null
+     *
+     * @param content 正文明文
+     * @return gzip数据，不压缩时返回null
+     */
+    public byte[] compressIfWorthwhile(String content) {
+        if (!enabled || content == null) {
+            return null;
+        }
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < threshold) {
+            return null;
+        }
+        byte[] compressed = gzip(raw);
+        return compressed.length < raw.length ? compressed : null;
+    }
+
+    /**
+     * 解码正文，压缩存储的正文在此时解压
+     *
+     * @param body 文章正文实体
+     * @return 正文明文
+     */
+    public String decode(ArticleBody body) {
+        return decode(body.getContent(), body.getContentGzip());
+    }
+
+    /**
+     * 解码正文，压缩存储的正文在此时解压
+     *
+     * @param content     content列
+     * @param contentGzip content_gzip列
+     * @return 正文明文
+     */
+    public String decode(String content, byte[] contentGzip) {
+        return contentGzip != null ? gunzip(contentGzip) : content;
+    }
+
+    /**
+     * 判断正文是否压缩存储
+     *
+     * @param body 文章正文实体
+     * @return 是否压缩存储
+     */
+    public boolean isCompressed(ArticleBody body) {
+        return body.getContentGzip() != null;
+    }
+
+    /**
+     * 生成搜索文本：去除HTML标记并合并空白，标签内的属性和样式不参与搜索
+     *
+     * @param content 正文明文
+     * @return 搜索文本
+     */
+    public static String toSearchText(String content) {
+        return MARKUP.matcher(content).replaceAll(" ").trim();
+    }
+
+    /**
+     * gzip压缩
+     *
+     * @param raw 原始数据
+     * @return gzip数据
+     */
+    public static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(raw.length / 3 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * gzip解压为UTF-8文本
+     *
+     * @param compressed gzip数据
+     * @return 文本
+     */
+    public static String gunzip(byte[] compressed) {
+        if (compressed.length < 2 || (compressed[0] & 0xff) != GZIP_MAGIC_0 || (compressed[1] & 0xff) != GZIP_MAGIC_1) {
+            throw new IllegalStateException("正文压缩格式无法识别");
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
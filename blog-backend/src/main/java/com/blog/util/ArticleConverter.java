@@ -0,0 +1,38 @@
+package com.blog.util;
+
+import com.blog.entity.Article;
+import com.blog.vo.ArticleVO;
+
+/**
+ * 文章实体与视图对象转换工具类
+ */
+public final class ArticleConverter {
+
+    private ArticleConverter() {
+    }
+
+    /**
+     * 将文章实体转换为VO
+     *
+     * @param article 文章实体
+     * @param content 文章正文，列表接口为空
+     * @return 文章VO
+     */
+    public static ArticleVO toVO(Article article, String content) {
+        return ArticleVO.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .content(content)
+                .summary(article.getSummary())
+                .thumbnail(article.getThumbnail())
+                .categoryId(article.getCategoryId())
+                .categoryName(article.getCategory() != null ? article.getCategory().getName() : null)
+                .viewCount(article.getViewCount())
+                .tags(article.getTags())
+                .status(article.getStatus())
+                .publishAt(article.getPublishAt())
+                .createTime(article.getCreateTime())
+                .updateTime(article.getUpdateTime())
+                .build();
+    }
+}
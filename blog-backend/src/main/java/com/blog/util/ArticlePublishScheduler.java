@@ -0,0 +1,334 @@
+package com.blog.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章定时发布调度器
+ * 待发布文章（草稿且设置了发布时间）放入内存时间轮，到点直接发布，不再轮询文章表。
+ * 多节点部署时通过数据库租约选出一个节点负责发布：获得租约时从数据库加载全部待发布文章，
+ * 之后每次续约按更新时间增量同步其他节点的修改；失去租约时清空时间轮。
+ * 只有发布（状态变更）由持有租约的节点执行，各节点的归档索引由ArchiveIndex自行增量同步
+ */
+@Slf4j
+@Component
+public class ArticlePublishScheduler {
+
+    /**
+     * 租约名称
+     */
+    public static final String LEASE_NAME = "article-publish";
+
+    private static final String LOAD_SQL = "SELECT id, publish_at FROM article WHERE status = 0 AND publish_at IS NOT NULL";
+
+    private static final String SYNC_SQL = "SELECT id, status, publish_at FROM article WHERE update_time >= ?";
+
+    private static final String PUBLISH_SQL = "UPDATE article SET status = 1, create_time = publish_at, publish_at = NULL, "
+            + "update_time = ? WHERE id = ? AND status = 0 AND publish_at <= ?";
+
+    /**
+     * 增量同步的时间回看量，覆盖秒级精度的update_time和节点间的少量时钟偏差
+     */
+    private static final long SYNC_OVERLAP_MILLIS = 2000;
+
+    /**
+     * 发布失败后的重试间隔
+     */
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchiveIndex archiveIndex;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    /**
+     * 判断文章是否到期所用的时钟，未配置Clock时使用系统时钟
+     */
+    @Autowired(required = false)
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 时间轮每格时长（毫秒），即发布时间的最大误差
+     */
+    @Value("${blog.publish.tick-duration:100}")
+    private long tickDuration;
+
+    /**
+     * 时间轮槽数量
+     */
+    @Value("${blog.publish.wheel-size:512}")
+    private int wheelSize;
+
+    /**
+     * 租约时长（毫秒），应大于续约间隔的两倍
+     */
+    @Value("${blog.publish.lease-ttl:15000}")
+    private long leaseTtl;
+
+    /**
+     * 文章ID -> 已放入时间轮的发布任务
+     */
+    private final Map<Long, PublishTask> tasks = new ConcurrentHashMap<>();
+
+    private HashedWheelTimer timer;
+
+    private DatabaseLease lease;
+
+    private volatile long lastSync;
+
+    @PostConstruct
+    public void init() {
+        timer = new HashedWheelTimer("article-publish-timer", tickDuration, TimeUnit.MILLISECONDS, wheelSize, taskExecutor);
+        lease = new DatabaseLease(jdbcTemplate, LEASE_NAME, nodeId(), leaseTtl);
+    }
+
+    /**
+     * 启动完成后立即竞争租约，获得租约则加载待发布文章
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        renewLease();
+    }
+
+    /**
+     * 定期续约：新获得租约时全量加载，持续持有时增量同步并补发已到期的文章，失去租约时清空时间轮
+     */
+    @Scheduled(fixedDelayString = "${blog.publish.lease-renew-interval:5000}")
+    public synchronized void renewLease() {
+        boolean wasHeld = lease.isHeld();
+        boolean held;
+        try {
+            held = lease.tryAcquire();
+        } catch (DataAccessException e) {
+            log.warn("续约定时发布租约失败：{}", e.getMessage());
+            held = false;
+        }
+        if (!held) {
+            if (!tasks.isEmpty()) {
+                log.info("定时发布租约已由其他节点持有，清空本节点{}个发布任务", tasks.size());
+                clear();
+            }
+            return;
+        }
+        if (wasHeld) {
+            sync();
+            publishDue();
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * 立即发布已到期但时间轮尚未触发的文章，补发时钟调整或时间轮积压造成的延迟；本节点未持有租约时忽略
+     */
+    public void publishDue() {
+        if (!lease.isHeld()) {
+            return;
+        }
+        long now = clock.millis();
+        for (PublishTask task : tasks.values()) {
+            if (task.publishAt <= now) {
+                HashedWheelTimer.Timeout timeout = task.timeout;
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+                publish(task);
+            }
+        }
+    }
+
+    /**
+     * 在当前事务提交后更新文章的发布任务，发布时间为空时取消
+     *
+     * @param articleId 文章ID
+     * @param publishAt 发布时间
+     */
+    public void scheduleAfterCommit(Long articleId, Date publishAt) {
+        TransactionHooks.afterCommit(() -> {
+            if (publishAt != null) {
+                schedule(articleId, publishAt);
+            } else {
+                cancel(List.of(articleId));
+            }
+        });
+    }
+
+    /**
+     * 添加或改期发布任务；本节点未持有租约时忽略，由持有租约的节点同步
+     *
+     * @param articleId 文章ID
+     * @param publishAt 发布时间
+     */
+    public void schedule(Long articleId, Date publishAt) {
+        if (!lease.isHeld()) {
+            return;
+        }
+        PublishTask task = new PublishTask(articleId, publishAt.getTime());
+        PublishTask previous = tasks.put(articleId, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        long delay = publishAt.getTime() - clock.millis();
+        task.timeout = timer.newTimeout(() -> publish(task), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 取消发布任务
+     *
+     * @param articleIds 文章ID列表
+     */
+    public void cancel(Collection<Long> articleIds) {
+        for (Long articleId : articleIds) {
+            PublishTask task = tasks.remove(articleId);
+            if (task != null) {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * 获取本节点时间轮中的发布任务数
+     *
+     * @return 发布任务数
+     */
+    public int getScheduledCount() {
+        return tasks.size();
+    }
+
+    /**
+     * 本节点是否负责定时发布
+     *
+     * @return 是否持有租约
+     */
+    public boolean isLeader() {
+        return lease.isHeld();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.close();
+        try {
+            lease.release();
+        } catch (DataAccessException e) {
+            log.warn("释放定时发布租约失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库全量加载待发布文章
+     */
+    private void reload() {
+        long start = System.currentTimeMillis();
+        clear();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            schedule(rs.getLong("id"), rs.getTimestamp("publish_at"));
+        });
+        lastSync = start;
+        log.info("获得定时发布租约（{}），加载{}个待发布文章", lease.getOwner(), tasks.size());
+    }
+
+    /**
+     * 增量同步上次同步之后被修改的文章（含其他节点的修改）
+     */
+    private void sync() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query(SYNC_SQL, rs -> {
+            long articleId = rs.getLong("id");
+            Timestamp publishAt = rs.getTimestamp("publish_at");
+            if (rs.getInt("status") == 0 && publishAt != null) {
+                PublishTask task = tasks.get(articleId);
+                if (task == null || task.publishAt != publishAt.getTime()) {
+                    schedule(articleId, publishAt);
+                }
+            } else {
+                cancel(List.of(articleId));
+            }
+        }, new Timestamp(lastSync - SYNC_OVERLAP_MILLIS));
+        lastSync = start;
+    }
+
+    /**
+     * 发布文章：只有持有租约的节点执行，条件更新保证改期、撤销或已发布的文章不会被重复发布；
+     * 时间轮与补发同时触发同一任务时只有先从任务表移除的一方执行
+     */
+    private void publish(PublishTask task) {
+        if (!tasks.remove(task.articleId, task) || task.cancelled) {
+            return;
+        }
+        if (!lease.isHeld()) {
+            log.info("本节点已不持有定时发布租约，跳过文章{}", task.articleId);
+            return;
+        }
+        long now = clock.millis();
+        try {
+            int updated = jdbcTemplate.update(PUBLISH_SQL, new Timestamp(now), task.articleId, new Timestamp(now));
+            if (updated == 1) {
+                archiveIndex.refresh(List.of(task.articleId));
+                log.info("定时发布文章{}，计划时间{}，延迟{}ms", task.articleId, new Date(task.publishAt), now - task.publishAt);
+            }
+        } catch (DataAccessException e) {
+            log.error("定时发布文章{}失败，{}ms后重试", task.articleId, RETRY_DELAY_MILLIS, e);
+            schedule(task.articleId, new Date(now + RETRY_DELAY_MILLIS));
+        }
+    }
+
+    private void clear() {
+        tasks.values().forEach(PublishTask::cancel);
+        tasks.clear();
+    }
+
+    private static String nodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 发布任务
+     */
+    private static class PublishTask {
+
+        private final Long articleId;
+        private final long publishAt;
+        private volatile HashedWheelTimer.Timeout timeout;
+        private volatile boolean cancelled;
+
+        PublishTask(Long articleId, long publishAt) {
+            this.articleId = articleId;
+            this.publishAt = publishAt;
+        }
+
+        void cancel() {
+            cancelled = true;
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
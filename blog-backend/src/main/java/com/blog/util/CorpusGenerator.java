@@ -0,0 +1,516 @@
+package com.blog.util;
+
+import com.blog.entity.Category;
+import com.blog.repository.CategoryRepository;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 合成文章语料生成器
+ * 按固定种子生成与线上数据形态相近的分类和文章：正文为2~50KB的中英文混排Markdown（含代码块），
+ * 浏览量按Zipf分布，分类大小和标签使用频率呈长尾分布，少量草稿和定时发布文章。
+ * 第i篇文章的全部内容只由(种子, i)决定，与批大小和并行度无关，多线程分批JDBC写入。
+ * 生成的文章追加在现有数据之后，分类按名称复用，同一种子可在空库上重复得到相同数据
+ * （定时发布文章的发布时间相对于生成时刻，除此之外完全确定）。
+ * 分类在二级缓存中，应用运行时通过CategoryRepository创建缺少的分类；
+ * 只在应用启动前向空库预置数据时（没有缓存）才直接用JDBC写分类
+ */
+@Slf4j
+public class CorpusGenerator {
+
+    private static final String ARTICLE_SQL = "INSERT INTO article (id, title, summary, category_id, view_count, tags, "
+            + "status, publish_at, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String BODY_SQL = "INSERT INTO article_body (article_id, content) VALUES (?, ?)";
+
+    private static final String CATEGORY_SQL = "INSERT INTO category (name, description, sort, status, create_time, "
+            + "update_time) VALUES (?, ?, ?, 1, ?, ?)";
+
+    private static final String[] CATEGORY_NAMES = {
+            "后端开发", "前端工程", "数据库", "架构设计", "运维部署", "性能优化", "算法笔记", "工具效率",
+            "游记", "书评", "摄影", "影评", "日常", "跑步", "咖啡", "音乐"
+    };
+
+    private static final String[] TAG_TERMS = {
+            "Java", "Spring", "SpringBoot", "Vue", "MySQL", "Redis", "Kafka", "Docker", "Kubernetes", "Nginx",
+            "Linux", "JVM", "Git", "Maven", "TypeScript", "Go", "Python", "Elasticsearch", "Netty", "gRPC",
+            "缓存", "索引", "并发", "微服务", "分布式", "监控", "日志", "安全", "算法", "网络",
+            "旅行", "读书", "摄影", "电影", "跑步", "咖啡", "城市", "音乐", "生活", "随笔"
+    };
+
+    private static final String[] TAG_SUFFIXES = {
+            "", "实践", "原理", "调优", "入门", "踩坑", "源码", "笔记", "面试", "实战", "进阶", "总结"
+    };
+
+    private static final int STATUS_DRAFT = 0;
+
+    private static final int STATUS_PUBLISHED = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CategoryRepository categoryRepository;
+
+    private final Options options;
+
+    /**
+     * 用于应用启动前预置数据，分类直接用JDBC写入
+     *
+     * @param jdbcTemplate JDBC模板
+     * @param options      生成参数
+     */
+    public CorpusGenerator(JdbcTemplate jdbcTemplate, Options options) {
+        this(jdbcTemplate, null, options);
+    }
+
+    /**
+     * 用于运行中的应用，分类通过Repository写入，保持二级缓存和查询缓存一致
+     *
+     * @param jdbcTemplate       JDBC模板
+     * @param categoryRepository 分类数据访问接口，为空时直接用JDBC写入
+     * @param options            生成参数
+     */
+    public CorpusGenerator(JdbcTemplate jdbcTemplate, CategoryRepository categoryRepository, Options options) {
+        if (options.getArticles() < 0 || options.getCategories() <= 0 || options.getTags() <= 0
+                || options.getBatchSize() <= 0 || options.getParallelism() <= 0
+                || options.getMinBodyBytes() <= 0 || options.getMaxBodyBytes() < options.getMinBodyBytes()) {
+            throw new IllegalArgumentException("语料生成参数不合法：" + options);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.options = options;
+    }
+
+    /**
+     * 生成并写入语料
+     *
+     * @return 生成结果
+     */
+    public Summary generate() {
+        long start = System.nanoTime();
+        long[] categoryIds = ensureCategories();
+        long firstId = nextArticleId();
+        ArticleFactory factory = new ArticleFactory(options, categoryIds, firstId);
+
+        long articles = options.getArticles();
+        int batchSize = options.getBatchSize();
+        AtomicLong written = new AtomicLong();
+        AtomicLong bodyBytes = new AtomicLong();
+        long progressStep = Math.max(articles / 20, batchSize);
+        ExecutorService executor = Executors.newFixedThreadPool(options.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "corpus-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = 0; from < articles; from += batchSize) {
+                long batchFrom = from;
+                long batchTo = Math.min(from + batchSize, articles);
+                futures.add(executor.submit(() -> {
+                    bodyBytes.addAndGet(writeBatch(factory, batchFrom, batchTo));
+                    long total = written.addAndGet(batchTo - batchFrom);
+                    if (total / progressStep != (total - (batchTo - batchFrom)) / progressStep) {
+                        log.info("语料生成进度：{}/{}", total, articles);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("语料生成被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("语料生成失败", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        advanceArticleSequence(firstId + articles);
+
+        Summary summary = new Summary();
+        summary.setFirstArticleId(firstId);
+        summary.setArticles(articles);
+        summary.setCategories(categoryIds.length);
+        summary.setBodyBytes(bodyBytes.get());
+        summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("语料生成完成：{}", summary);
+        return summary;
+    }
+
+    /**
+     * 生成第ordinal篇文章（不写库），用于测试和预览；文章ID从1开始，分类ID为1~categories
+     *
+     * @param ordinal 序号，从0开始
+     * @return 文章行
+     */
+    public ArticleRow preview(long ordinal) {
+        long[] categoryIds = new long[options.getCategories()];
+        for (int i = 0; i < categoryIds.length; i++) {
+            categoryIds[i] = i + 1;
+        }
+        return new ArticleFactory(options, categoryIds, 1).create(ordinal);
+    }
+
+    private long writeBatch(ArticleFactory factory, long from, long to) {
+        List<Object[]> articles = new ArrayList<>((int) (to - from));
+        List<Object[]> bodies = new ArrayList<>((int) (to - from));
+        long bytes = 0;
+        for (long ordinal = from; ordinal < to; ordinal++) {
+            ArticleRow row = factory.create(ordinal);
+            articles.add(new Object[]{row.getId(), row.getTitle(), row.getSummary(), row.getCategoryId(),
+                    row.getViewCount(), row.getTags(), row.getStatus(), row.getPublishAt(),
+                    row.getCreateTime(), row.getUpdateTime()});
+            bodies.add(new Object[]{row.getId(), row.getContent()});
+            bytes += row.getContentBytes();
+        }
+        jdbcTemplate.batchUpdate(ARTICLE_SQL, articles);
+        jdbcTemplate.batchUpdate(BODY_SQL, bodies);
+        return bytes;
+    }
+
+    /**
+     * 创建缺少的分类，已存在的同名分类直接复用
+     *
+     * @return 按规模排名的分类ID，第一个分类的文章最多
+     */
+    private long[] ensureCategories() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<String> names = new ArrayList<>(options.getCategories());
+        for (int i = 0; i < options.getCategories(); i++) {
+            String base = CATEGORY_NAMES[i % CATEGORY_NAMES.length];
+            names.add(i < CATEGORY_NAMES.length ? base : base + (i / CATEGORY_NAMES.length + 1));
+        }
+        Map<String, Long> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM category", rs -> {
+            existing.put(rs.getString("name"), rs.getLong("id"));
+        });
+        if (categoryRepository != null) {
+            List<Category> missing = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                if (!existing.containsKey(names.get(i))) {
+                    Category category = new Category();
+                    category.setName(names.get(i));
+                    category.setDescription("合成语料分类");
+                    category.setSort(100 + i);
+                    category.setStatus(1);
+                    missing.add(category);
+                }
+            }
+            categoryRepository.saveAll(missing).forEach(category -> existing.put(category.getName(), category.getId()));
+            return names.stream().mapToLong(existing::get).toArray();
+        }
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (!existing.containsKey(names.get(i))) {
+                missing.add(new Object[]{names.get(i), "合成语料分类", 100 + i, now, now});
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(CATEGORY_SQL, missing);
+            jdbcTemplate.query("SELECT id, name FROM category", rs -> {
+                existing.put(rs.getString("name"), rs.getLong("id"));
+            });
+        }
+        return names.stream().mapToLong(existing::get).toArray();
+    }
+
+    /**
+     * 下一个可用的文章ID：取现有最大ID和文章主键号段中的较大者，避免与已分配未写入的ID冲突
+     */
+    private long nextArticleId() {
+        long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM article", Long.class) + 1;
+        try {
+            Long seq = jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM article_seq", Long.class);
+            if (seq != null) {
+                next = Math.max(next, seq);
+            }
+        } catch (DataAccessException e) {
+            // 使用原生序列的数据库不存在article_seq表
+            log.debug("读取文章主键号段失败：{}", e.getMessage());
+        }
+        return next;
+    }
+
+    private void advanceArticleSequence(long nextId) {
+        try {
+            jdbcTemplate.update("UPDATE article_seq SET next_val = ? WHERE next_val < ?", nextId, nextId);
+        } catch (DataAccessException e) {
+            log.debug("更新文章主键号段失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按序号生成文章，线程安全
+     */
+    private static class ArticleFactory {
+
+        private final Options options;
+        private final long[] categoryIds;
+        private final long firstId;
+        private final ZipfSampler categorySampler;
+        private final ZipfSampler tagSampler;
+        private final String[] tagNames;
+        private final long rankMultiplier;
+        private final long createStep;
+        private final long now = System.currentTimeMillis();
+
+        ArticleFactory(Options options, long[] categoryIds, long firstId) {
+            this.options = options;
+            this.categoryIds = categoryIds;
+            this.firstId = firstId;
+            this.categorySampler = new ZipfSampler(categoryIds.length, options.getCategorySkew());
+            this.tagSampler = new ZipfSampler(options.getTags(), options.getTagSkew());
+            this.tagNames = new String[options.getTags()];
+            for (int i = 0; i < tagNames.length; i++) {
+                tagNames[i] = tagName(i);
+            }
+            this.rankMultiplier = coprimeMultiplier(Math.max(options.getArticles(), 1));
+            this.createStep = Math.max(TimeUnit.DAYS.toMillis(options.getSpanDays()) / Math.max(options.getArticles(), 1), 1);
+        }
+
+        ArticleRow create(long ordinal) {
+            SplittableRandom random = new SplittableRandom(options.getSeed() * 0x9E3779B97F4A7C15L + ordinal);
+            ArticleRow row = new ArticleRow();
+            row.setId(firstId + ordinal);
+            row.setTitle(CorpusText.title(random));
+            row.setSummary(CorpusText.summary(random));
+            row.setCategoryId(categoryIds[categorySampler.sample(random)]);
+            row.setTags(tags(random));
+            row.setViewCount(viewCount(ordinal));
+
+            // 创建时间随序号递增并带少量抖动，覆盖spanDays天
+            long createTime = options.getStartTime() + ordinal * createStep + random.nextLong(createStep);
+            row.setCreateTime(new Timestamp(createTime));
+            row.setUpdateTime(new Timestamp(createTime + random.nextLong(TimeUnit.DAYS.toMillis(30))));
+            double status = random.nextDouble();
+            if (status < options.getScheduledRatio()) {
+                row.setStatus(STATUS_DRAFT);
+                row.setPublishAt(new Timestamp(now + TimeUnit.DAYS.toMillis(30 + random.nextInt(335))));
+            } else if (status < options.getScheduledRatio() + options.getDraftRatio()) {
+                row.setStatus(STATUS_DRAFT);
+            } else {
+                row.setStatus(STATUS_PUBLISHED);
+            }
+
+            // 正文长度在[min, max]上按对数均匀分布，短文多、长文少
+            double logMin = Math.log(options.getMinBodyBytes());
+            double logMax = Math.log(options.getMaxBodyBytes());
+            int targetBytes = (int) Math.exp(logMin + random.nextDouble() * (logMax - logMin));
+            row.setContent(CorpusText.body(random, targetBytes));
+            row.setContentBytes(CorpusText.utf8Length(row.getContent()));
+            return row;
+        }
+
+        /**
+         * 浏览量按Zipf分布：热度排名为r的文章浏览量为maxViews / r^viewSkew。
+         * 排名由序号经乘法置换得到，与发布时间无关
+         */
+        private int viewCount(long ordinal) {
+            long articles = Math.max(options.getArticles(), 1);
+            long rank = Math.floorMod(ordinal * rankMultiplier, articles) + 1;
+            return (int) (options.getMaxViews() / Math.pow(rank, options.getViewSkew()));
+        }
+
+        private String tags(SplittableRandom random) {
+            int count = 1 + random.nextInt(Math.min(5, tagNames.length));
+            Set<String> tags = new LinkedHashSet<>();
+            for (int i = 0; i < count * 3 && tags.size() < count; i++) {
+                tags.add(tagNames[tagSampler.sample(random)]);
+            }
+            String joined = String.join(",", tags);
+            return joined.length() <= 500 ? joined : joined.substring(0, joined.lastIndexOf(',', 500));
+        }
+
+        /**
+         * 第i个标签：前面是常用技术和生活词，之后是词与后缀的组合，再往后加序号，形成长尾
+         */
+        private static String tagName(int index) {
+            int combinations = TAG_TERMS.length * TAG_SUFFIXES.length;
+            String name = TAG_TERMS[index % TAG_TERMS.length] + TAG_SUFFIXES[index / TAG_TERMS.length % TAG_SUFFIXES.length];
+            return index < combinations ? name : name + (index / combinations + 1);
+        }
+
+        /**
+         * 选一个与n互素的大乘数，使 i * m mod n 是[0, n)上的置换
+         */
+        private static long coprimeMultiplier(long n) {
+            long multiplier = 2654435761L % n;
+            while (multiplier <= 1 && n > 2 || gcd(multiplier, n) != 1) {
+                multiplier++;
+            }
+            return multiplier;
+        }
+
+        private static long gcd(long a, long b) {
+            while (b != 0) {
+                long t = a % b;
+                a = b;
+                b = t;
+            }
+            return a;
+        }
+    }
+
+    /**
+     * 有限集合上的Zipf分布采样：第k名（从0开始）的概率正比于 1 / (k + 1)^skew
+     */
+    static class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double skew) {
+            cumulative = new double[size];
+            double sum = 0;
+            for (int k = 0; k < size; k++) {
+                sum += 1 / Math.pow(k + 1, skew);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    /**
+     * 生成参数
+     */
+    @Data
+    public static class Options {
+
+        /**
+         * 随机种子
+         */
+        private long seed = 42;
+
+        /**
+         * 文章数量
+         */
+        private long articles = 10000;
+
+        /**
+         * 分类数量
+         */
+        private int categories = 24;
+
+        /**
+         * 标签词表大小
+         */
+        private int tags = 2000;
+
+        /**
+         * 分类规模的Zipf指数，越大越集中在少数分类
+         */
+        private double categorySkew = 1.0;
+
+        /**
+         * 标签使用频率的Zipf指数
+         */
+        private double tagSkew = 1.1;
+
+        /**
+         * 浏览量的Zipf指数
+         */
+        private double viewSkew = 1.0;
+
+        /**
+         * 最热文章的浏览量
+         */
+        private int maxViews = 1000000;
+
+        /**
+         * 正文最小字节数（UTF-8）
+         */
+        private int minBodyBytes = 2 * 1024;
+
+        /**
+         * 正文最大字节数（UTF-8）
+         */
+        private int maxBodyBytes = 50 * 1024;
+
+        /**
+         * 草稿比例
+         */
+        private double draftRatio = 0.04;
+
+        /**
+         * 定时发布（草稿且发布时间在未来）比例
+         */
+        private double scheduledRatio = 0.01;
+
+        /**
+         * 第一篇文章的创建时间（毫秒），默认2018-01-01
+         */
+        private long startTime = 1514736000000L;
+
+        /**
+         * 创建时间跨越的天数
+         */
+        private int spanDays = 2000;
+
+        /**
+         * 每批写入的文章数量
+         */
+        private int batchSize = 500;
+
+        /**
+         * 写入线程数，不应超过连接池大小
+         */
+        private int parallelism = 4;
+    }
+
+    /**
+     * 一篇生成的文章
+     */
+    @Data
+    public static class ArticleRow {
+
+        private long id;
+        private String title;
+        private String summary;
+        private long categoryId;
+        private int viewCount;
+        private String tags;
+        private int status;
+        private Timestamp publishAt;
+        private Timestamp createTime;
+        private Timestamp updateTime;
+        private String content;
+        private int contentBytes;
+    }
+
+    /**
+     * 生成结果
+     */
+    @Data
+    public static class Summary {
+
+        private long firstArticleId;
+        private long articles;
+        private int categories;
+        private long bodyBytes;
+        private long elapsedMillis;
+    }
+}
@@ -0,0 +1,244 @@
+package com.blog.util;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 合成语料文本
+ * 用固定词表生成中英文混排的标题、摘要和Markdown正文（标题、段落、列表、代码块），
+ * 输出只取决于传入的随机数发生器，相同种子生成完全相同的文本
+ */
+public final class CorpusText {
+
+    /**
+     * 中文词表，标题和正文以这些词为主，搜索压测也从中取关键词
+     */
+    static final String[] CHINESE_WORDS = {
+            "性能", "缓存", "数据库", "索引", "并发", "线程", "微服务", "架构", "部署", "容器",
+            "监控", "日志", "安全", "算法", "网络", "设计", "前端", "后端", "接口", "测试",
+            "分布式", "事务", "消息队列", "限流", "熔断", "序列化", "内存", "垃圾回收", "延迟", "吞吐量",
+            "读写分离", "分页", "搜索", "权限", "认证", "配置", "发布", "回滚", "压测", "调优",
+            "旅行", "读书", "生活", "摄影", "随笔", "咖啡", "城市", "音乐", "电影", "跑步",
+            "周末", "清晨", "山路", "海边", "老街", "笔记", "思考", "习惯", "时间", "记忆"
+    };
+
+    /**
+     * 英文词表，技术术语和普通英文单词混合
+     */
+    static final String[] ENGLISH_WORDS = {
+            "Spring", "Java", "Vue", "MySQL", "Redis", "Kafka", "Docker", "Kubernetes", "Nginx", "Linux",
+            "JVM", "JDBC", "HTTP", "REST", "JSON", "cache", "index", "query", "thread", "pool",
+            "latency", "throughput", "request", "response", "service", "client", "server", "batch", "stream", "buffer",
+            "the", "a", "of", "to", "and", "in", "is", "for", "with", "on",
+            "we", "this", "that", "it", "can", "when", "how", "why", "not", "more"
+    };
+
+    private static final String[] CODE_LANGUAGES = {"java", "sql", "javascript", "bash", "yaml"};
+
+    private static final String[][] CODE_TEMPLATES = {
+            {
+                    "public class %sService {",
+                    "    private final Map<Long, %s> cache = new ConcurrentHashMap<>();",
+                    "",
+                    "    public %s find(Long id) {",
+                    "        return cache.computeIfAbsent(id, repository::findById);",
+                    "    }",
+                    "}"
+            },
+            {
+                    "SELECT id, title, view_count",
+                    "FROM %s",
+                    "WHERE status = 1 AND category_id = ?",
+                    "ORDER BY create_time DESC",
+                    "LIMIT 10 OFFSET %d;"
+            },
+            {
+                    "export async function fetch%s(page = 1) {",
+                    "  const res = await axios.get('/api/%s', { params: { page, size: %d } })",
+                    "  return res.data.data",
+                    "}"
+            },
+            {
+                    "#!/usr/bin/env bash",
+                    "set -euo pipefail",
+                    "docker build -t %s:latest .",
+                    "docker run -d --name %s -p %d:8080 %s:latest"
+            },
+            {
+                    "spring:",
+                    "  application:",
+                    "    name: %s",
+                    "server:",
+                    "  port: %d"
+            }
+    };
+
+    private static final String[] CHINESE_PUNCTUATION = {"，", "，", "、", "："};
+
+    private CorpusText() {
+    }
+
+    /**
+     * 获取关键词表，生成的标题和正文高频出现这些词
+     *
+     * @return 关键词列表
+     */
+    public static List<String> keywords() {
+        return List.of(CHINESE_WORDS);
+    }
+
+    /**
+     * 生成标题：若干中文词，约一半带一个英文术语
+     *
+     * @param random 随机数发生器
+     * @return 标题，不超过100个字符
+     */
+    public static String title(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder(48);
+        if (random.nextInt(2) == 0) {
+            builder.append(ENGLISH_WORDS[random.nextInt(20)]).append(' ');
+        }
+        int words = 2 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            builder.append(CHINESE_WORDS[random.nextInt(CHINESE_WORDS.length)]);
+        }
+        return truncate(builder.toString(), 100);
+    }
+
+    /**
+     * 生成摘要
+     *
+     * @param random 随机数发生器
+     * @return 摘要，不超过120个字符
+     */
+    public static String summary(SplittableRandom random) {
+        return truncate(chineseSentence(random), 120);
+    }
+
+    /**
+     * 生成Markdown正文，UTF-8编码后的长度不小于目标字节数（最多超出一个段落）
+     *
+     * @param random      随机数发生器
+     * @param targetBytes 目标字节数
+     * @return 正文
+     */
+    public static String body(SplittableRandom random, int targetBytes) {
+        StringBuilder builder = new StringBuilder(targetBytes / 2);
+        int bytes = 0;
+        int section = 0;
+        while (bytes < targetBytes) {
+            String block;
+            int kind = random.nextInt(20);
+            if (builder.length() == 0 || kind < 2) {
+                block = "## " + (++section) + ". " + title(random) + "\n\n";
+            } else if (kind < 4) {
+                block = codeBlock(random);
+            } else if (kind < 5) {
+                block = list(random);
+            } else if (kind < 8) {
+                block = englishParagraph(random);
+            } else {
+                block = chineseParagraph(random);
+            }
+            builder.append(block);
+            bytes += utf8Length(block);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 计算字符串UTF-8编码后的字节数，不做实际编码
+     *
+     * @param text 字符串
+     * @return 字节数
+     */
+    public static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static String chineseParagraph(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder(256);
+        int sentences = 2 + random.nextInt(5);
+        for (int i = 0; i < sentences; i++) {
+            builder.append(chineseSentence(random)).append('。');
+        }
+        return builder.append("\n\n").toString();
+    }
+
+    /**
+     * 中文句子，夹杂少量英文术语
+     */
+    private static String chineseSentence(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder(64);
+        int words = 8 + random.nextInt(12);
+        for (int i = 0; i < words; i++) {
+            if (random.nextInt(8) == 0) {
+                builder.append(' ').append(ENGLISH_WORDS[random.nextInt(30)]).append(' ');
+            } else {
+                builder.append(CHINESE_WORDS[random.nextInt(CHINESE_WORDS.length)]);
+            }
+            if (i > 0 && i < words - 1 && random.nextInt(6) == 0) {
+                builder.append(CHINESE_PUNCTUATION[random.nextInt(CHINESE_PUNCTUATION.length)]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String englishParagraph(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder(256);
+        int sentences = 2 + random.nextInt(4);
+        for (int i = 0; i < sentences; i++) {
+            int words = 6 + random.nextInt(12);
+            for (int j = 0; j < words; j++) {
+                String word = ENGLISH_WORDS[random.nextInt(ENGLISH_WORDS.length)];
+                if (j == 0) {
+                    builder.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                } else {
+                    builder.append(' ').append(word);
+                }
+            }
+            builder.append(". ");
+        }
+        return builder.append("\n\n").toString();
+    }
+
+    private static String list(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder(128);
+        int items = 3 + random.nextInt(4);
+        for (int i = 0; i < items; i++) {
+            builder.append("- ").append(truncate(chineseSentence(random), 40)).append('\n');
+        }
+        return builder.append('\n').toString();
+    }
+
+    private static String codeBlock(SplittableRandom random) {
+        int index = random.nextInt(CODE_TEMPLATES.length);
+        String name = ENGLISH_WORDS[random.nextInt(20)];
+        String type = Character.toUpperCase(name.charAt(0)) + name.substring(1).toLowerCase();
+        StringBuilder builder = new StringBuilder(256);
+        builder.append("```").append(CODE_LANGUAGES[index]).append('\n');
+        for (String line : CODE_TEMPLATES[index]) {
+            builder.append(line.replace("%s", type).replace("%d", String.valueOf(random.nextInt(10000))))
+                    .append('\n');
+        }
+        return builder.append("```\n\n").toString();
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+}
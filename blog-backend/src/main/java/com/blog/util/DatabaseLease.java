@@ -0,0 +1,94 @@
+package com.blog.util;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+/**
+ * 基于数据库的租约
+ * 多个节点竞争scheduler_lease表中的同一行，只有持有未过期租约的节点执行任务；
+ * 持有者需在租约过期前续约，节点宕机后租约过期，由其他节点接管。
+ * 过期判断使用各节点本地时钟，要求节点间时钟偏差远小于租约时长
+ */
+public class DatabaseLease {
+
+    private static final String RENEW_SQL = "UPDATE scheduler_lease SET owner = ?, expires_at = ? "
+            + "WHERE name = ? AND (owner = ? OR expires_at < ?)";
+
+    private static final String INSERT_SQL = "INSERT INTO scheduler_lease (name, owner, expires_at) VALUES (?, ?, ?)";
+
+    private static final String RELEASE_SQL = "UPDATE scheduler_lease SET expires_at = ? WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String name;
+    private final String owner;
+    private final long ttlMillis;
+
+    /**
+     * 本节点持有的租约到期时间，未持有时为0
+     */
+    private volatile long heldUntil;
+
+    /**
+     * @param jdbcTemplate JDBC模板
+     * @param name         租约名称
+     * @param owner        本节点标识
+     * @param ttlMillis    租约时长（毫秒）
+     */
+    public DatabaseLease(JdbcTemplate jdbcTemplate, String name, String owner, long ttlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.name = name;
+        this.owner = owner;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 获取或续约租约
+     *
+     * @return 本节点当前是否持有租约
+     */
+    public boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        Timestamp expiresAt = new Timestamp(now + ttlMillis);
+        boolean acquired = jdbcTemplate.update(RENEW_SQL, owner, expiresAt, name, owner, new Timestamp(now)) == 1;
+        if (!acquired) {
+            try {
+                acquired = jdbcTemplate.update(INSERT_SQL, name, owner, expiresAt) == 1;
+            } catch (DuplicateKeyException e) {
+                // 租约由其他节点持有且未过期
+                acquired = false;
+            }
+        }
+        heldUntil = acquired ? expiresAt.getTime() : 0;
+        return acquired;
+    }
+
+    /**
+     * 本节点是否持有未过期的租约（只检查本地记录，不访问数据库）
+     *
+     * @return 是否持有租约
+     */
+    public boolean isHeld() {
+        return System.currentTimeMillis() < heldUntil;
+    }
+
+    /**
+     * 主动释放租约，其他节点可立即接管
+     */
+    public void release() {
+        if (heldUntil > 0) {
+            heldUntil = 0;
+            jdbcTemplate.update(RELEASE_SQL, new Timestamp(0), name, owner);
+        }
+    }
+
+    /**
+     * 获取本节点标识
+     *
+     * @return 本节点标识
+     */
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,134 @@
+package com.blog.util;
+
+import com.blog.common.Result;
+import com.blog.common.ResultCode;
+import com.blog.exception.BlogException;
+import com.blog.trace.TraceContext;
+import com.blog.trace.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 带截止时间的异步执行工具类
+ * 在有界执行器上执行只读查询，到达截止时间时返回降级结果而不是一直阻塞。
+ * 中断执行器线程不能终止正在执行的MySQL语句，查询本身由JDBC语句超时限制：剩余时间向下取整为秒作为事务超时，
+ * 使语句超时不晚于截止时间；剩余不足1秒时不再执行查询，直接返回降级结果。
+ * 截止时间到达或客户端断开时取消尚未开始执行的任务，并中断等待连接许可等可中断的阻塞。
+ * 任务在执行器线程上的片段并入提交请求的追踪，慢请求日志中包含执行器上的查询
+ */
+@Slf4j
+@Component
+public class DeadlineExecutor {
+
+    private static final int RUN = Tracer.nameId("DeadlineExecutor.run");
+
+    @Autowired
+    @Qualifier("searchExecutor")
+    private AsyncTaskExecutor searchExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 默认截止时间（毫秒）
+     */
+    @Value("${blog.search.timeout:3000}")
+    private long timeoutMillis;
+
+    /**
+     * 异步执行只读任务
+     *
+     * @param task     任务
+     * @param fallback 超过截止时间时返回的降级结果
+     * @param <T>      结果类型
+     * @return 异步结果
+     */
+    public <T> DeferredResult<Result<T>> submit(Supplier<T> task, Supplier<Result<T>> fallback) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        DeferredResult<Result<T>> deferredResult = new DeferredResult<>(timeoutMillis);
+
+        TraceContext trace = Tracer.fork();
+        Future<?> future;
+        try {
+            future = searchExecutor.submit(() -> run(task, fallback, deadline, deferredResult, trace));
+        } catch (TaskRejectedException e) {
+            log.warn("搜索执行器已满，拒绝请求");
+            deferredResult.setErrorResult(new BlogException(ResultCode.SERVICE_UNAVAILABLE, "搜索服务繁忙，请稍后重试"));
+            return deferredResult;
+        }
+
+        // 先设置降级结果再中断任务，避免被中断的任务抢先写入结果；
+        // 中断只能结束等待连接许可等可中断的阻塞，已在执行的查询由语句超时结束
+        deferredResult.onTimeout(() -> {
+            deferredResult.setResult(fallback.get());
+            future.cancel(true);
+        });
+        deferredResult.onError(e -> future.cancel(true));
+        return deferredResult;
+    }
+
+    /**
+     * 返回已完成的结果，用于无需异步执行的分支
+     *
+     * @param value 结果
+     * @param <T>   结果类型
+     * @return 异步结果
+     */
+    public <T> DeferredResult<Result<T>> completed(T value) {
+        DeferredResult<Result<T>> deferredResult = new DeferredResult<>();
+        deferredResult.setResult(Result.success(value));
+        return deferredResult;
+    }
+
+    private <T> void run(Supplier<T> task, Supplier<Result<T>> fallback, long deadline,
+                         DeferredResult<Result<T>> deferredResult, TraceContext trace) {
+        if (deferredResult.isSetOrExpired()) {
+            return;
+        }
+        // 事务超时以秒为单位，Spring会将剩余时间作为查询超时传给JDBC语句；向下取整保证语句不晚于截止时间结束
+        int timeoutSeconds = (int) ((deadline - System.currentTimeMillis()) / 1000);
+        if (timeoutSeconds < 1) {
+            deferredResult.setResult(fallback.get());
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout(timeoutSeconds);
+        // 先结束本线程的追踪再设置结果，结果分派开始时片段已并入请求
+        Result<T> result = null;
+        RuntimeException error = null;
+        boolean traced = Tracer.join(trace, RUN);
+        try {
+            T value = transactionTemplate.execute(status -> task.get());
+            result = Result.success(value);
+        } catch (QueryTimeoutException | TransactionTimedOutException e) {
+            log.warn("查询超过截止时间：{}", e.getMessage());
+            result = fallback.get();
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            if (traced) {
+                Tracer.leave(trace);
+            }
+        }
+        if (error != null) {
+            deferredResult.setErrorResult(error);
+        } else {
+            deferredResult.setResult(result);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.blog.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 哈希时间轮定时器
+ * 时间轮由wheelSize个槽组成，指针每tickDuration前进一格；任务按到期时间放入对应槽，
+ * 超过一圈的任务记录剩余圈数。新增和取消任务都是O(1)，适合大量、长延迟的定时任务。
+ * 到期任务交给executor执行，不阻塞时间轮线程，触发误差不超过一个tickDuration
+ */
+@Slf4j
+public class HashedWheelTimer implements AutoCloseable {
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickNanos;
+    private final LinkedList<Timeout>[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread workerThread;
+    private final long startTime;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * 创建并启动时间轮
+     *
+     * @param name         时间轮线程名称
+     * @param tickDuration 每格时长
+     * @param unit         时长单位
+     * @param wheelSize    槽数量，向上取整为2的幂
+     * @param executor     到期任务执行器
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize, Executor executor) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickDuration和wheelSize必须大于0");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1 > 0 ? (wheelSize - 1) << 1 : 1);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new LinkedList[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new LinkedList<>();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(this::work, name);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * 添加定时任务
+     *
+     * @param task  任务
+     * @param delay 延迟，小于等于0时在下一格触发
+     * @param unit  延迟单位
+     * @return 定时任务句柄，可用于取消
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("时间轮已停止");
+        }
+        long deadline = System.nanoTime() + Math.max(unit.toNanos(delay), 0) - startTime;
+        Timeout timeout = new Timeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 获取尚未触发或取消的任务数量（含等待放入时间轮的任务）
+     *
+     * @return 任务数量
+     */
+    public int pendingCount() {
+        int count = 0;
+        for (Timeout timeout : pendingTimeouts) {
+            if (timeout.state.get() == STATE_INIT) {
+                count++;
+            }
+        }
+        synchronized (wheel) {
+            for (LinkedList<Timeout> bucket : wheel) {
+                for (Timeout timeout : bucket) {
+                    if (timeout.state.get() == STATE_INIT) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 停止时间轮，未触发的任务全部丢弃
+     */
+    @Override
+    public void close() {
+        running = false;
+        workerThread.interrupt();
+    }
+
+    private void work() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            synchronized (wheel) {
+                transferPendingTimeouts();
+                expire(wheel[(int) (tick & mask)], deadline);
+            }
+            tick++;
+        }
+    }
+
+    /**
+     * 等待到下一格的时间点
+     *
+     * @return 下一格相对启动时间的纳秒数，时间轮停止时返回-1
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return deadline;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() != STATE_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已过期的任务放入当前格，本次即触发
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(LinkedList<Timeout> bucket, long deadline) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.state.get() != STATE_INIT) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                iterator.remove();
+                if (timeout.state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+                    run(timeout.task);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            log.error("定时任务提交失败", e);
+        }
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消任务
+         *
+         * @return 任务尚未触发且取消成功时返回true
+         */
+        public boolean cancel() {
+            return state.compareAndSet(STATE_INIT, STATE_CANCELLED);
+        }
+
+        /**
+         * 任务是否已触发
+         *
+         * @return 是否已触发
+         */
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.blog.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求合并分组
+ * 同一键的并发调用共享一次正在进行的计算，计算结束后立即移除，不做缓存。
+ * 等待方最多等待maxWaitMillis，超时后自行执行加载，首个调用卡住时不会拖住同一键的所有调用
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ */
+public class SingleFlightGroup<K, V> {
+
+    /**
+     * 可抛出异常的加载器
+     *
+     * @param <V> 结果类型
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+
+        /**
+         * 加载结果
+         *
+         * @return 结果
+         * @throws Throwable 加载异常
+         */
+        V load() throws Throwable;
+    }
+
+    private final String name;
+
+    private final long maxWaitMillis;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder waitTimeouts = new LongAdder();
+
+    /**
+     * 构造方法
+     *
+     * @param name          分组名称
+     * @param maxWaitMillis 等待进行中加载的最长时间（毫秒）
+     */
+    public SingleFlightGroup(String name, long maxWaitMillis) {
+        this.name = name;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * 执行加载，若同一键已有进行中的加载则等待其结果，等待超时后自行加载
+     *
+     * @param key    键
+     * @param loader 加载器
+     * @return 结果
+     * @throws Throwable 加载异常，合并的调用会收到与首个调用相同的异常
+     */
+    public V execute(K key, Loader<V> loader) throws Throwable {
+        calls.increment();
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return await(existing);
+            } catch (TimeoutException e) {
+                waitTimeouts.increment();
+                return loader.load();
+            }
+        }
+
+        try {
+            V value = loader.load();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) throws Throwable {
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 调用总次数
+     *
+     * @return 调用次数
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * 被合并（未实际执行）的调用次数
+     *
+     * @return 合并次数
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 等待超时后自行执行加载的调用次数
+     *
+     * @return 等待超时次数
+     */
+    public long getWaitTimeouts() {
+        return waitTimeouts.sum();
+    }
+
+    /**
+     * 当前进行中的加载数量
+     *
+     * @return 进行中的加载数量
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.util;
+
+import com.blog.vo.SlowRequestVO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 慢请求环形缓冲区
+ * 只保留最近capacity个超过阈值的请求及其追踪片段，写满后覆盖最旧的记录，内存占用有上限
+ */
+@Component
+public class SlowRequestLog {
+
+    /**
+     * 慢请求阈值（毫秒）
+     */
+    @Value("${blog.monitor.slow-request-millis:500}")
+    private long thresholdMillis;
+
+    private final SlowRequestVO[] entries;
+
+    private long next;
+
+    public SlowRequestLog(@Value("${blog.monitor.slow-request-capacity:50}") int capacity) {
+        this.entries = new SlowRequestVO[capacity];
+    }
+
+    /**
+     * 是否达到慢请求阈值
+     *
+     * @param elapsedNanos 请求耗时（纳秒）
+     * @return 是否为慢请求
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdMillis * 1_000_000L;
+    }
+
+    /**
+     * 记录一个慢请求
+     *
+     * @param entry 慢请求记录
+     */
+    public synchronized void add(SlowRequestVO entry) {
+        entries[(int) (next++ % entries.length)] = entry;
+    }
+
+    /**
+     * 获取缓冲区中的慢请求，按耗时倒序
+     *
+     * @return 慢请求列表
+     */
+    public synchronized List<SlowRequestVO> getEntries() {
+        List<SlowRequestVO> result = new ArrayList<>(entries.length);
+        for (SlowRequestVO entry : entries) {
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparing(SlowRequestVO::getElapsedMillis).reversed());
+        return result;
+    }
+
+    /**
+     * 获取累计记录的慢请求数量（含已被覆盖的记录）
+     *
+     * @return 累计数量
+     */
+    public synchronized long getTotalCount() {
+        return next;
+    }
+
+    /**
+     * 设置慢请求阈值
+     *
+     * @param thresholdMillis 阈值（毫秒）
+     */
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.util;
+
+import com.blog.vo.SlowStatementVO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 慢SQL环形缓冲区
+ * 只保留最近capacity条超过阈值的语句，写满后覆盖最旧的记录，内存占用固定
+ */
+@Component
+public class SlowStatementLog {
+
+    /**
+     * 慢SQL阈值（毫秒）
+     */
+    @Value("${blog.monitor.slow-statement-millis:200}")
+    private long thresholdMillis;
+
+    private final SlowStatementVO[] entries;
+
+    private long next;
+
+    public SlowStatementLog(@Value("${blog.monitor.slow-statement-capacity:100}") int capacity) {
+        this.entries = new SlowStatementVO[capacity];
+    }
+
+    /**
+     * 是否达到慢SQL阈值
+     *
+     * @param elapsedNanos 执行耗时（纳秒）
+     * @return 是否为慢SQL
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdMillis * 1_000_000L;
+    }
+
+    /**
+     * 记录一条慢SQL
+     *
+     * @param entry 慢SQL记录
+     */
+    public synchronized void add(SlowStatementVO entry) {
+        entries[(int) (next++ % entries.length)] = entry;
+    }
+
+    /**
+     * 获取缓冲区中的慢SQL，按耗时倒序
+     *
+     * @return 慢SQL列表
+     */
+    public synchronized List<SlowStatementVO> getEntries() {
+        List<SlowStatementVO> result = new ArrayList<>(entries.length);
+        for (SlowStatementVO entry : entries) {
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparing(SlowStatementVO::getElapsedMillis).reversed());
+        return result;
+    }
+
+    /**
+     * 获取累计记录的慢SQL数量（含已被覆盖的记录）
+     *
+     * @return 累计数量
+     */
+    public synchronized long getTotalCount() {
+        return next;
+    }
+
+    /**
+     * 设置慢SQL阈值
+     *
+     * @param thresholdMillis 阈值（毫秒）
+     */
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+}
@@ -0,0 +1,82 @@
+package com.blog.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文章浏览量缓冲
+ * 浏览量先在内存中按文章累加，定时合并为一次批量UPDATE写入，
+ * 读取文章详情时不再开启写事务，展示的浏览量最多滞后一个刷新间隔
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private static final String UPDATE_SQL = "UPDATE article SET view_count = view_count + ? WHERE id = ?";
+
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 累加一次浏览
+     *
+     * @param articleId 文章ID
+     */
+    public void increment(Long articleId) {
+        pending.merge(articleId, 1L, Long::sum);
+    }
+
+    /**
+     * 将累加的浏览量批量写入数据库，写入失败的增量放回缓冲等待下次刷新
+     */
+    @Scheduled(fixedDelayString = "${blog.view-count.flush-interval:5000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> increments = new ArrayList<>();
+        for (Long articleId : pending.keySet()) {
+            Long count = pending.remove(articleId);
+            if (count != null) {
+                increments.add(new Object[]{count, articleId});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, increments);
+        } catch (RuntimeException e) {
+            log.warn("写入浏览量失败，{}篇文章的增量将在下次重试：{}", increments.size(), e.getMessage());
+            increments.forEach(increment -> pending.merge((Long) increment[1], (Long) increment[0], Long::sum));
+        }
+    }
+
+    /**
+     * 丢弃已删除文章的待写入浏览量
+     *
+     * @param articleIds 文章ID列表
+     */
+    public void discard(Collection<Long> articleIds) {
+        articleIds.forEach(pending::remove);
+    }
+
+    /**
+     * 获取待写入的文章数
+     *
+     * @return 待写入的文章数
+     */
+    public int getPendingSize() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 归档月份视图对象
+ */
+@Data
+@AllArgsConstructor
+public class ArchiveMonthVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 月份，格式yyyy-MM
+     */
+    private String month;
+
+    /**
+     * 该月已发布文章数量
+     */
+    private Integer count;
+}
@@ -0,0 +1,26 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 文章正文视图对象
+ */
+@Data
+@Builder
+public class ArticleContentVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 正文数据，UTF-8编码
+     */
+    private byte[] data;
+
+    /**
+     * 数据是否为gzip格式
+     */
+    private Boolean gzipped;
+}
@@ -65,6 +65,11 @@ public class ArticleVO implements Serializable {
      */
     private Integer status;
 
+    /**
+     * 定时发布时间
+     */
+    private Date publishAt;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,21 @@
+package com.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 批量操作结果视图对象
+ */
+@Data
+@AllArgsConstructor
+public class BatchResultVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 实际受影响的文章数量
+     */
+    private Long affected;
+}
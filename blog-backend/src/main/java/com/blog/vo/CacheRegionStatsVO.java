@@ -0,0 +1,46 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 缓存区域统计视图对象
+ */
+@Data
+@Builder
+public class CacheRegionStatsVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 区域名称
+     */
+    private String region;
+
+    /**
+     * 命中次数
+     */
+    private Long hits;
+
+    /**
+     * 未命中次数
+     */
+    private Long misses;
+
+    /**
+     * 写入次数
+     */
+    private Long puts;
+
+    /**
+     * 命中率
+     */
+    private Double hitRatio;
+
+    /**
+     * 内存中的条目数，无法获取时为-1
+     */
+    private Long elementCount;
+}
@@ -0,0 +1,26 @@
+package com.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 导入失败记录视图对象
+ */
+@Data
+@AllArgsConstructor
+public class ImportErrorVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 行号（从1开始）
+     */
+    private Long line;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
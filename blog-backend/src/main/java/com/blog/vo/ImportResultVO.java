@@ -0,0 +1,37 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量导入结果视图对象
+ */
+@Data
+@Builder
+public class ImportResultVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 读取的记录总数
+     */
+    private Long total;
+
+    /**
+     * 导入成功数量
+     */
+    private Long success;
+
+    /**
+     * 导入失败数量
+     */
+    private Long failed;
+
+    /**
+     * 失败记录明细（最多保留前若干条）
+     */
+    private List<ImportErrorVO> errors;
+}
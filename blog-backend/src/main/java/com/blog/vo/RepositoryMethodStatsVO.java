@@ -0,0 +1,61 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 数据访问方法耗时统计视图对象
+ */
+@Data
+@Builder
+public class RepositoryMethodStatsVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 方法名称，格式为“接口名.方法名”
+     */
+    private String method;
+
+    /**
+     * 调用次数
+     */
+    private Long calls;
+
+    /**
+     * 异常次数
+     */
+    private Long errors;
+
+    /**
+     * 返回或影响的总行数
+     */
+    private Long rows;
+
+    /**
+     * 平均耗时（毫秒）
+     */
+    private Double meanMillis;
+
+    /**
+     * 中位数耗时（毫秒）
+     */
+    private Double p50Millis;
+
+    /**
+     * 99分位耗时（毫秒）
+     */
+    private Double p99Millis;
+
+    /**
+     * 最大耗时（毫秒）
+     */
+    private Double maxMillis;
+
+    /**
+     * 总耗时（毫秒）
+     */
+    private Double totalMillis;
+}
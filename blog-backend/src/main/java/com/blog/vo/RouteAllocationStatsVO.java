@@ -0,0 +1,56 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 路由内存分配统计视图对象
+ */
+@Data
+@Builder
+public class RouteAllocationStatsVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 请求方法
+     */
+    private String method;
+
+    /**
+     * 路由模板
+     */
+    private String route;
+
+    /**
+     * 请求次数
+     */
+    private Long requests;
+
+    /**
+     * 平均每个请求分配的字节数
+     */
+    private Double meanBytes;
+
+    /**
+     * 中位数分配字节数（所在直方图桶的上界）
+     */
+    private Double p50Bytes;
+
+    /**
+     * 99分位分配字节数（所在直方图桶的上界）
+     */
+    private Double p99Bytes;
+
+    /**
+     * 最近统计窗口内的最大分配字节数
+     */
+    private Double maxBytes;
+
+    /**
+     * 累计分配字节数
+     */
+    private Double totalBytes;
+}
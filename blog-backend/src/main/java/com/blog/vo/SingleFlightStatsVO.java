@@ -0,0 +1,46 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 请求合并统计视图对象
+ */
+@Data
+@Builder
+public class SingleFlightStatsVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 分组名称
+     */
+    private String name;
+
+    /**
+     * 调用总次数
+     */
+    private Long calls;
+
+    /**
+     * 实际执行次数
+     */
+    private Long executions;
+
+    /**
+     * 被合并的调用次数
+     */
+    private Long coalesced;
+
+    /**
+     * 等待超时后自行执行的调用次数（已计入被合并次数和实际执行次数）
+     */
+    private Long waitTimeouts;
+
+    /**
+     * 当前进行中的加载数量
+     */
+    private Integer inFlight;
+}
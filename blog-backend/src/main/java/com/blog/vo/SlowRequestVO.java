@@ -0,0 +1,63 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 慢请求记录视图对象
+ */
+@Data
+@Builder
+public class SlowRequestVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 请求方法
+     */
+    private String method;
+
+    /**
+     * 请求路径，不含查询参数
+     */
+    private String uri;
+
+    /**
+     * 匹配的路由模板，未匹配到控制器时为空
+     */
+    private String route;
+
+    /**
+     * 响应状态码
+     */
+    private Integer status;
+
+    /**
+     * 请求耗时（毫秒）
+     */
+    private Double elapsedMillis;
+
+    /**
+     * 处理线程
+     */
+    private String thread;
+
+    /**
+     * 请求完成时间
+     */
+    private Date time;
+
+    /**
+     * 因缓冲区覆盖或嵌套过深而丢失的片段数
+     */
+    private Long droppedSpans;
+
+    /**
+     * 片段列表，按开始顺序排列，depth表示嵌套层级
+     */
+    private List<TraceSpanVO> spans;
+}
@@ -0,0 +1,53 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 慢SQL记录视图对象
+ */
+@Data
+@Builder
+public class SlowStatementVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * SQL语句（参数以占位符表示）
+     */
+    private String sql;
+
+    /**
+     * 绑定参数的类型，不含参数值
+     */
+    private List<String> parameters;
+
+    /**
+     * 执行耗时（毫秒）
+     */
+    private Double elapsedMillis;
+
+    /**
+     * 影响行数，查询语句为空
+     */
+    private Integer updateCount;
+
+    /**
+     * 发起该语句的数据访问方法，非数据访问层发起时为空
+     */
+    private String repositoryMethod;
+
+    /**
+     * 执行线程
+     */
+    private String thread;
+
+    /**
+     * 执行完成时间
+     */
+    private Date time;
+}
@@ -0,0 +1,46 @@
+package com.blog.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 请求追踪片段视图对象
+ */
+@Data
+@Builder
+public class TraceSpanVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 片段类型：FILTER、AUTH、CONTROLLER、SERVICE、REPOSITORY、SQL、SERIALIZATION
+     */
+    private String kind;
+
+    /**
+     * 片段名称：类名.方法名、数据访问方法或SQL语句
+     */
+    private String name;
+
+    /**
+     * 嵌套深度，根片段为0
+     */
+    private Integer depth;
+
+    /**
+     * 相对请求开始的开始时间（毫秒）
+     */
+    private Double startMillis;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Double durationMillis;
+
+    /**
+     * 是否正常结束，请求结束时仍未关闭的片段耗时计到请求结束
+     */
+    private Boolean finished;
+}
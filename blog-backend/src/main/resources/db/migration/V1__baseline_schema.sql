@@ -0,0 +1,72 @@
+-- 基线表结构，与实体映射保持一致
+-- 已由 ddl-auto 建表的库通过 baseline-on-migrate 跳过本脚本
+
+CREATE TABLE `user` (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    username    VARCHAR(50)  NOT NULL,
+    password    VARCHAR(100) NOT NULL,
+    nickname    VARCHAR(50),
+    avatar      VARCHAR(255),
+    email       VARCHAR(100),
+    status      TINYINT DEFAULT 1,
+    create_time DATETIME     NOT NULL,
+    update_time DATETIME     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_username UNIQUE (username)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE category (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    sort        INT DEFAULT 0,
+    status      TINYINT DEFAULT 1,
+    create_time DATETIME    NOT NULL,
+    update_time DATETIME    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_category_name UNIQUE (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE article (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(100) NOT NULL,
+    content     LONGTEXT     NOT NULL,
+    summary     VARCHAR(255),
+    thumbnail   VARCHAR(255),
+    category_id BIGINT,
+    view_count  INT DEFAULT 0,
+    tags        VARCHAR(500),
+    status      TINYINT DEFAULT 1,
+    create_time DATETIME     NOT NULL,
+    update_time DATETIME     NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE contributor (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(50) NOT NULL,
+    avatar       VARCHAR(255),
+    introduction VARCHAR(255),
+    sort         INT DEFAULT 0,
+    status       TINYINT DEFAULT 1,
+    create_time  DATETIME    NOT NULL,
+    update_time  DATETIME    NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE setting (
+    id               BIGINT  NOT NULL AUTO_INCREMENT,
+    site_name        VARCHAR(100),
+    site_description VARCHAR(255),
+    site_logo        VARCHAR(255),
+    site_favicon     VARCHAR(255),
+    site_keywords    VARCHAR(500),
+    site_icp         VARCHAR(100),
+    site_email       VARCHAR(100),
+    footer_info      TEXT,
+    allow_comments   BIT(1)  NOT NULL,
+    comment_audit    BIT(1)  NOT NULL,
+    create_time      DATETIME NOT NULL,
+    update_time      DATETIME NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,19 @@
+-- 文章查询索引，与 ArticleRepository 的查询形态一一对应
+
+-- 最新文章、按状态分页（status = ? ORDER BY create_time DESC）
+CREATE INDEX idx_article_status_create_time ON article (status, create_time);
+
+-- 热门文章、按浏览量排序的搜索（status = ? ORDER BY view_count DESC）
+CREATE INDEX idx_article_status_view_count ON article (status, view_count);
+
+-- 分类文章分页（category_id = ? AND status = ? ORDER BY create_time DESC）
+CREATE INDEX idx_article_category_status_create_time ON article (category_id, status, create_time);
+
+-- 后台分类筛选（category_id = ? ORDER BY create_time DESC）及分类文章计数
+CREATE INDEX idx_article_category_create_time ON article (category_id, create_time);
+
+-- 后台全部文章分页（ORDER BY create_time DESC）
+CREATE INDEX idx_article_create_time ON article (create_time);
+
+-- 增量导出（update_time >= ?）
+CREATE INDEX idx_article_update_time ON article (update_time);
@@ -0,0 +1,12 @@
+-- 文章正文拆分到独立的表，文章表只保留列表和统计所需的元数据
+
+CREATE TABLE article_body (
+    article_id BIGINT   NOT NULL,
+    content    LONGTEXT NOT NULL,
+    PRIMARY KEY (article_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+INSERT INTO article_body (article_id, content)
+SELECT id, content FROM article;
+
+ALTER TABLE article DROP COLUMN content;
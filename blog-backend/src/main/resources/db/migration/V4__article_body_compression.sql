@@ -0,0 +1,8 @@
+-- 文章正文支持压缩存储：超过阈值的正文以gzip格式存入content_gzip，content置空；
+-- 压缩正文去除HTML标记后的文本存入search_text，供关键词搜索匹配
+
+ALTER TABLE article_body MODIFY content LONGTEXT NULL;
+
+ALTER TABLE article_body ADD COLUMN content_gzip LONGBLOB NULL;
+
+ALTER TABLE article_body ADD COLUMN search_text LONGTEXT NULL;
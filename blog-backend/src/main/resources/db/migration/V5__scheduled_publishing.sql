@@ -0,0 +1,14 @@
+-- 文章定时发布：草稿设置publish_at后由定时发布调度器到点发布
+
+ALTER TABLE article ADD COLUMN publish_at DATETIME NULL;
+
+-- 启动或获得租约时加载待发布文章（status = 0 AND publish_at IS NOT NULL）
+CREATE INDEX idx_article_status_publish_at ON article (status, publish_at);
+
+-- 数据库租约，多节点部署时保证只有一个节点执行定时发布
+CREATE TABLE scheduler_lease (
+    name       VARCHAR(64)  NOT NULL,
+    owner      VARCHAR(128) NOT NULL,
+    expires_at DATETIME(3)  NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
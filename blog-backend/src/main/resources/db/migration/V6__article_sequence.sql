@@ -0,0 +1,15 @@
+-- 文章ID分配表（pooled-lo 优化器，MySQL 无原生序列）
+-- 独立于V1：由 ddl-auto 建表并以V1为基线的库不会执行V1，但同样需要该表
+
+CREATE TABLE IF NOT EXISTS article_seq (
+    next_val BIGINT
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 新建的表从现有最大ID之后开始分配
+INSERT INTO article_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM article
+WHERE NOT EXISTS (SELECT 1 FROM article_seq);
+
+-- 已由 ddl-auto 创建的表可能仍从1开始，推进到现有最大ID之后
+UPDATE article_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM article)
+WHERE next_val <= (SELECT COALESCE(MAX(id), 0) FROM article);
@@ -0,0 +1,84 @@
+package com.blog.aspect;
+
+import com.blog.entity.Category;
+import com.blog.repository.CategoryRepository;
+import com.blog.support.JpaSliceTest;
+import com.blog.vo.RepositoryMethodStatsVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据访问耗时统计测试：按“接口名.方法名(参数类型)”汇总调用次数、返回行数和错误次数
+ */
+@JpaSliceTest
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import(RepositoryTimingAspect.class)
+class RepositoryTimingAspectTest {
+
+    @Autowired
+    private RepositoryTimingAspect repositoryTimingAspect;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("分类" + i);
+            categoryRepository.save(category);
+        }
+        repositoryTimingAspect.reset();
+    }
+
+    @Test
+    void testCountsCallsAndRows() {
+        categoryRepository.findAll();
+        categoryRepository.findAll();
+        categoryRepository.findAll(PageRequest.of(0, 2));
+        categoryRepository.findById(-1L);
+
+        Map<String, RepositoryMethodStatsVO> stats = statsByMethod();
+        RepositoryMethodStatsVO findAll = stats.get("CategoryRepository.findAll()");
+        assertEquals(2, findAll.getCalls());
+        assertEquals(3 + 3, findAll.getRows());
+        assertEquals(0, findAll.getErrors());
+        assertTrue(findAll.getMaxMillis() >= findAll.getP50Millis());
+        assertTrue(findAll.getP99Millis() <= findAll.getMaxMillis());
+
+        RepositoryMethodStatsVO findPage = stats.get("CategoryRepository.findAll(Pageable)");
+        assertEquals(1, findPage.getCalls());
+        assertEquals(2, findPage.getRows());
+
+        RepositoryMethodStatsVO findById = stats.get("CategoryRepository.findById(Object)");
+        assertEquals(1, findById.getCalls());
+        assertEquals(0, findById.getRows());
+    }
+
+    @Test
+    void testCountsErrors() {
+        assertThrows(RuntimeException.class, () -> categoryRepository.deleteById(-1L));
+
+        RepositoryMethodStatsVO deleteById = statsByMethod().get("CategoryRepository.deleteById(Object)");
+        assertEquals(1, deleteById.getCalls());
+        assertEquals(1, deleteById.getErrors());
+        assertNull(RepositoryTimingAspect.currentMethod());
+    }
+
+    private Map<String, RepositoryMethodStatsVO> statsByMethod() {
+        return repositoryTimingAspect.getStats().stream()
+                .collect(Collectors.toMap(RepositoryMethodStatsVO::getMethod, Function.identity()));
+    }
+}
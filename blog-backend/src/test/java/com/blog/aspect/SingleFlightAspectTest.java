@@ -0,0 +1,92 @@
+package com.blog.aspect;
+
+import com.blog.annotation.SingleFlight;
+import com.blog.datasource.ReadWriteRoutingDataSource;
+import com.blog.vo.SingleFlightStatsVO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 请求合并切面测试：固定读主库的调用不参与合并，直接执行
+ */
+class SingleFlightAspectTest {
+
+    private SingleFlightAspect singleFlightAspect;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        routingDataSource = mock(ReadWriteRoutingDataSource.class);
+        ObjectProvider<ReadWriteRoutingDataSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(routingDataSource);
+        singleFlight = mock(SingleFlight.class);
+        when(singleFlight.value()).thenReturn("article.detail");
+
+        singleFlightAspect = new SingleFlightAspect();
+        ReflectionTestUtils.setField(singleFlightAspect, "routingDataSource", provider);
+        ReflectionTestUtils.setField(singleFlightAspect, "maxWaitMillis", 5000L);
+    }
+
+    @Test
+    void testPinnedCallerDoesNotJoinInFlightLoad() throws Throwable {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint leaderCall = joinPoint(1L);
+        when(leaderCall.proceed()).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            return "从库结果";
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> leader = executor.submit(() -> {
+                try {
+                    return singleFlightAspect.around(leaderCall, singleFlight);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            // 写入后固定读主库的调用不等待从库读取中的首个调用，直接执行
+            when(routingDataSource.isPinnedToPrimary()).thenReturn(true);
+            ProceedingJoinPoint pinnedCall = joinPoint(1L);
+            when(pinnedCall.proceed()).thenReturn("主库结果");
+            assertEquals("主库结果", singleFlightAspect.around(pinnedCall, singleFlight));
+
+            release.countDown();
+            assertEquals("从库结果", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<SingleFlightStatsVO> stats = singleFlightAspect.getStats();
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.get(0).getCalls());
+        assertEquals(0, stats.get(0).getCoalesced());
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object... args) {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+}
@@ -0,0 +1,104 @@
+package com.blog.config;
+
+import com.blog.service.ArticleService;
+import com.blog.service.CategoryService;
+import com.blog.service.ContributorService;
+import com.blog.service.SettingService;
+import com.blog.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 启动预热测试：只在fast配置下开启，预热结束前就绪探针返回OUT_OF_SERVICE
+ */
+class WarmupRunnerTest {
+
+    @Test
+    void testDisabledByDefault() {
+        try (ConfigurableApplicationContext context = start(new ArrayList<>())) {
+            assertTrue(context.getBeansOfType(WarmupRunner.class).isEmpty());
+            verifyNoInteractions(context.getBean(SettingService.class));
+        }
+    }
+
+    @Test
+    void testReadinessOutOfServiceUntilWarmupFinishes() {
+        List<Status> duringWarmup = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start(duringWarmup, "--spring.profiles.active=fast")) {
+            assertFalse(context.getBeansOfType(WarmupRunner.class).isEmpty());
+            // 预热期间每次读取系统设置时记录就绪状态：预加载一次，合成负载至少一轮
+            assertTrue(duringWarmup.size() >= 2);
+            duringWarmup.forEach(status -> assertEquals(Status.OUT_OF_SERVICE, status));
+            assertEquals(Status.UP, readiness(context).health().getStatus());
+        }
+    }
+
+    /**
+     * 按application.yml及指定配置启动只包含预热所需组件的上下文，合成负载时长缩短为50毫秒
+     */
+    private static ConfigurableApplicationContext start(List<Status> duringWarmup, String... args) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(WarmupTestConfig.class)
+                .web(WebApplicationType.NONE);
+        builder.initializers(context -> context.getBeanFactory()
+                .registerSingleton("settingService", settingService(context, duringWarmup)));
+        String[] allArgs = new String[args.length + 2];
+        System.arraycopy(args, 0, allArgs, 0, args.length);
+        allArgs[args.length] = "--blog.warmup.duration=50";
+        allArgs[args.length + 1] = "--spring.main.banner-mode=off";
+        return builder.run(allArgs);
+    }
+
+    private static SettingService settingService(ConfigurableApplicationContext context, List<Status> duringWarmup) {
+        SettingService settingService = mock(SettingService.class);
+        when(settingService.getSetting()).thenAnswer(invocation -> {
+            duringWarmup.add(readiness(context).health().getStatus());
+            return null;
+        });
+        return settingService;
+    }
+
+    private static ReadinessStateHealthIndicator readiness(ConfigurableApplicationContext context) {
+        return new ReadinessStateHealthIndicator(context.getBean(ApplicationAvailability.class));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @Import({WarmupRunner.class, ApplicationAvailabilityAutoConfiguration.class, JwtUtil.class})
+    static class WarmupTestConfig {
+
+        @Bean
+        CategoryService categoryService() {
+            return mock(CategoryService.class);
+        }
+
+        @Bean
+        ContributorService contributorService() {
+            return mock(ContributorService.class);
+        }
+
+        @Bean
+        ArticleService articleService() {
+            return mock(ArticleService.class);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
@@ -1,23 +1,39 @@
 package com.blog.controller;
 
 import com.blog.common.PageResult;
+import com.blog.service.ArticleExportService;
 import com.blog.service.ArticleService;
+import com.blog.util.DeadlineExecutor;
 import com.blog.vo.ArticleVO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +43,13 @@ class ArticleControllerTest {
     @Mock
     private ArticleService articleService;
 
+    @Mock
+    private ArticleExportService articleExportService;
+
+    // 无关键字的列表查询不经过执行器，直接返回已完成的异步结果
+    @Spy
+    private DeadlineExecutor deadlineExecutor = new DeadlineExecutor();
+
     @InjectMocks
     private ArticleController articleController;
 
@@ -53,7 +76,7 @@ class ArticleControllerTest {
     void testGetArticle() throws Exception {
         when(articleService.getArticle(anyLong())).thenReturn(testArticleVO);
 
-        mockMvc.perform(get("/api/articles/1")
+        mockMvc.perform(get("/articles/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.title").value("测试文章"));
@@ -64,11 +87,56 @@ class ArticleControllerTest {
         PageResult<ArticleVO> pageResult = PageResult.of(0, 10, 1L, Arrays.asList(testArticleVO));
         when(articleService.getArticles(anyInt(), anyInt(), any(), any(), any())).thenReturn(pageResult);
 
-        mockMvc.perform(get("/api/articles")
+        MvcResult result = mockMvc.perform(get("/articles")
                         .param("page", "1")
                         .param("size", "10")
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.list[0].title").value("测试文章"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExportGzipDecompressesToNdjson() throws Exception {
+        byte[] ndjson = "{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8);
+        when(articleExportService.exportArticles(isNull(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(ndjson);
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/articles/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult dispatched = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("articles.ndjson.gz")))
+                .andReturn();
+
+        byte[] body = dispatched.getResponse().getContentAsByteArray();
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(ndjson, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void testExportGzipStreamClosedWhenExportFails() throws Exception {
+        AtomicReference<OutputStream> exportStream = new AtomicReference<>();
+        when(articleExportService.exportArticles(isNull(), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1, OutputStream.class);
+            exportStream.set(outputStream);
+            outputStream.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("数据库连接中断");
+        });
+
+        MvcResult result = mockMvc.perform(get("/articles/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(result.getAsyncResult() instanceof IOException);
+        // gzip流已关闭（Deflater已释放），不能再写入
+        assertThrows(IOException.class, () -> exportStream.get().write('x'));
+    }
+}
@@ -0,0 +1,116 @@
+package com.blog.controller;
+
+import com.blog.support.QueryBudget;
+import com.blog.support.QueryBudgetTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * 文章接口SQL语句数预算
+ */
+@QueryBudgetTest
+class ArticleQueryBudgetTest {
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReadEndpoints() throws Exception {
+        Long articleId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM article WHERE status = 1", Long.class);
+        Long categoryId = jdbcTemplate.queryForObject(
+                "SELECT category_id FROM article GROUP BY category_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+        Date latest = jdbcTemplate.queryForObject("SELECT MAX(create_time) FROM article WHERE status = 1", Date.class);
+        String month = new SimpleDateFormat("yyyy-MM").format(latest);
+
+        queryBudget.cold(2, get("/articles").param("page", "1").param("size", "10"));
+        queryBudget.cold(2, get("/articles").param("page", "2").param("size", "10")
+                .param("category", categoryId.toString()).param("status", "1"));
+        queryBudget.cold(2, get("/articles").param("page", "1").param("keyword", "性能"));
+        queryBudget.cold(2, get("/articles/" + articleId));
+        queryBudget.cold(1, get("/articles/" + articleId + "/content"));
+        queryBudget.cold(1, get("/articles/latest").param("limit", "5"));
+        queryBudget.cold(1, get("/articles/popular").param("limit", "5"));
+        // 归档统计和热搜词来自内存索引，不访问数据库
+        queryBudget.cold(0, get("/articles/archive"));
+        queryBudget.cold(1, get("/articles/archive/" + month).param("size", "10"));
+        queryBudget.cold(2, get("/articles/search").param("keyword", "性能"));
+        queryBudget.cold(2, get("/articles/search").param("keyword", "性能").param("tag", "Java"));
+        queryBudget.cold(1, get("/articles/search/suggestions").param("keyword", "性"));
+        queryBudget.cold(0, get("/articles/search/hot"));
+        queryBudget.cold(1, get("/articles/export").with(user("admin")));
+    }
+
+    @Test
+    void testWriteEndpoints() throws Exception {
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM category", Long.class);
+
+        // 含分类校验、按块分配主键（每50篇一次）和文章、正文两条插入
+        queryBudget.cold(5, authorized(post("/articles")).content(article("新建文章", categoryId)));
+
+        Long updateId = createArticle(categoryId);
+        queryBudget.cold(4, authorized(put("/articles/" + updateId)).content(article("修改文章", categoryId)));
+
+        Long deleteId = createArticle(categoryId);
+        queryBudget.cold(3, authorized(delete("/articles/" + deleteId)));
+
+        List<Long> ids = List.of(createArticle(categoryId), createArticle(categoryId), createArticle(categoryId));
+        queryBudget.cold(2, authorized(put("/articles/batch/status"))
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids, "targetStatus", 0))));
+        queryBudget.cold(2, authorized(put("/articles/batch/category"))
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids, "targetCategoryId", categoryId))));
+        queryBudget.cold(2, authorized(post("/articles/batch/delete"))
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids))));
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(objectMapper.writeValueAsString(Map.of("title", "导入文章" + i, "content", "导入正文" + i,
+                    "categoryId", categoryId, "status", 1)));
+        }
+        // 导入按批次插入，语句数与行数无关
+        queryBudget.cold(4, post("/articles/import").with(user("admin"))
+                .contentType("application/x-ndjson")
+                .content(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Long createArticle(Long categoryId) throws Exception {
+        String body = mockMvc.perform(authorized(post("/articles")).content(article("待处理文章", categoryId)))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private String article(String title, Long categoryId) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("title", title, "content", "## 正文\n\n测试内容",
+                "summary", "摘要", "categoryId", categoryId, "tags", "Java,Spring", "status", 1));
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.with(user("admin")).contentType(MediaType.APPLICATION_JSON);
+    }
+}
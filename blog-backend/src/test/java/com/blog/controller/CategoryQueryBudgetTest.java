@@ -0,0 +1,74 @@
+package com.blog.controller;
+
+import com.blog.support.QueryBudget;
+import com.blog.support.QueryBudgetTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * 分类接口SQL语句数预算
+ */
+@QueryBudgetTest
+class CategoryQueryBudgetTest {
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReadEndpoints() throws Exception {
+        Long categoryId = jdbcTemplate.queryForObject(
+                "SELECT category_id FROM article GROUP BY category_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+
+        // 文章数与分类数量无关，一次分组统计
+        queryBudget.cold(2, get("/categories"));
+        queryBudget.warm(1, get("/categories"));
+        queryBudget.cold(2, get("/categories/" + categoryId));
+    }
+
+    @Test
+    void testWriteEndpoints() throws Exception {
+        queryBudget.cold(2, authorized(post("/categories")).content(category("新建分类")));
+
+        Long updateId = createCategory("待修改分类");
+        queryBudget.cold(4, authorized(put("/categories/" + updateId)).content(category("已修改分类")));
+
+        Long deleteId = createCategory("待删除分类");
+        queryBudget.cold(3, authorized(delete("/categories/" + deleteId)));
+    }
+
+    private Long createCategory(String name) throws Exception {
+        String body = mockMvc.perform(authorized(post("/categories")).content(category(name)))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private String category(String name) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("name", name, "description", "描述", "sort", 1));
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.with(user("admin")).contentType(MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog.controller;
+
+import com.blog.support.QueryBudget;
+import com.blog.support.QueryBudgetTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * 贡献者接口SQL语句数预算
+ */
+@QueryBudgetTest
+class ContributorQueryBudgetTest {
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReadEndpoints() throws Exception {
+        Long contributorId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM contributor", Long.class);
+
+        queryBudget.cold(1, get("/contributors"));
+        queryBudget.warm(0, get("/contributors"));
+        queryBudget.cold(1, get("/contributors/" + contributorId));
+    }
+
+    @Test
+    void testWriteEndpoints() throws Exception {
+        queryBudget.cold(2, authorized(post("/contributors")).content(contributor("新建贡献者")));
+
+        Long updateId = createContributor("待修改贡献者");
+        queryBudget.cold(3, authorized(put("/contributors/" + updateId)).content(contributor("已修改贡献者")));
+
+        Long deleteId = createContributor("待删除贡献者");
+        queryBudget.cold(2, authorized(delete("/contributors/" + deleteId)));
+    }
+
+    private Long createContributor(String name) throws Exception {
+        String body = mockMvc.perform(authorized(post("/contributors")).content(contributor(name)))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private String contributor(String name) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("name", name, "introduction", "简介", "sort", 1));
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.with(user("admin")).contentType(MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,35 @@
+package com.blog.controller;
+
+import com.blog.support.QueryBudget;
+import com.blog.support.QueryBudgetTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * 系统设置接口SQL语句数预算
+ */
+@QueryBudgetTest
+class SettingQueryBudgetTest {
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testEndpoints() throws Exception {
+        queryBudget.cold(2, put("/settings").with(user("admin")).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("siteName", "预算测试", "allowComments", true))));
+        queryBudget.cold(1, get("/settings"));
+        queryBudget.warm(0, get("/settings"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.blog.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Druid连接池指标测试：穿过代理和读写分离路由找到每个连接池，按pool标签注册指标
+ */
+class DruidPoolMetricsTest {
+
+    private DruidDataSource primary;
+
+    private DruidDataSource replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = pool("primary");
+        replica = pool("replica-0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void testBindsEveryPoolBehindRoutingDataSource() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary,
+                Map.of("replica-0", replica), 0, () -> null);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new DruidPoolMetrics(List.of(dataSource, primary)).bindTo(registry);
+
+        try (Connection ignored = primary.getConnection()) {
+            assertEquals(1.0, registry.get("druid.connections.active").tag("pool", "primary").gauge().value());
+            assertEquals(0.0, registry.get("druid.connections.active").tag("pool", "replica-0").gauge().value());
+        }
+        assertEquals(0.0, registry.get("druid.connections.active").tag("pool", "primary").gauge().value());
+        assertEquals(4.0, registry.get("druid.connections.max").tag("pool", "replica-0").gauge().value());
+        // 同一个连接池只注册一次
+        assertEquals(2, registry.find("druid.connections.idle").gauges().size());
+    }
+
+    private static DruidDataSource pool(String name) throws Exception {
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setName(name);
+        dataSource.setUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(4);
+        dataSource.init();
+        return dataSource;
+    }
+}
@@ -0,0 +1,142 @@
+package com.blog.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 带许可限制的数据源测试：获取连接占用许可，关闭连接归还许可（只归还一次），
+ * 许可耗尽时超时快速失败，目标数据源获取连接或关闭连接失败时许可也会归还，解包不会绕过许可限制
+ */
+class PermitGuardedDataSourceTest {
+
+    private DataSource target;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void testPermitHeldUntilConnectionClosed() throws SQLException {
+        PermitGuardedDataSource dataSource = new PermitGuardedDataSource(target, 2, 1000);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(1, dataSource.getAvailablePermits());
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        // 重复关闭不会多归还许可
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testAcquireTimesOutWhenPermitsExhausted() throws SQLException {
+        PermitGuardedDataSource dataSource = new PermitGuardedDataSource(target, 1, 50);
+        Connection held = dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 超时由定时等待实现，允许计时精度带来的少量提前
+        assertTrue(elapsedMillis >= 40, "应等待到超时：" + elapsedMillis + "ms");
+        assertTrue(elapsedMillis < 1000, "超时后应立即失败：" + elapsedMillis + "ms");
+        // 未取得许可时不向连接池借连接
+        verify(target, times(1)).getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        held.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testWaitingThreadProceedsAfterRelease() throws Exception {
+        PermitGuardedDataSource dataSource = new PermitGuardedDataSource(target, 1, 5000);
+        Connection held = dataSource.getConnection();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                dataSource.getConnection().close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        waiter.start();
+        while (dataSource.getQueueLength() == 0 && waiter.isAlive()) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, dataSource.getQueueLength());
+
+        held.close();
+        waiter.join(5000);
+        assertFalse(waiter.isAlive());
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testPermitReleasedWhenGetConnectionFails() throws SQLException {
+        when(target.getConnection())
+                .thenThrow(new SQLException("连接池已耗尽"))
+                .thenThrow(new IllegalStateException("连接池已关闭"))
+                .thenReturn(connection);
+        PermitGuardedDataSource dataSource = new PermitGuardedDataSource(target, 1, 50);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+        assertThrows(IllegalStateException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testPermitReleasedWhenCloseFails() throws SQLException {
+        doThrow(new SQLException("连接已断开")).when(connection).close();
+        PermitGuardedDataSource dataSource = new PermitGuardedDataSource(target, 1, 50);
+
+        Connection guarded = dataSource.getConnection();
+        SQLException e = assertThrows(SQLException.class, guarded::close);
+
+        assertEquals("连接已断开", e.getMessage());
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testUnwrapDoesNotBypassPermits() throws SQLException {
+        PermitGuardedDataSource dataSource = new PermitGuardedDataSource(target, 1, 50);
+
+        try (Connection guarded = dataSource.getConnection()) {
+            assertNotSame(connection, guarded);
+            // 解包为Connection得到的仍是受许可限制的连接，不暴露池中的原始连接
+            assertSame(guarded, guarded.unwrap(Connection.class));
+            assertTrue(guarded.isWrapperFor(Connection.class));
+            assertFalse(guarded.isWrapperFor(Statement.class));
+            assertThrows(SQLException.class, () -> guarded.unwrap(Statement.class));
+        }
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        // 数据源同样不能解包为目标连接池
+        assertSame(dataSource, dataSource.unwrap(DataSource.class));
+        assertThrows(SQLException.class, () -> dataSource.unwrap(target.getClass()));
+        verify(target, never()).unwrap(any());
+    }
+}
@@ -0,0 +1,183 @@
+package com.blog.datasource;
+
+import com.blog.config.ExecutionConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 读写分离路由数据源测试
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private DriverManagerDataSource replica;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTemplate;
+    private TransactionTemplate readTemplate;
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = database("routing_primary");
+        replica = database("routing_replica");
+
+        routingDataSource = new ReadWriteRoutingDataSource(primary, Collections.singletonMap("replica-0", replica),
+                60000, currentUser::get);
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.resetRequestState();
+        currentUser.set(null);
+    }
+
+    @Test
+    void testReadOnlyTransactionRoutesToReplica() {
+        assertEquals("routing_replica", readTemplate.execute(status -> currentDatabase()));
+        assertEquals("routing_primary", writeTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadAfterWriteInSameRequestRoutesToPrimary() {
+        writeTemplate.execute(status -> currentDatabase());
+        assertEquals("routing_primary", readTemplate.execute(status -> currentDatabase()));
+
+        ReadWriteRoutingDataSource.resetRequestState();
+        assertEquals("routing_replica", readTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadAfterWriteBySameUserRoutesToPrimary() {
+        currentUser.set("admin");
+        writeTemplate.execute(status -> currentDatabase());
+        ReadWriteRoutingDataSource.resetRequestState();
+
+        assertEquals("routing_primary", readTemplate.execute(status -> currentDatabase()));
+
+        currentUser.set("visitor");
+        assertEquals("routing_replica", readTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testUnhealthyReplicaFallsBackToPrimary() {
+        replica.setUrl("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE");
+        routingDataSource.checkReplicas(1);
+
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+        assertEquals("routing_primary", readTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testWrappedTargetsAreGuardedPerPool() throws SQLException {
+        Map<String, PermitGuardedDataSource> guards = new HashMap<>();
+        routingDataSource.wrapTargets((name, pool) -> {
+            PermitGuardedDataSource guard = new PermitGuardedDataSource(pool, 1, 10);
+            guards.put(name, guard);
+            return guard;
+        });
+        routingDataSource.afterPropertiesSet();
+
+        Map<Object, DataSource> targets = routingDataSource.getResolvedDataSources();
+        assertSame(guards.get(ReadWriteRoutingDataSource.PRIMARY), targets.get(ReadWriteRoutingDataSource.PRIMARY));
+        assertSame(guards.get("replica-0"), targets.get("replica-0"));
+        assertSame(replica, guards.get("replica-0").getTargetDataSource());
+
+        // 从库的连接只占用从库的许可
+        try (Connection connection = targets.get("replica-0").getConnection()) {
+            assertEquals(0, guards.get("replica-0").getAvailablePermits());
+            assertEquals(1, guards.get(ReadWriteRoutingDataSource.PRIMARY).getAvailablePermits());
+            assertEquals("routing_primary", writeTemplate.execute(status -> currentDatabase()));
+        }
+        assertEquals(1, guards.get("replica-0").getAvailablePermits());
+        // 上面的写事务固定了当前请求，清除后读取才会路由到从库
+        ReadWriteRoutingDataSource.resetRequestState();
+        assertEquals("routing_replica", readTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testSearchExecutorCarriesRequestRoutingState() throws Exception {
+        // 与生产配置一致，以安全上下文中的用户名作为客户端标识
+        ReadWriteRoutingDataSource securedRouting = new ReadWriteRoutingDataSource(database("routing_primary"),
+                Collections.singletonMap("replica-0", replica), 60000, () -> {
+                    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                    return authentication != null ? authentication.getName() : null;
+                });
+        securedRouting.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(securedRouting);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        Callable<String> search = () -> read.execute(status ->
+                template.queryForObject("SELECT name FROM node", String.class));
+
+        ThreadPoolTaskExecutor executor = new ExecutionConfig().searchExecutor(new MockEnvironment());
+        executor.initialize();
+        try {
+            // 同一请求内写入后，执行器上的查询也走主库
+            write.execute(status -> template.update("UPDATE node SET name = name"));
+            assertEquals("routing_primary", executor.submit(search).get());
+            ReadWriteRoutingDataSource.resetRequestState();
+            assertEquals("routing_replica", executor.submit(search).get());
+
+            // 已登录用户写入后，后续请求提交到执行器的查询在固定窗口内走主库
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken("admin", null, Collections.emptyList()));
+            write.execute(status -> template.update("UPDATE node SET name = name"));
+            ReadWriteRoutingDataSource.resetRequestState();
+            assertEquals("routing_primary", executor.submit(search).get());
+
+            SecurityContextHolder.clearContext();
+            assertEquals("routing_replica", executor.submit(search).get());
+        } finally {
+            SecurityContextHolder.clearContext();
+            executor.shutdown();
+        }
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(50))");
+        template.execute("DELETE FROM node");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
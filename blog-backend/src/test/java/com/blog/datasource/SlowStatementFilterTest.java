@@ -0,0 +1,79 @@
+package com.blog.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.blog.util.SlowStatementLog;
+import com.blog.vo.SlowStatementVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 慢SQL采集测试：超过阈值的语句进入环形缓冲区，绑定参数只保留类型
+ */
+class SlowStatementFilterTest {
+
+    private DruidDataSource dataSource;
+
+    private SlowStatementLog slowStatementLog;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        slowStatementLog = new SlowStatementLog(3);
+        slowStatementLog.setThresholdMillis(0);
+        dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:h2:mem:slow;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.getProxyFilters().add(new SlowStatementFilter(slowStatementLog));
+        dataSource.init();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS account (id BIGINT PRIMARY KEY, password VARCHAR(64))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE account");
+        dataSource.close();
+    }
+
+    @Test
+    void testRedactsBindParameters() {
+        jdbcTemplate.update("INSERT INTO account (id, password) VALUES (?, ?)", 1L, "secret");
+        jdbcTemplate.queryForList("SELECT * FROM account WHERE password = ?", "secret");
+
+        List<SlowStatementVO> entries = slowStatementLog.getEntries();
+        SlowStatementVO insert = find(entries, "INSERT INTO account");
+        assertEquals("INSERT INTO account (id, password) VALUES (?, ?)", insert.getSql());
+        assertEquals(1, insert.getUpdateCount());
+        assertEquals(2, insert.getParameters().size());
+        assertEquals("VARCHAR(6)", insert.getParameters().get(1));
+
+        SlowStatementVO select = find(entries, "SELECT * FROM account");
+        assertNull(select.getUpdateCount());
+        assertEquals(List.of("VARCHAR(6)"), select.getParameters());
+        assertFalse(entries.toString().contains("secret"));
+    }
+
+    @Test
+    void testKeepsOnlyLatestEntries() {
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO account (id, password) VALUES (?, ?)", id, null);
+        }
+
+        List<SlowStatementVO> entries = slowStatementLog.getEntries();
+        assertEquals(3, entries.size());
+        assertEquals("NULL", entries.get(0).getParameters().get(1));
+    }
+
+    private static SlowStatementVO find(List<SlowStatementVO> entries, String prefix) {
+        return entries.stream()
+                .filter(entry -> entry.getSql().startsWith(prefix))
+                .findFirst()
+                .orElseThrow();
+    }
+}
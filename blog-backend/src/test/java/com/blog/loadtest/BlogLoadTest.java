@@ -0,0 +1,113 @@
+package com.blog.loadtest;
+
+import com.blog.BlogApplication;
+import com.blog.util.CorpusGenerator;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 端到端压测
+ * 先在H2（MySQL兼容模式）上执行迁移脚本并用合成语料生成器预置数据，再以loadtest配置启动完整应用，
+ * 按配置的并发数、思考时间和请求比例施压，输出各接口吞吐量和HDR延迟分位数，
+ * 超出 loadtest/latency-budget.properties 中的预算时失败。
+ * 不随普通测试运行，执行方式：mvn test -Pload-test
+ */
+class BlogLoadTest {
+
+    private static final String DATABASE_URL =
+            "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    private static final Path OUTPUT = Paths.get("target", "loadtest");
+
+    @Test
+    void mixedWorkloadWithinBudget() throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        System.out.println("压测参数：" + settings);
+        Path output = OUTPUT.resolve(settings.executionMode);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(DATABASE_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        CorpusGenerator.Options options = new CorpusGenerator.Options();
+        options.setSeed(settings.seed);
+        options.setArticles(settings.articles);
+        options.setCategories(settings.categories);
+        options.setMaxBodyBytes(settings.maxBodyBytes);
+        CorpusGenerator.Summary corpus = new CorpusGenerator(new JdbcTemplate(dataSource), options).generate();
+        System.out.printf("预置%d篇文章（正文共%dKB），耗时%dms%n", corpus.getArticles(), corpus.getBodyBytes() / 1024,
+                corpus.getElapsedMillis());
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .profiles("loadtest")
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton(TestComponentExcludeFilter.class.getName(), new TestComponentExcludeFilter()))
+                .run("--spring.datasource.url=" + DATABASE_URL,
+                        "--blog.execution.mode=" + settings.executionMode,
+                        "--file.upload-dir=" + output.resolve("uploads").toAbsolutePath())) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadReport report = run(settings, "http://localhost:" + port + "/api");
+
+            report.print(System.out);
+            report.write(output);
+            List<String> violations = LatencyBudget.load(settings.budget).check(report, settings.mix.keySet());
+            violations.forEach(violation -> System.out.println("超出预算：" + violation));
+            assertTrue(violations.isEmpty(), "超出延迟预算：" + violations);
+        }
+    }
+
+    private static LoadReport run(LoadTestSettings settings, String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        byte[] image = new byte[16 * 1024];
+        new Random(settings.seed).nextBytes(image);
+
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds);
+        List<Thread> users = new ArrayList<>(settings.concurrency);
+        for (int i = 0; i < settings.concurrency; i++) {
+            Thread user = new Thread(new VirtualUser(client, baseUrl, settings, report, i, image, measureFrom, deadline),
+                    "load-user-" + i);
+            users.add(user);
+            user.start();
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+        report.setElapsedNanos(deadline - measureFrom);
+        return report;
+    }
+
+    /**
+     * 测试类路径下启动应用时排除其他测试中的@TestConfiguration等测试组件
+     */
+    private static class TestComponentExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().isAnnotated(TestComponent.class.getName());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 延迟预算
+ * 预算文件每行一个上限：“操作.p50/p90/p99/p99.9/max=毫秒”，以及“操作.error-rate=比例”；
+ * “*.error-rate”作用于所有操作
+ */
+class LatencyBudget {
+
+    private final Map<String, Double> limits = new TreeMap<>();
+
+    static LatencyBudget load(String location) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = open(location)) {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        LatencyBudget budget = new LatencyBudget();
+        for (String key : properties.stringPropertyNames()) {
+            budget.limits.put(key, Double.parseDouble(properties.getProperty(key).trim()));
+        }
+        return budget;
+    }
+
+    /**
+     * 检查压测结果，返回超出预算的项
+     *
+     * @param report 压测结果
+     * @param mix    参与压测的操作
+     * @return 超出预算的描述，全部满足时为空
+     */
+    List<String> check(LoadReport report, Iterable<Operation> mix) {
+        List<String> violations = new ArrayList<>();
+        for (Operation operation : mix) {
+            if (report.count(operation) == 0) {
+                violations.add(operation.key() + " 没有成功的请求");
+                continue;
+            }
+            Double errorLimit = limits.getOrDefault(operation.key() + ".error-rate", limits.get("*.error-rate"));
+            if (errorLimit != null && report.errorRate(operation) > errorLimit) {
+                violations.add(String.format("%s.error-rate %.4f > %.4f", operation.key(), report.errorRate(operation), errorLimit));
+            }
+            for (Map.Entry<String, Double> limit : limits.entrySet()) {
+                String prefix = operation.key() + ".";
+                if (!limit.getKey().startsWith(prefix) || limit.getKey().endsWith(".error-rate")) {
+                    continue;
+                }
+                String metric = limit.getKey().substring(prefix.length());
+                double actual = valueOf(report, operation, metric);
+                if (actual > limit.getValue()) {
+                    violations.add(String.format("%s %.2fms > %.2fms", limit.getKey(), actual, limit.getValue()));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static double valueOf(LoadReport report, Operation operation, String metric) {
+        if ("max".equals(metric)) {
+            return report.percentileMillis(operation, 100);
+        }
+        if (!metric.startsWith("p")) {
+            throw new IllegalArgumentException("未知的预算指标：" + metric);
+        }
+        return report.percentileMillis(operation, Double.parseDouble(metric.substring(1)));
+    }
+
+    private static InputStream open(String location) throws IOException {
+        if (location.startsWith("classpath:")) {
+            String path = location.substring("classpath:".length());
+            InputStream in = LatencyBudget.class.getClassLoader().getResourceAsStream(path);
+            if (in == null) {
+                throw new IOException("预算文件不存在：" + location);
+            }
+            return in;
+        }
+        return Files.newInputStream(Paths.get(location));
+    }
+}
@@ -0,0 +1,126 @@
+package com.blog.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压测结果
+ * 每个操作一个HDR直方图（微秒，3位有效数字），记录成功请求的延迟，失败请求单独计数，
+ * 并保留每个操作的第一条失败原因便于排查
+ */
+class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, ConcurrentHistogram> histograms = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, String> firstFailures = new ConcurrentHashMap<>();
+
+    private volatile long elapsedNanos;
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos, boolean success) {
+        if (success) {
+            histograms.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        } else {
+            errors.get(operation).increment();
+        }
+    }
+
+    void recordFailure(Operation operation, String reason) {
+        firstFailures.putIfAbsent(operation, reason.length() > 300 ? reason.substring(0, 300) + "..." : reason);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    Histogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    long count(Operation operation) {
+        return histograms.get(operation).getTotalCount();
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    double errorRate(Operation operation) {
+        long total = count(operation) + errors(operation);
+        return total == 0 ? 0 : (double) errors(operation) / total;
+    }
+
+    double throughput(Operation operation) {
+        return elapsedNanos == 0 ? 0 : count(operation) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * 获取分位数延迟（毫秒）
+     *
+     * @param operation  操作
+     * @param percentile 分位数，取值0~100
+     * @return 延迟
+     */
+    double percentileMillis(Operation operation, double percentile) {
+        return histograms.get(operation).getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-12s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Operation operation : Operation.values()) {
+            if (count(operation) + errors(operation) == 0) {
+                continue;
+            }
+            out.printf("%-12s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.key(), count(operation), errors(operation), throughput(operation),
+                    percentileMillis(operation, 50), percentileMillis(operation, 90),
+                    percentileMillis(operation, 99), percentileMillis(operation, 99.9),
+                    histograms.get(operation).getMaxValue() / 1000.0);
+        }
+        firstFailures.forEach((operation, reason) -> out.printf("%s 首次失败：%s%n", operation.key(), reason));
+    }
+
+    /**
+     * 写出汇总表和各操作的延迟分布（.hgrm，可用HdrHistogram Plotter绘图）
+     *
+     * @param directory 输出目录
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("report.txt")),
+                true, StandardCharsets.UTF_8.name())) {
+            print(out);
+        }
+        for (Operation operation : Operation.values()) {
+            if (count(operation) == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.key() + ".hgrm")),
+                    true, StandardCharsets.UTF_8.name())) {
+                histograms.get(operation).outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 压测参数，均可通过系统属性覆盖，例如 -Dloadtest.concurrency=32
+ */
+class LoadTestSettings {
+
+    /**
+     * 预置文章数
+     */
+    final int articles = Integer.getInteger("loadtest.articles", 2000);
+
+    /**
+     * 预置分类数
+     */
+    final int categories = Integer.getInteger("loadtest.categories", 12);
+
+    /**
+     * 正文最大字节数，正文长度在2KB到该值之间按对数均匀分布；
+     * 默认8KB，正文总量与设定延迟预算时的语料相当，使用更大的正文时需同时指定相应的预算文件
+     */
+    final int maxBodyBytes = Integer.getInteger("loadtest.max-body-bytes", 8 * 1024);
+
+    /**
+     * 随机种子，数据和请求序列由种子决定
+     */
+    final long seed = Long.getLong("loadtest.seed", 42L);
+
+    /**
+     * 并发虚拟用户数
+     */
+    final int concurrency = Integer.getInteger("loadtest.concurrency", 4);
+
+    /**
+     * 平均思考时间（毫秒），实际在0~2倍之间均匀分布，0表示不等待
+     */
+    final long thinkTimeMillis = Long.getLong("loadtest.think-time-ms", 20L);
+
+    /**
+     * 预热时长（秒），预热期间的请求不计入统计
+     */
+    final long warmupSeconds = Long.getLong("loadtest.warmup-seconds", 10L);
+
+    /**
+     * 统计时长（秒）
+     */
+    final long durationSeconds = Long.getLong("loadtest.duration-seconds", 30L);
+
+    /**
+     * 应用的请求执行模式（blog.execution.mode）：platform或virtual（需JDK 21+），对比两种模式时各运行一次
+     */
+    final String executionMode = System.getProperty("loadtest.execution-mode", "platform");
+
+    /**
+     * 延迟预算文件，classpath:开头从类路径读取，否则按文件路径读取
+     */
+    final String budget = System.getProperty("loadtest.budget", "classpath:loadtest/latency-budget.properties");
+
+    /**
+     * 请求比例，格式为“操作=权重”，逗号分隔
+     */
+    final Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+            "detail=45,list=25,search=10,suggestions=10,login=5,upload=5"));
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String item : value.split(",")) {
+            String[] pair = item.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.of(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix至少需要一个权重大于0的操作");
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "articles=" + articles + ", categories=" + categories + ", maxBodyBytes=" + maxBodyBytes
+                + ", seed=" + seed
+                + ", executionMode=" + executionMode + ", concurrency=" + concurrency + ", thinkTime=" + thinkTimeMillis + "ms"
+                + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s, mix=" + mix;
+    }
+}
@@ -0,0 +1,56 @@
+package com.blog.loadtest;
+
+/**
+ * 压测操作
+ */
+enum Operation {
+
+    /**
+     * 文章详情 GET /articles/{id}
+     */
+    DETAIL("detail"),
+
+    /**
+     * 文章列表 GET /articles?page=&size=
+     */
+    LIST("list"),
+
+    /**
+     * 文章搜索 GET /articles/search?keyword=
+     */
+    SEARCH("search"),
+
+    /**
+     * 搜索建议 GET /articles/search/suggestions?keyword=
+     */
+    SUGGESTIONS("suggestions"),
+
+    /**
+     * 登录 POST /auth/login
+     */
+    LOGIN("login"),
+
+    /**
+     * 图片上传 POST /files/images
+     */
+    UPLOAD("upload");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("未知的压测操作：" + key);
+    }
+}
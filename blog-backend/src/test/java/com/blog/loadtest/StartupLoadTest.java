@@ -0,0 +1,291 @@
+package com.blog.loadtest;
+
+import com.blog.util.CorpusGenerator;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 启动耗时基准
+ * 在H2文件库（MySQL兼容模式）上执行迁移脚本并预置合成语料，然后以独立JVM进程分别按默认配置、fast配置、
+ * fast配置加AppCDS归档启动应用，记录从创建进程到第一个请求成功返回的时间（time-to-first-request），
+ * 每种模式重复多次取中位数，同时记录Spring Boot日志中报告的启动耗时。
+ * 应用类打包成jar后与依赖jar组成类路径（AppCDS不归档目录中的类），fast+cds模式先做一次训练运行生成归档。
+ * 不随普通测试运行，执行方式：mvn test -Pload-test,fast-startup -Dtest=StartupLoadTest
+ * （fast-startup profile同时在编译时生成组件索引），参数可通过 -Dstartup.runs=5 等覆盖
+ */
+class StartupLoadTest {
+
+    private static final Path OUTPUT = Paths.get("target", "startup-benchmark");
+
+    private static final Pattern STARTED = Pattern.compile("Started BlogApplication in ([0-9.]+) seconds");
+
+    /**
+     * 每种模式的启动次数
+     */
+    private final int runs = Integer.getInteger("startup.runs", 3);
+
+    /**
+     * 预置文章数
+     */
+    private final int articles = Integer.getInteger("startup.articles", 2000);
+
+    /**
+     * 第一个请求的路径（不含/api）
+     */
+    private final String path = System.getProperty("startup.path", "/categories");
+
+    /**
+     * 单次启动的超时时间（秒）
+     */
+    private final long timeoutSeconds = Long.getLong("startup.timeout-seconds", 180L);
+
+    /**
+     * fast配置首个请求耗时中位数的预算（毫秒），0表示只记录不检查
+     */
+    private final long budgetMillis = Long.getLong("startup.budget-ms", 0L);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        FileSystemUtils.deleteRecursively(OUTPUT);
+        Files.createDirectories(OUTPUT);
+        String databaseUrl = "jdbc:h2:file:" + OUTPUT.resolve("db").toAbsolutePath()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(databaseUrl, "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        CorpusGenerator.Options options = new CorpusGenerator.Options();
+        options.setArticles(articles);
+        new CorpusGenerator(new JdbcTemplate(dataSource), options).generate();
+
+        List<String> classPath = classPath();
+        boolean indexed = Files.exists(Paths.get("target", "classes", "META-INF", "spring.components"));
+        System.out.printf("类路径%d个jar，组件索引：%s%n", classPath.size(), indexed ? "有" : "无（未启用fast-startup profile）");
+
+        List<String> common = List.of(
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.druid.validation-query=SELECT 1",
+                // wall过滤器无法解析部分H2语法
+                "--spring.datasource.druid.filters=stat",
+                // H2的列类型与MySQL不同，无法通过实体映射校验
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--management.server.port=-1",
+                // 启动预热与首个请求并行执行，只测量启动本身
+                "--blog.warmup.enabled=false",
+                "--file.upload-dir=" + OUTPUT.resolve("uploads").toAbsolutePath());
+
+        List<Result> results = new ArrayList<>();
+        results.add(measure("default", List.of(), classPath, common));
+        List<String> fast = concat(common, List.of("--spring.profiles.active=fast"));
+        results.add(measure("fast", List.of(), classPath, fast));
+        if (Runtime.version().feature() >= 13) {
+            Path archive = OUTPUT.resolve("blog.jsa").toAbsolutePath();
+            train(archive, classPath, fast);
+            results.add(measure("fast+cds", List.of("-XX:SharedArchiveFile=" + archive), classPath, fast));
+        } else {
+            System.out.println("JDK 13以下不支持-XX:ArchiveClassesAtExit，跳过fast+cds模式");
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-10s %6s %16s %12s %18s%n", "模式", "次数", "首个请求中位数ms", "最小ms", "Spring启动中位数s"));
+        for (Result result : results) {
+            report.append(String.format("%-10s %6d %16d %12d %18.3f%n", result.mode, result.firstRequestMillis.length,
+                    median(result.firstRequestMillis), Arrays.stream(result.firstRequestMillis).min().orElse(0),
+                    result.medianStartedSeconds()));
+        }
+        System.out.print(report);
+        Files.write(OUTPUT.resolve("report.txt"), report.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (budgetMillis > 0) {
+            long fastMedian = median(results.get(1).firstRequestMillis);
+            assertTrue(fastMedian <= budgetMillis, "fast配置首个请求耗时中位数" + fastMedian + "ms超出预算" + budgetMillis + "ms");
+        }
+    }
+
+    /**
+     * 重复启动并记录首个请求耗时
+     */
+    private Result measure(String mode, List<String> jvmArgs, List<String> classPath, List<String> args)
+            throws Exception {
+        Result result = new Result(mode, runs);
+        for (int i = 0; i < runs; i++) {
+            int port = freePort();
+            Path log = OUTPUT.resolve(mode + "-" + i + ".log");
+            List<String> appArgs = concat(args, List.of("--server.port=" + port));
+            long start = System.nanoTime();
+            Process process = start(jvmArgs, classPath, appArgs, log);
+            try {
+                awaitFirstRequest(process, "http://localhost:" + port + "/api" + path, log);
+                result.firstRequestMillis[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            } finally {
+                stop(process);
+            }
+            Matcher matcher = STARTED.matcher(Files.readString(log, StandardCharsets.UTF_8));
+            result.startedSeconds[i] = matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+            System.out.printf("%s #%d: 首个请求%dms，Spring启动%.3fs%n", mode, i + 1, result.firstRequestMillis[i],
+                    result.startedSeconds[i]);
+        }
+        return result;
+    }
+
+    /**
+     * AppCDS训练运行：启动完成后退出，退出时把加载过的类写入归档
+     */
+    private void train(Path archive, List<String> classPath, List<String> args) throws Exception {
+        Path log = OUTPUT.resolve("cds-training.log");
+        Process process = start(List.of("-XX:ArchiveClassesAtExit=" + archive), classPath,
+                concat(args, List.of("--server.port=0", "--blog.startup.exit-after-start=true")), log);
+        assertTrue(process.waitFor(timeoutSeconds, TimeUnit.SECONDS), "AppCDS训练运行超时，见" + log);
+        assertTrue(process.exitValue() == 0 && Files.exists(archive), "AppCDS训练运行失败，见" + log);
+        System.out.printf("AppCDS归档%dKB%n", Files.size(archive) / 1024);
+    }
+
+    private Process start(List<String> jvmArgs, List<String> classPath, List<String> args, Path log)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add("com.blog.BlogApplication");
+        command.addAll(args);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private void awaitFirstRequest(Process process, String url, Path log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(timeoutSeconds)).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "应用启动失败，见" + log);
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                assertTrue(response.statusCode() == 200, url + "返回" + response.statusCode() + "，见" + log);
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("应用" + timeoutSeconds + "秒内未响应，见" + log);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * 应用类打包成jar放在首位，其后是测试类路径中的依赖jar；测试类目录不加入，避免扫描到测试组件
+     */
+    private static List<String> classPath() throws IOException {
+        Path appJar = OUTPUT.resolve("blog-classes.jar").toAbsolutePath();
+        jar(Paths.get("target", "classes"), appJar);
+        List<String> classPath = new ArrayList<>();
+        classPath.add(appJar.toString());
+        String testClassPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        for (String entry : testClassPath.split(File.pathSeparator)) {
+            if (entry.endsWith(".jar") && Files.isRegularFile(Paths.get(entry))) {
+                classPath.add(entry);
+            }
+        }
+        return classPath;
+    }
+
+    private static void jar(Path directory, Path target) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(target);
+             JarOutputStream jar = new JarOutputStream(outputStream);
+             Stream<Path> files = Files.walk(directory)) {
+            // 目录条目也要写入，Flyway按目录查找jar中的迁移脚本
+            for (Path file : files.filter(file -> !file.equals(directory)).sorted().collect(Collectors.toList())) {
+                String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(file)) {
+                    jar.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jar.putNextEntry(new JarEntry(name));
+                    Files.copy(file, jar);
+                }
+                jar.closeEntry();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> result = new ArrayList<>(first);
+        result.addAll(second);
+        return result;
+    }
+
+    /**
+     * 一种启动模式的结果
+     */
+    private static class Result {
+
+        private final String mode;
+        private final long[] firstRequestMillis;
+        private final double[] startedSeconds;
+
+        Result(String mode, int runs) {
+            this.mode = mode;
+            this.firstRequestMillis = new long[runs];
+            this.startedSeconds = new double[runs];
+        }
+
+        double medianStartedSeconds() {
+            double[] sorted = startedSeconds.clone();
+            Arrays.sort(sorted);
+            return sorted[sorted.length / 2];
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.blog.loadtest;
+
+import com.blog.util.CorpusText;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 压测虚拟用户
+ * 按权重随机选择操作，同步等待响应后思考一段时间再发下一个请求（闭环模型）；
+ * HTTP状态为2xx且响应体code为200才算成功
+ */
+class VirtualUser implements Runnable {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String LOGIN_BODY = "{\"username\":\"admin\",\"password\":\"admin123\"}";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * 搜索关键词取自语料词表，保证命中率稳定
+     */
+    private static final List<String> KEYWORDS = CorpusText.keywords();
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final LoadTestSettings settings;
+
+    private final LoadReport report;
+
+    private final Random random;
+
+    private final Operation[] choices;
+
+    private final byte[] image;
+
+    private final long measureFrom;
+
+    private final long deadline;
+
+    private String token;
+
+    VirtualUser(HttpClient client, String baseUrl, LoadTestSettings settings, LoadReport report, int index,
+                byte[] image, long measureFrom, long deadline) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.report = report;
+        this.random = new Random(settings.seed * 31 + index);
+        this.choices = expand(settings.mix);
+        this.image = image;
+        this.measureFrom = measureFrom;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public void run() {
+        try {
+            login();
+            while (System.nanoTime() < deadline) {
+                Operation operation = choices[random.nextInt(choices.length)];
+                HttpRequest request = request(operation);
+                long start = System.nanoTime();
+                boolean success = execute(operation, request);
+                long end = System.nanoTime();
+                if (start >= measureFrom && end <= deadline) {
+                    report.record(operation, end - start, success);
+                }
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean execute(Operation operation, HttpRequest request) throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2 && response.body().contains("\"code\":200");
+            if (!success) {
+                report.recordFailure(operation, response.statusCode() + " " + response.body());
+            } else if (operation == Operation.LOGIN) {
+                updateToken(response.body());
+            }
+            return success;
+        } catch (IOException e) {
+            report.recordFailure(operation, e.toString());
+            return false;
+        }
+    }
+
+    private void login() throws InterruptedException {
+        try {
+            updateToken(client.send(request(Operation.LOGIN), HttpResponse.BodyHandlers.ofString()).body());
+        } catch (IOException e) {
+            throw new IllegalStateException("压测用户登录失败", e);
+        }
+    }
+
+    private void updateToken(String body) {
+        Matcher matcher = TOKEN.matcher(body);
+        if (matcher.find()) {
+            token = matcher.group(1);
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        switch (operation) {
+            case DETAIL:
+                return get("/articles/" + hotArticleId());
+            case LIST:
+                return get("/articles?page=" + (1 + skewed(20)) + "&size=10");
+            case SEARCH:
+                return get("/articles/search?keyword=" + encode(word()) + "&page=1&size=10");
+            case SUGGESTIONS:
+                return get("/articles/search/suggestions?keyword=" + encode(word().substring(0, 1)) + "&limit=5");
+            case LOGIN:
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .timeout(TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                        .build();
+            case UPLOAD:
+                return upload();
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest upload() {
+        String boundary = "----blogloadtest" + Long.toHexString(random.nextLong());
+        ByteArrayOutputStream body = new ByteArrayOutputStream(image.length + 256);
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        body.write(head, 0, head.length);
+        body.write(image, 0, image.length);
+        body.write(tail, 0, tail.length);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/files/images"))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    /**
+     * 偏向小ID的文章，模拟少量热点文章承担大部分访问
+     */
+    private long hotArticleId() {
+        return 1 + skewed(settings.articles);
+    }
+
+    private int skewed(int bound) {
+        double u = random.nextDouble();
+        return (int) (u * u * u * bound);
+    }
+
+    private String word() {
+        return KEYWORDS.get(random.nextInt(KEYWORDS.size()));
+    }
+
+    private void think() throws InterruptedException {
+        if (settings.thinkTimeMillis > 0) {
+            Thread.sleep((long) (random.nextDouble() * 2 * settings.thinkTimeMillis));
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Operation[] expand(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] choices = new Operation[total];
+        int index = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                choices[index++] = entry.getKey();
+            }
+        }
+        return choices;
+    }
+}
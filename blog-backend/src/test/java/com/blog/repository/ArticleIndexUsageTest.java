@@ -0,0 +1,86 @@
+package com.blog.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章查询索引测试：在H2 MySQL模式下执行迁移脚本，通过EXPLAIN确认热点查询命中索引
+ * H2只为过滤条件选择索引，无条件的 ORDER BY create_time 分页（idx_article_create_time）需在MySQL上确认
+ */
+class ArticleIndexUsageTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:index_usage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Object[]> rows = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 500; id++) {
+            Timestamp time = new Timestamp(now - id * 60000);
+            rows.add(new Object[]{id, "文章" + id, id % 10, (int) (id * 7 % 1000), (int) (id % 2), time, time});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO article (id, title, category_id, view_count, status, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testLatestArticlesUseStatusCreateTimeIndex() {
+        assertUsesIndex("SELECT id FROM article WHERE status = 1 ORDER BY create_time DESC LIMIT 10",
+                "idx_article_status_create_time");
+    }
+
+    @Test
+    void testPopularArticlesUseStatusViewCountIndex() {
+        assertUsesIndex("SELECT id FROM article WHERE status = 1 ORDER BY view_count DESC LIMIT 10",
+                "idx_article_status_view_count");
+    }
+
+    @Test
+    void testCategoryPageUsesCategoryStatusCreateTimeIndex() {
+        assertUsesIndex("SELECT id FROM article WHERE category_id = 3 AND status = 1 ORDER BY create_time DESC LIMIT 10",
+                "idx_article_category_status_create_time");
+    }
+
+    @Test
+    void testAdminCategoryPageUsesCategoryCreateTimeIndex() {
+        assertUsesIndex("SELECT id FROM article WHERE category_id = 3 ORDER BY create_time DESC LIMIT 10",
+                "idx_article_category_create_time");
+    }
+
+    @Test
+    void testCountByCategoryUsesCategoryIndex() {
+        assertUsesIndex("SELECT COUNT(id) FROM article WHERE category_id = 3", "idx_article_category_");
+    }
+
+    @Test
+    void testIncrementalExportUsesUpdateTimeIndex() {
+        assertUsesIndex("SELECT id FROM article WHERE update_time >= DATEADD('MINUTE', -30, CURRENT_TIMESTAMP)",
+                "idx_article_update_time");
+    }
+
+    @Test
+    void testPendingPublicationsUseStatusPublishAtIndex() {
+        assertUsesIndex("SELECT id, publish_at FROM article WHERE status = 0 AND publish_at IS NOT NULL",
+                "idx_article_status_publish_at");
+    }
+
+    private static void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan.toLowerCase().contains(index), () -> "未命中索引" + index + "：" + plan);
+    }
+}
@@ -0,0 +1,101 @@
+package com.blog.repository;
+
+import com.blog.entity.Category;
+import com.blog.service.MonitorService;
+import com.blog.service.impl.MonitorServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.vo.CacheRegionStatsVO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 基础数据二级缓存测试：按ID查询和状态查询命中缓存，写入后查询缓存失效
+ */
+@JpaSliceTest
+@Import(MonitorServiceImpl.class)
+class ReferenceEntityCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MonitorService monitorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setup() {
+        Category category = new Category();
+        category.setName("缓存分类");
+        category.setStatus(1);
+        categoryId = categoryRepository.save(category).getId();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testFindByIdHitsSecondLevelCache() {
+        categoryRepository.findById(categoryId);
+        long statements = statistics.getPrepareStatementCount();
+
+        categoryRepository.findById(categoryId);
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testFindByStatusUsesQueryCacheUntilWrite() {
+        Sort sort = Sort.by("sort");
+        categoryRepository.findByStatus(1, sort);
+        long statements = statistics.getPrepareStatementCount();
+
+        categoryRepository.findByStatus(1, sort);
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        Category category = categoryRepository.findById(categoryId).orElseThrow();
+        category.setName("缓存分类-改");
+        categoryRepository.save(category);
+        statements = statistics.getPrepareStatementCount();
+
+        assertEquals("缓存分类-改", categoryRepository.findByStatus(1, sort).get(0).getName());
+        assertTrue(statistics.getPrepareStatementCount() > statements);
+    }
+
+    @Test
+    void testRegionStatsAreExposed() {
+        categoryRepository.findById(categoryId);
+        categoryRepository.findById(categoryId);
+
+        CacheRegionStatsVO region = monitorService.getCacheStats().stream()
+                .filter(stats -> stats.getRegion().equals(Category.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(region.getHits() >= 1);
+    }
+}
@@ -0,0 +1,182 @@
+package com.blog.service;
+
+import com.blog.common.CursorResult;
+import com.blog.dto.ArticleBatchDTO;
+import com.blog.dto.ArticleDTO;
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.impl.ArticleBatchServiceImpl;
+import com.blog.service.impl.ArticleServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.ViewCountBuffer;
+import com.blog.vo.ArchiveMonthVO;
+import com.blog.vo.ArticleVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章归档索引测试：启动时构建，随文章增删改增量维护，按月游标分页
+ */
+@JpaSliceTest
+@Import({ArticleServiceImpl.class, ArticleBatchServiceImpl.class, ArticleContentCodec.class, ArchiveIndex.class})
+class ArchiveIndexTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleBatchService articleBatchService;
+
+    @Autowired
+    private ArchiveIndex archiveIndex;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ViewCountBuffer viewCountBuffer;
+
+    @MockBean
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    private Long categoryId;
+
+    private final List<Long> marchIds = new ArrayList<>();
+
+    private Long aprilDraftId;
+
+    @BeforeEach
+    void setup() {
+        Category category = new Category();
+        category.setName("归档分类");
+        categoryId = categoryRepository.save(category).getId();
+
+        // 2024-03 五篇已发布，2024-04 一篇已发布一篇草稿
+        for (int i = 0; i < 5; i++) {
+            marchIds.add(saveArticle(LocalDateTime.of(2024, 3, 1 + i, 10, 0), 1));
+        }
+        saveArticle(LocalDateTime.of(2024, 4, 2, 10, 0), 1);
+        aprilDraftId = saveArticle(LocalDateTime.of(2024, 4, 3, 10, 0), 0);
+        archiveIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleBodyRepository.deleteAll();
+        articleRepository.deleteAll();
+        categoryRepository.deleteAll();
+        marchIds.clear();
+    }
+
+    @Test
+    void testArchiveBuiltFromPublishedArticles() {
+        List<ArchiveMonthVO> archive = articleService.getArchive();
+
+        assertEquals(2, archive.size());
+        assertEquals(new ArchiveMonthVO("2024-04", 1), archive.get(0));
+        assertEquals(new ArchiveMonthVO("2024-03", 5), archive.get(1));
+    }
+
+    @Test
+    void testMutationsUpdateIndex() {
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle("新文章");
+        articleDTO.setContent("内容");
+        articleDTO.setCategoryId(categoryId);
+        ArticleVO created = articleService.createArticle(articleDTO);
+        YearMonth currentMonth = archiveIndex.toMonth(created.getCreateTime());
+        assertTrue(archiveIndex.getArticleIds(currentMonth).contains(created.getId()));
+
+        // 撤回为草稿后移出归档
+        ArticleDTO draft = new ArticleDTO();
+        draft.setStatus(0);
+        articleService.updateArticle(created.getId(), draft);
+        assertTrue(archiveIndex.getArticleIds(currentMonth).isEmpty());
+
+        articleService.deleteArticle(marchIds.get(0));
+        assertEquals(4, archiveIndex.getArticleIds(YearMonth.of(2024, 3)).size());
+
+        // 批量撤回3月份剩余文章后该月从归档中消失
+        ArticleBatchDTO batchDTO = new ArticleBatchDTO();
+        batchDTO.setIds(marchIds);
+        batchDTO.setTargetStatus(0);
+        articleBatchService.updateStatus(batchDTO);
+        assertEquals(1, articleService.getArchive().size());
+    }
+
+    @Test
+    void testSyncPicksUpChangesFromOtherNodes() {
+        // 模拟持有定时发布租约的其他节点发布草稿、撤回一篇3月文章，本节点的索引未收到通知
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("UPDATE article SET status = 1, update_time = ? WHERE id = ?", now, aprilDraftId);
+        jdbcTemplate.update("UPDATE article SET status = 0, update_time = ? WHERE id = ?", now, marchIds.get(0));
+        assertEquals(1, archiveIndex.getArticleIds(YearMonth.of(2024, 4)).size());
+
+        archiveIndex.sync();
+
+        assertEquals(2, archiveIndex.getArticleIds(YearMonth.of(2024, 4)).size());
+        assertTrue(archiveIndex.getArticleIds(YearMonth.of(2024, 4)).contains(aprilDraftId));
+        assertEquals(4, archiveIndex.getArticleIds(YearMonth.of(2024, 3)).size());
+    }
+
+    @Test
+    void testMonthKeysetPaging() {
+        CursorResult<ArticleVO> first = articleService.getArchiveArticles("2024-03", null, 2);
+        assertEquals(2, first.getList().size());
+        assertEquals(marchIds.get(4), first.getList().get(0).getId());
+        assertNotNull(first.getNextCursor());
+
+        CursorResult<ArticleVO> second = articleService.getArchiveArticles("2024-03", first.getNextCursor(), 2);
+        assertEquals(marchIds.get(2), second.getList().get(0).getId());
+
+        CursorResult<ArticleVO> last = articleService.getArchiveArticles("2024-03", second.getNextCursor(), 2);
+        assertEquals(1, last.getList().size());
+        assertEquals(marchIds.get(0), last.getList().get(0).getId());
+        assertNull(last.getNextCursor());
+
+        assertTrue(articleService.getArchiveArticles("2023-01", null, 2).getList().isEmpty());
+    }
+
+    private Long saveArticle(LocalDateTime createTime, int status) {
+        Article article = new Article();
+        article.setTitle("文章" + createTime);
+        article.setCategoryId(categoryId);
+        article.setViewCount(0);
+        article.setStatus(status);
+        Long id = articleRepository.save(article).getId();
+        // 审计监听器会覆盖创建时间，保存后直接回填
+        jdbcTemplate.update("UPDATE article SET create_time = ? WHERE id = ?", Timestamp.valueOf(createTime), id);
+        return id;
+    }
+}
@@ -0,0 +1,170 @@
+package com.blog.service;
+
+import com.blog.dto.ArticleBatchDTO;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleBody;
+import com.blog.entity.Category;
+import com.blog.exception.BlogException;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.impl.ArticleBatchServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.ViewCountBuffer;
+import com.blog.vo.BatchResultVO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章批量操作测试：按块执行集合语句，返回实际变更数量
+ */
+@JpaSliceTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "blog.batch.chunk-size=4"
+})
+@Import({ArticleBatchServiceImpl.class, ArchiveIndex.class})
+class ArticleBatchServiceTest {
+
+    @Autowired
+    private ArticleBatchService articleBatchService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ViewCountBuffer viewCountBuffer;
+
+    @MockBean
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    private Statistics statistics;
+
+    private Long sourceCategoryId;
+
+    private Long targetCategoryId;
+
+    private final List<Long> articleIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        sourceCategoryId = saveCategory("源分类");
+        targetCategoryId = saveCategory("目标分类");
+        // 10篇文章，前6篇草稿，后4篇已发布
+        for (int i = 0; i < 10; i++) {
+            Article article = new Article();
+            article.setTitle("文章" + i);
+            article.setCategoryId(sourceCategoryId);
+            article.setViewCount(0);
+            article.setStatus(i < 6 ? 0 : 1);
+            Long id = articleRepository.save(article).getId();
+            ArticleBody body = new ArticleBody(id);
+            body.setContent("内容" + i);
+            articleBodyRepository.save(body);
+            articleIds.add(id);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleBodyRepository.deleteAll();
+        articleRepository.deleteAll();
+        categoryRepository.deleteAll();
+        articleIds.clear();
+    }
+
+    @Test
+    void testPublishByFilterCountsOnlyChangedRows() {
+        ArticleBatchDTO batchDTO = new ArticleBatchDTO();
+        batchDTO.setCategoryId(sourceCategoryId);
+        batchDTO.setTargetStatus(1);
+
+        BatchResultVO result = articleBatchService.updateStatus(batchDTO);
+
+        assertEquals(6L, result.getAffected());
+        // 10篇按每块4篇分3块：3次选取ID + 3条UPDATE，不逐条加载或更新实体
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(10, articleRepository.findByStatus(1, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void testMoveByIds() {
+        ArticleBatchDTO batchDTO = new ArticleBatchDTO();
+        batchDTO.setIds(Arrays.asList(articleIds.get(0), articleIds.get(1), articleIds.get(1), -1L));
+        batchDTO.setTargetCategoryId(targetCategoryId);
+
+        BatchResultVO result = articleBatchService.moveCategory(batchDTO);
+
+        assertEquals(2L, result.getAffected());
+        assertEquals(2L, articleRepository.countByCategoryId(targetCategoryId));
+    }
+
+    @Test
+    void testMoveToMissingCategoryRejected() {
+        ArticleBatchDTO batchDTO = new ArticleBatchDTO();
+        batchDTO.setIds(articleIds);
+        batchDTO.setTargetCategoryId(-1L);
+
+        assertThrows(BlogException.class, () -> articleBatchService.moveCategory(batchDTO));
+    }
+
+    @Test
+    void testDeleteRemovesBodies() {
+        ArticleBatchDTO batchDTO = new ArticleBatchDTO();
+        batchDTO.setStatus(0);
+
+        BatchResultVO result = articleBatchService.deleteArticles(batchDTO);
+
+        assertEquals(6L, result.getAffected());
+        assertEquals(4, articleRepository.count());
+        assertEquals(4, articleBodyRepository.count());
+        assertFalse(articleBodyRepository.existsById(articleIds.get(0)));
+        assertTrue(articleBodyRepository.existsById(articleIds.get(9)));
+    }
+
+    @Test
+    void testRequiresIdsOrFilter() {
+        ArticleBatchDTO batchDTO = new ArticleBatchDTO();
+        batchDTO.setTargetStatus(1);
+
+        assertThrows(BlogException.class, () -> articleBatchService.updateStatus(batchDTO));
+    }
+
+    private Long saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category).getId();
+    }
+}
@@ -0,0 +1,124 @@
+package com.blog.service;
+
+import com.blog.common.PageResult;
+import com.blog.dto.ArticleDTO;
+import com.blog.entity.ArticleBody;
+import com.blog.entity.Category;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.impl.ArticleServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.ViewCountBuffer;
+import com.blog.vo.ArticleContentVO;
+import com.blog.vo.ArticleVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 压缩存储正文的测试：超过压缩阈值的正文只存压缩数据，仍能按关键词搜到，返回时解压或直接返回压缩数据
+ */
+@JpaSliceTest
+@TestPropertySource(properties = {
+        "blog.content.compression.enabled=true",
+        "blog.content.compression.threshold=1024"
+})
+@Import({ArticleServiceImpl.class, ArticleContentCodec.class, ArchiveIndex.class})
+class ArticleContentSearchTest {
+
+    /**
+     * 关键词位于长正文末尾，压缩前后都只出现在正文中
+     */
+    private static final String CONTENT = "<p>Lorem ipsum dolor sit amet 博客正文</p>\n".repeat(100) + "<p>虚拟线程调度</p>";
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private ViewCountBuffer viewCountBuffer;
+
+    @MockBean
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    private Long articleId;
+
+    @BeforeEach
+    void setup() {
+        Category category = new Category();
+        category.setName("技术");
+        category = categoryRepository.save(category);
+
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle("长文");
+        articleDTO.setContent(CONTENT);
+        articleDTO.setCategoryId(category.getId());
+        articleDTO.setStatus(1);
+        articleId = articleService.createArticle(articleDTO).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleBodyRepository.deleteAll();
+        articleRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testCompressedArticleIsFoundByKeyword() {
+        ArticleBody body = articleBodyRepository.findById(articleId).orElseThrow();
+        assertNotNull(body.getContentGzip());
+        assertNull(body.getContent());
+
+        PageResult<ArticleVO> listed = articleService.getArticles(1, 10, "虚拟线程", null, 1);
+        assertEquals(1L, listed.getTotal());
+        assertEquals(articleId, listed.getList().get(0).getId());
+
+        PageResult<ArticleVO> searched = articleService.searchArticles("虚拟线程", null, 1, 10, "createTime", "desc");
+        assertEquals(1L, searched.getTotal());
+    }
+
+    @Test
+    void testCompressedCopyIsServedToGzipClients() {
+        ArticleContentVO gzipped = articleService.getArticleContent(articleId, true);
+        assertTrue(gzipped.getGzipped());
+        assertEquals(CONTENT, ArticleContentCodec.gunzip(gzipped.getData()));
+
+        ArticleContentVO plain = articleService.getArticleContent(articleId, false);
+        assertFalse(plain.getGzipped());
+        assertEquals(CONTENT, new String(plain.getData(), StandardCharsets.UTF_8));
+
+        assertEquals(CONTENT, articleService.getArticle(articleId).getContent());
+    }
+
+    @Test
+    void testMarkupIsNotSearchable() {
+        // 压缩正文按去除标记后的文本搜索，标签名不会命中
+        PageResult<ArticleVO> listed = articleService.getArticles(1, 10, "<p>", null, 1);
+        assertEquals(0L, listed.getTotal());
+    }
+}
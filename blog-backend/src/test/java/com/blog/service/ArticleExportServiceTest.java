@@ -0,0 +1,166 @@
+package com.blog.service;
+
+import com.blog.entity.Article;
+import com.blog.entity.ArticleBody;
+import com.blog.entity.Category;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.impl.ArticleExportServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.util.ArticleContentCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章导出服务测试：每行一篇文章的NDJSON，字段与文章VO一致，支持按更新时间增量导出
+ */
+@JpaSliceTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ArticleExportServiceImpl.class, ArticleContentCodec.class})
+class ArticleExportServiceTest {
+
+    private static final Set<String> FIELDS = new TreeSet<>(List.of("id", "title", "content", "summary", "thumbnail",
+            "categoryId", "categoryName", "viewCount", "tags", "status", "publishAt", "createTime", "updateTime"));
+
+    @Autowired
+    private ArticleExportService articleExportService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long categoryId;
+
+    private Long oldId;
+
+    private Long newId;
+
+    @BeforeEach
+    void setup() {
+        Category category = new Category();
+        category.setName("导出分类");
+        categoryId = categoryRepository.save(category).getId();
+
+        oldId = saveArticle("旧文章", "旧正文\n含换行");
+        newId = saveArticle("新文章", "新正文");
+        jdbcTemplate.update("UPDATE article SET update_time = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)), oldId);
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleBodyRepository.deleteAll();
+        articleRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testExportsOneArticlePerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = articleExportService.exportArticles(null, output);
+
+        List<JsonNode> lines = parse(output);
+        assertEquals(2, count);
+        assertEquals(2, lines.size());
+        for (JsonNode line : lines) {
+            assertEquals(FIELDS, fieldNames(line));
+        }
+
+        JsonNode first = lines.get(0);
+        assertEquals(oldId.longValue(), first.get("id").asLong());
+        assertEquals("旧文章", first.get("title").asText());
+        assertEquals("旧正文\n含换行", first.get("content").asText());
+        assertEquals(categoryId.longValue(), first.get("categoryId").asLong());
+        assertEquals("导出分类", first.get("categoryName").asText());
+        assertEquals(1, first.get("status").asInt());
+        assertEquals(newId.longValue(), lines.get(1).get("id").asLong());
+    }
+
+    @Test
+    void testUpdatedSinceFiltersOlderArticles() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Date since = Timestamp.valueOf(LocalDateTime.of(2024, 6, 1, 0, 0));
+        long count = articleExportService.exportArticles(since, output);
+
+        List<JsonNode> lines = parse(output);
+        assertEquals(1, count);
+        assertEquals(1, lines.size());
+        assertEquals(newId.longValue(), lines.get(0).get("id").asLong());
+    }
+
+    @Test
+    void testEmptyExport() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Date since = new Date(System.currentTimeMillis() + 3600_000);
+
+        assertEquals(0, articleExportService.exportArticles(since, output));
+        assertEquals(0, output.size());
+    }
+
+    private Long saveArticle(String title, String content) {
+        Article article = new Article();
+        article.setTitle(title);
+        article.setCategoryId(categoryId);
+        article.setViewCount(0);
+        article.setStatus(1);
+        Long id = articleRepository.save(article).getId();
+
+        ArticleBody body = new ArticleBody();
+        body.setArticleId(id);
+        body.setContent(content);
+        articleBodyRepository.save(body);
+        return id;
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream output) throws IOException {
+        String text = output.toString(StandardCharsets.UTF_8);
+        assertTrue(text.endsWith("\n"), "每行以换行结束");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new TreeSet<>();
+        Iterator<String> iterator = node.fieldNames();
+        iterator.forEachRemaining(names::add);
+        return names;
+    }
+}
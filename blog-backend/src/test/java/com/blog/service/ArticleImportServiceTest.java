@@ -0,0 +1,149 @@
+package com.blog.service;
+
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.impl.ArticleImportServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.vo.ImportErrorVO;
+import com.blog.vo.ImportResultVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章批量导入测试：按批次独立提交，逐行报告失败记录并继续导入，
+ * 整批写库失败时逐条重试，重试不会重复写入同一批中的成功记录
+ */
+@JpaSliceTest
+@TestPropertySource(properties = "blog.import.batch-size=3")
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+@Import({ArticleImportServiceImpl.class, ArticleContentCodec.class})
+class ArticleImportServiceTest {
+
+    @Autowired
+    private ArticleImportService articleImportService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private ArchiveIndex archiveIndex;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setup() {
+        Category category = new Category();
+        category.setName("导入分类");
+        categoryId = categoryRepository.save(category).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleBodyRepository.deleteAll();
+        articleRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testBadRowsReportedAndGoodRowsCommitted() throws IOException {
+        String thumbnailTooLong = "/uploads/" + "x".repeat(300) + ".png";
+        String input = String.join("\n",
+                article("A", ",\"createTime\":\"2020-01-02 03:04:05\""),
+                "{\"title\":",
+                article("B", ""),
+                article("C", ""),
+                "{\"content\":\"缺少标题\",\"categoryId\":" + categoryId + "}",
+                "",
+                article("D", ""),
+                // 通过校验但超出列长度，整批写库失败后逐条重试时定位到该行
+                article("E", ",\"thumbnail\":\"" + thumbnailTooLong + "\""),
+                article("F", ""),
+                "{\"title\":\"G\",\"content\":\"正文\",\"categoryName\":\"不存在的分类\"}",
+                "{\"title\":\"H\",\"content\":\"正文\",\"categoryName\":\"导入分类\"}");
+
+        ImportResultVO result = articleImportService.importArticles(stream(input));
+
+        assertEquals(10L, result.getTotal());
+        assertEquals(6L, result.getSuccess());
+        assertEquals(4L, result.getFailed());
+        List<ImportErrorVO> errors = result.getErrors();
+        assertEquals(List.of(2L, 5L, 8L, 10L),
+                errors.stream().map(ImportErrorVO::getLine).collect(Collectors.toList()));
+        assertTrue(errors.get(0).getMessage().startsWith("JSON格式错误"));
+        assertEquals("标题不能为空", errors.get(1).getMessage());
+        assertEquals("分类不存在", errors.get(3).getMessage());
+
+        // 失败批次中的D、F只写入一次，E未写入
+        List<String> titles = articleRepository.findAll().stream()
+                .map(Article::getTitle).sorted().collect(Collectors.toList());
+        assertEquals(List.of("A", "B", "C", "D", "F", "H"), titles);
+        assertEquals(6, articleBodyRepository.count());
+
+        Article first = articleRepository.findAll().stream()
+                .filter(article -> "A".equals(article.getTitle())).findFirst().orElseThrow();
+        assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4, 5),
+                first.getCreateTime().toInstant().atZone(ZoneId.of("GMT+8")).toLocalDateTime());
+    }
+
+    @Test
+    void testCompletedChunksStayCommittedWhenReadingFails() {
+        String input = String.join("\n", article("A", ""), article("B", ""), article("C", ""),
+                article("D", "")) + "\n";
+        InputStream failing = new SequenceInputStream(stream(input), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("上传连接中断");
+            }
+        });
+
+        assertThrows(IOException.class, () -> articleImportService.importArticles(failing));
+
+        // 第一批（A、B、C）已提交，未满一批的D随读取失败丢弃
+        List<String> titles = articleRepository.findAll().stream()
+                .map(Article::getTitle).sorted().collect(Collectors.toList());
+        assertEquals(List.of("A", "B", "C"), titles);
+    }
+
+    private String article(String title, String extra) {
+        return "{\"title\":\"" + title + "\",\"content\":\"正文" + title + "\",\"categoryId\":" + categoryId + extra + "}";
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package com.blog.service;
+
+import com.blog.common.PageResult;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleBody;
+import com.blog.entity.Category;
+import com.blog.repository.ArticleBodyRepository;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.service.impl.ArticleServiceImpl;
+import com.blog.support.JpaSliceTest;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.util.ArticlePublishScheduler;
+import com.blog.util.ViewCountBuffer;
+import com.blog.vo.ArticleVO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章读取路径测试：只读事务不刷新持久化上下文，列表查询一次加载分类
+ */
+@JpaSliceTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ArticleServiceImpl.class, ArticleContentCodec.class, ArchiveIndex.class})
+class ArticleReadPathTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ViewCountBuffer viewCountBuffer;
+
+    @MockBean
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    private Statistics statistics;
+
+    private Long articleId;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("分类" + i);
+            category = categoryRepository.save(category);
+            for (int j = 0; j < 2; j++) {
+                Article article = new Article();
+                article.setTitle("文章" + i + "-" + j);
+                article.setCategoryId(category.getId());
+                article.setViewCount(0);
+                article.setStatus(1);
+                articleId = articleRepository.save(article).getId();
+                ArticleBody body = new ArticleBody(articleId);
+                body.setContent("内容");
+                articleBodyRepository.save(body);
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleBodyRepository.deleteAll();
+        articleRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testListLoadsCategoriesWithoutExtraQueries() {
+        PageResult<ArticleVO> result = articleService.getArticles(1, 4, null, null, 1);
+
+        assertEquals(4, result.getList().size());
+        assertTrue(result.getList().stream().allMatch(vo -> vo.getCategoryName() != null));
+        assertTrue(result.getList().stream().allMatch(vo -> vo.getContent() == null));
+        // 一条列表查询加一条计数查询，不随分类数量增加
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void testDetailDoesNotFlush() {
+        ArticleVO article = articleService.getArticle(articleId);
+
+        assertEquals("分类2", article.getCategoryName());
+        assertEquals("内容", article.getContent());
+        // 文章（含分类）一条，正文一条
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getFlushCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void testSearchMatchesBodyContent() {
+        PageResult<ArticleVO> result = articleService.searchArticles("内容", null, 1, 10, "createTime", "desc");
+
+        assertEquals(6L, result.getTotal());
+        assertTrue(result.getList().stream().allMatch(vo -> vo.getContent() == null));
+    }
+}
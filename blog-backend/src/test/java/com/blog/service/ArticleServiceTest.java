@@ -1,29 +1,35 @@
 package com.blog.service;
 
+import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
 import com.blog.entity.Category;
+import com.blog.repository.ArticleBodyRepository;
 import com.blog.repository.ArticleRepository;
 import com.blog.repository.CategoryRepository;
 import com.blog.common.PageResult;
 import com.blog.service.impl.ArticleServiceImpl;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.ArticleContentCodec;
+import com.blog.util.ArticlePublishScheduler;
 import com.blog.vo.ArticleVO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +38,21 @@ class ArticleServiceTest {
     @Mock
     private ArticleRepository articleRepository;
 
+    @Mock
+    private ArticleBodyRepository articleBodyRepository;
+
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ArchiveIndex archiveIndex;
+
+    @Mock
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    @Spy
+    private ArticleContentCodec articleContentCodec = new ArticleContentCodec();
+
     @InjectMocks
     private ArticleServiceImpl articleService;
 
@@ -50,22 +68,28 @@ class ArticleServiceTest {
         testArticle = new Article();
         testArticle.setId(1L);
         testArticle.setTitle("测试文章");
-        testArticle.setContent("测试内容");
         testArticle.setCategoryId(1L);
+        testArticle.setCategory(testCategory);
         testArticle.setCreateTime(new Date());
         testArticle.setUpdateTime(new Date());
     }
 
     @Test
     void testGetArticle() {
-        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        ArticleBodyRepository.StoredContent stored = mock(ArticleBodyRepository.StoredContent.class);
+        when(stored.getContent()).thenReturn("测试内容");
+        when(articleRepository.findWithCategoryById(1L)).thenReturn(Optional.of(testArticle));
+        when(articleBodyRepository.findStoredContentByArticleId(1L)).thenReturn(Optional.of(stored));
 
         ArticleVO result = articleService.getArticle(1L);
 
         assertNotNull(result);
         assertEquals("测试文章", result.getTitle());
-        verify(articleRepository).findById(1L);
+        assertEquals("测试内容", result.getContent());
+        // 分类随文章一并加载，不再单独查询
+        assertEquals("测试分类", result.getCategoryName());
+        verify(articleRepository).findWithCategoryById(1L);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -74,20 +98,62 @@ class ArticleServiceTest {
 
         articleService.deleteArticle(1L);
 
+        verify(articleBodyRepository).deleteByArticleId(1L);
         verify(articleRepository).delete(testArticle);
     }
 
+    @Test
+    void testUpdateWithoutPublishAtKeepsSchedule() {
+        Date publishAt = new Date(System.currentTimeMillis() + 3600_000);
+        testArticle.setStatus(0);
+        testArticle.setPublishAt(publishAt);
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+
+        // 只修改标题，status取默认值1，未传publishAt
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle("修改标题");
+        articleService.updateArticle(1L, articleDTO);
+
+        assertEquals("修改标题", testArticle.getTitle());
+        assertEquals(publishAt, testArticle.getPublishAt());
+        assertEquals(0, testArticle.getStatus());
+        verify(articlePublishScheduler).scheduleAfterCommit(1L, publishAt);
+    }
+
+    @Test
+    void testUpdateReschedulesOrClearsPublishAt() {
+        testArticle.setStatus(0);
+        testArticle.setPublishAt(new Date(System.currentTimeMillis() + 3600_000));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+
+        Date later = new Date(System.currentTimeMillis() + 7200_000);
+        ArticleDTO reschedule = new ArticleDTO();
+        reschedule.setPublishAt(later);
+        articleService.updateArticle(1L, reschedule);
+        assertEquals(later, testArticle.getPublishAt());
+        verify(articlePublishScheduler).scheduleAfterCommit(1L, later);
+
+        // 取消定时发布后按status立即生效，并取消发布任务
+        ArticleDTO clear = new ArticleDTO();
+        clear.setClearPublishAt(true);
+        articleService.updateArticle(1L, clear);
+        assertNull(testArticle.getPublishAt());
+        assertEquals(1, testArticle.getStatus());
+        verify(articlePublishScheduler).scheduleAfterCommit(1L, null);
+    }
+
     @Test
     void testGetArticles() {
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createTime"));
         Page<Article> articlePage = new PageImpl<>(Arrays.asList(testArticle));
         when(articleRepository.findAll(pageable)).thenReturn(articlePage);
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
 
         PageResult<ArticleVO> result = articleService.getArticles(1, 10, null, null, null);
 
         assertNotNull(result);
         assertEquals(1, result.getTotal().intValue());
-        verify(articleRepository).findAll(any(Pageable.class));
+        assertEquals("测试分类", result.getList().get(0).getCategoryName());
+        verify(articleRepository).findAll(pageable);
+        verifyNoInteractions(categoryRepository, articleBodyRepository);
     }
 }
\ No newline at end of file
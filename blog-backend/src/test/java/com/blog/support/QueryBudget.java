@@ -0,0 +1,121 @@
+package com.blog.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * 接口SQL语句数预算
+ * 执行一次请求（异步请求等待完成），统计期间执行的SQL语句数，超过预算时失败并列出全部语句。
+ * cold在请求前清空二级缓存和查询缓存，得到最坏情况下的语句数；warm先执行一次请求预热缓存再统计
+ */
+public class QueryBudget {
+
+    private final MockMvc mockMvc;
+
+    private final StatementCounter statementCounter;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper;
+
+    public QueryBudget(MockMvc mockMvc, StatementCounter statementCounter, EntityManagerFactory entityManagerFactory,
+                       ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.statementCounter = statementCounter;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 清空缓存后执行请求，断言成功且SQL语句数不超过预算
+     *
+     * @param maxStatements 语句数预算
+     * @param request       请求
+     * @return 请求结果
+     */
+    public MvcResult cold(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        evictCaches();
+        return measure(maxStatements, request);
+    }
+
+    /**
+     * 预热缓存后执行请求，断言成功且SQL语句数不超过预算
+     *
+     * @param maxStatements 语句数预算
+     * @param request       请求
+     * @return 请求结果
+     */
+    public MvcResult warm(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        evictCaches();
+        perform(request);
+        return measure(maxStatements, request);
+    }
+
+    private MvcResult measure(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        statementCounter.start();
+        MvcResult result;
+        List<String> statements;
+        try {
+            result = perform(request);
+        } finally {
+            statements = statementCounter.stop();
+        }
+        String name = describe(result);
+        assertSucceeded(name, result);
+        if (statements.size() > maxStatements) {
+            StringBuilder message = new StringBuilder()
+                    .append(name).append(" 执行了").append(statements.size()).append("条SQL，超出预算")
+                    .append(maxStatements).append("条：");
+            for (int i = 0; i < statements.size(); i++) {
+                message.append("\n  ").append(i + 1).append(". ").append(statements.get(i).replaceAll("\\s+", " "));
+            }
+            fail(message.toString());
+        }
+        return result;
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+
+    /**
+     * 请求必须成功，否则统计的语句数没有意义：HTTP状态为2xx，JSON响应的code为200
+     */
+    private void assertSucceeded(String name, MvcResult result) throws Exception {
+        int status = result.getResponse().getStatus();
+        String body = result.getResponse().getContentAsString();
+        assertTrue(status / 100 == 2, name + " 返回" + status + "：" + body);
+        String contentType = result.getResponse().getContentType();
+        if (contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            JsonNode code = objectMapper.readTree(body).get("code");
+            assertEquals(200, code == null ? -1 : code.asInt(), name + " 返回：" + body);
+        }
+    }
+
+    private void evictCaches() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    private static String describe(MvcResult result) {
+        String query = result.getRequest().getQueryString();
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI() + (query == null ? "" : "?" + query);
+    }
+}
@@ -0,0 +1,94 @@
+package com.blog.support;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.blog.entity.Contributor;
+import com.blog.repository.CategoryRepository;
+import com.blog.repository.ContributorRepository;
+import com.blog.util.ArchiveIndex;
+import com.blog.util.CorpusGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * SQL语句数预算测试配置：向Druid连接池注册语句计数过滤器，启动后写入一份小规模合成语料
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfig {
+
+    /**
+     * 预置文章数，覆盖多个分类和分页，使N+1查询在语句数上明显可见
+     */
+    static final int ARTICLES = 60;
+
+    /**
+     * 预置分类数（另有数据初始化创建的默认分类）
+     */
+    static final int CATEGORIES = 6;
+
+    /**
+     * 预置贡献者数
+     */
+    static final int CONTRIBUTORS = 4;
+
+    private static final StatementCounter STATEMENT_COUNTER = new StatementCounter();
+
+    @Bean
+    public static BeanPostProcessor statementCounterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof DruidDataSource && !((DruidDataSource) bean).getProxyFilters().contains(STATEMENT_COUNTER)) {
+                    ((DruidDataSource) bean).getProxyFilters().add(STATEMENT_COUNTER);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return STATEMENT_COUNTER;
+    }
+
+    @Bean
+    public QueryBudget queryBudget(MockMvc mockMvc, EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper) {
+        return new QueryBudget(mockMvc, STATEMENT_COUNTER, entityManagerFactory, objectMapper);
+    }
+
+    /**
+     * 在数据初始化之后写入语料，同一上下文只执行一次；分类和贡献者在二级缓存中，通过Repository写入
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public ApplicationRunner queryBudgetCorpus(JdbcTemplate jdbcTemplate, CategoryRepository categoryRepository,
+                                               ContributorRepository contributorRepository, ArchiveIndex archiveIndex) {
+        return args -> {
+            CorpusGenerator.Options options = new CorpusGenerator.Options();
+            options.setArticles(ARTICLES);
+            options.setCategories(CATEGORIES);
+            options.setMaxBodyBytes(4096);
+            options.setParallelism(1);
+            new CorpusGenerator(jdbcTemplate, categoryRepository, options).generate();
+
+            for (int i = 1; i <= CONTRIBUTORS; i++) {
+                Contributor contributor = new Contributor();
+                contributor.setName("贡献者" + i);
+                contributor.setIntroduction("预置贡献者");
+                contributor.setSort(i);
+                contributor.setStatus(1);
+                contributorRepository.save(contributor);
+            }
+            // 归档索引在启动完成时已加载，语料写入后重建
+            archiveIndex.rebuild();
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.blog.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SQL语句数预算测试
+ * 在H2（MySQL兼容模式）上执行迁移脚本并启动完整应用，沿用生产环境的MySQL方言，统计的语句与线上一致；
+ * 测试类注入QueryBudget为每个接口声明语句数上限。
+ * 所有使用该注解的测试类共享同一个应用上下文；定时刷新和租约续约的间隔调大，避免后台语句计入请求
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.druid.validation-query=SELECT 1",
+        "spring.datasource.druid.filters=stat",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "management.server.port=-1",
+        "blog.view-count.flush-interval=3600000",
+        "blog.publish.lease-renew-interval=3600000",
+        "blog.warmup.enabled=false",
+        "logging.level.org.hibernate.SQL=warn"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetConfig.class)
+public @interface QueryBudgetTest {
+}
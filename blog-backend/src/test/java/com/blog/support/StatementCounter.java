@@ -0,0 +1,73 @@
+package com.blog.support;
+
+import com.alibaba.druid.filter.FilterEventAdapter;
+import com.alibaba.druid.proxy.jdbc.ResultSetProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 统计SQL语句执行次数的Druid过滤器
+ * 只在start()和stop()之间记录，不区分线程，异步请求在其他线程执行的语句同样计入；
+ * 批量执行按一次往返计数
+ */
+public class StatementCounter extends FilterEventAdapter {
+
+    private final List<String> statements = new ArrayList<>();
+
+    private volatile boolean recording;
+
+    /**
+     * 清空已记录的语句并开始记录
+     */
+    public synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    /**
+     * 停止记录
+     *
+     * @return 期间执行的语句
+     */
+    public synchronized List<String> stop() {
+        recording = false;
+        return new ArrayList<>(statements);
+    }
+
+    @Override
+    protected void statementExecuteAfter(StatementProxy statement, String sql, boolean result) {
+        record(sql);
+    }
+
+    @Override
+    protected void statementExecuteQueryAfter(StatementProxy statement, String sql, ResultSetProxy resultSet) {
+        record(sql);
+    }
+
+    @Override
+    protected void statementExecuteUpdateAfter(StatementProxy statement, String sql, int updateCount) {
+        record(sql);
+    }
+
+    @Override
+    protected void statementExecuteBatchAfter(StatementProxy statement, int[] result) {
+        record("[batch x" + result.length + "] " + statement.getLastExecuteSql());
+    }
+
+    @Override
+    protected void statement_executeErrorAfter(StatementProxy statement, String sql, Throwable error) {
+        record("[error] " + sql);
+    }
+
+    private void record(String sql) {
+        if (recording) {
+            synchronized (this) {
+                if (recording) {
+                    statements.add(sql);
+                }
+            }
+        }
+    }
+}
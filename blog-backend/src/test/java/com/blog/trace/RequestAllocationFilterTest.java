@@ -0,0 +1,103 @@
+package com.blog.trace;
+
+import com.blog.service.impl.MonitorServiceImpl;
+import com.blog.vo.RouteAllocationStatsVO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求内存分配统计测试：请求线程上的分配按路由模板计入分布统计，并按累计分配量排出路由
+ */
+class RequestAllocationFilterTest {
+
+    private static final int MEGABYTE = 1 << 20;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestAllocationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestAllocationFilter(meterRegistry);
+    }
+
+    @Test
+    void testRecordsAllocatedBytesPerRoute() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("/articles/" + i, "/articles/{id}", MEGABYTE);
+        }
+        perform("/categories", "/categories", 0);
+
+        DistributionSummary articles = meterRegistry.get(RequestAllocationFilter.METRIC_NAME)
+                .tag("method", "GET").tag("uri", "/articles/{id}").summary();
+        assertEquals(3, articles.count());
+        assertTrue(articles.totalAmount() >= 3.0 * MEGABYTE, "total=" + articles.totalAmount());
+
+        DistributionSummary categories = meterRegistry.get(RequestAllocationFilter.METRIC_NAME)
+                .tag("uri", "/categories").summary();
+        assertEquals(1, categories.count());
+        assertTrue(categories.max() < MEGABYTE, "max=" + categories.max());
+    }
+
+    @Test
+    void testTopAllocatingRoutes() throws Exception {
+        perform("/articles/1", "/articles/{id}", MEGABYTE);
+        perform("/articles/2", "/articles/{id}", MEGABYTE);
+        perform("/categories", "/categories", 0);
+        perform("/settings", "/settings", 0);
+
+        MonitorServiceImpl monitorService = new MonitorServiceImpl();
+        ReflectionTestUtils.setField(monitorService, "meterRegistry", meterRegistry);
+        List<RouteAllocationStatsVO> stats = monitorService.getAllocationStats(2);
+
+        assertEquals(2, stats.size());
+        RouteAllocationStatsVO top = stats.get(0);
+        assertEquals("/articles/{id}", top.getRoute());
+        assertEquals(2, top.getRequests());
+        assertTrue(top.getMeanBytes() >= MEGABYTE);
+        // 分位数取直方图桶上界，误差不超过一倍，且不超过最大值
+        assertTrue(top.getP50Bytes() >= MEGABYTE && top.getP50Bytes() <= 2.0 * MEGABYTE, "p50=" + top.getP50Bytes());
+        assertTrue(top.getP99Bytes() <= top.getMaxBytes());
+    }
+
+    private void perform(String uri, String route, int allocate) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new AllocatingServlet(route, allocate)));
+    }
+
+    /**
+     * 模拟处理请求时分配指定字节数
+     */
+    private static class AllocatingServlet extends HttpServlet {
+
+        private final String route;
+        private final int allocate;
+
+        AllocatingServlet(String route, int allocate) {
+            this.route = route;
+            this.allocate = allocate;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            byte[] payload = new byte[allocate];
+            request.setAttribute("payload", payload);
+        }
+    }
+}
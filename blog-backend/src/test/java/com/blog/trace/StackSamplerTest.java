@@ -0,0 +1,125 @@
+package com.blog.trace;
+
+import com.blog.exception.BlogException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 栈采样测试：采样结果按线程池聚合为折叠栈，参数超出上限和并发采样被拒绝，调用树节点数不超过上限
+ */
+class StackSamplerTest {
+
+    private static volatile long sink;
+
+    @Test
+    void testSamplesMatchingThreads() throws Exception {
+        StackSampler sampler = sampler();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread worker = new Thread(() -> spin(running), "profiled-worker-1");
+        worker.start();
+        try {
+            StackSampler.Session session = sampler.start(1, 10, "profiled-worker-.*", false);
+            assertTrue(sampler.isRunning());
+            session.await();
+            assertFalse(sampler.isRunning());
+            assertTrue(session.getSamples() > 0);
+
+            String output = collapsed(session);
+            for (String line : output.split("\n")) {
+                assertTrue(line.matches("profiled-worker;\\S.* \\d+"), line);
+            }
+            assertTrue(output.contains("StackSamplerTest.spin"), output);
+        } finally {
+            running.set(false);
+            worker.join();
+        }
+    }
+
+    @Test
+    void testRejectsOutOfLimitsAndConcurrentSessions() throws Exception {
+        StackSampler sampler = sampler();
+        assertThrows(BlogException.class, () -> sampler.start(61, 20, null, false));
+        assertThrows(BlogException.class, () -> sampler.start(0, 20, null, false));
+        assertThrows(BlogException.class, () -> sampler.start(1, 1, null, false));
+        assertThrows(BlogException.class, () -> sampler.start(1, 20, "(", false));
+
+        StackSampler.Session session = sampler.start(5, 20, "no-such-thread", false);
+        assertThrows(BlogException.class, () -> sampler.start(1, 20, null, false));
+        session.cancel();
+        session.await();
+        assertEquals("", collapsed(session));
+        sampler.start(1, 20, "no-such-thread", false).await();
+    }
+
+    @Test
+    void testCallTreeNodeLimit() throws IOException {
+        CallTree tree = new CallTree(5);
+        StackTraceElement[] first = stack("a", "b", "c");
+        tree.add("pool", first, false, null);
+        tree.add("pool", first, false, null);
+        // 只能再建一个节点，y放不下，采样计到x上
+        tree.add("pool", stack("a", "x", "y"), false, null);
+        tree.add("other", first, false, null);
+
+        assertEquals(4, tree.getSamples());
+        assertEquals(5, tree.getNodeCount());
+        assertEquals(2, tree.getTruncatedSamples());
+
+        StringWriter writer = new StringWriter();
+        tree.writeCollapsed(writer);
+        String output = writer.toString();
+        assertTrue(output.contains("pool;T.a;T.b;T.c 2\n"), output);
+        assertTrue(output.contains("pool;T.a;T.x 1\n"), output);
+        assertFalse(output.contains("other"), output);
+    }
+
+    @Test
+    void testThreadGroupNames() {
+        assertEquals("http-nio-8081-exec", StackSampler.group("http-nio-8081-exec-12"));
+        assertEquals("task", StackSampler.group("task-3"));
+        assertEquals("article-publish-timer", StackSampler.group("article-publish-timer"));
+        assertEquals("123", StackSampler.group("123"));
+    }
+
+    private static StackSampler sampler() {
+        StackSampler sampler = new StackSampler();
+        ReflectionTestUtils.setField(sampler, "maxDurationSeconds", 60);
+        ReflectionTestUtils.setField(sampler, "minIntervalMillis", 10);
+        ReflectionTestUtils.setField(sampler, "maxStackDepth", 64);
+        ReflectionTestUtils.setField(sampler, "maxNodes", 20000);
+        ReflectionTestUtils.setField(sampler, "maxThreads", 256);
+        ReflectionTestUtils.setField(sampler, "threadPattern", "http-nio-.*");
+        return sampler;
+    }
+
+    private static String collapsed(StackSampler.Session session) throws IOException {
+        StringWriter writer = new StringWriter();
+        session.writeCollapsed(writer);
+        return writer.toString();
+    }
+
+    /**
+     * 构造调用栈，参数按外层到内层给出，返回最内层在前的数组
+     */
+    private static StackTraceElement[] stack(String... methods) {
+        StackTraceElement[] frames = new StackTraceElement[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            frames[methods.length - 1 - i] = new StackTraceElement("T", methods[i], "T.java", i + 1);
+        }
+        return frames;
+    }
+
+    private static void spin(AtomicBoolean running) {
+        long value = 0;
+        while (running.get()) {
+            value = value * 31 + System.nanoTime();
+        }
+        sink = value;
+    }
+}
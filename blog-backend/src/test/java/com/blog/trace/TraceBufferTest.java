@@ -0,0 +1,121 @@
+package com.blog.trace;
+
+import com.blog.vo.TraceSpanVO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 追踪缓冲区测试：片段按开始顺序和嵌套深度记录，超出容量时只保留最近的片段且不误写被覆盖的槽位
+ */
+class TraceBufferTest {
+
+    private static final int NAME_A = Tracer.nameId("a");
+    private static final int NAME_B = Tracer.nameId("b");
+    private static final int NAME_C = Tracer.nameId("c");
+
+    @Test
+    void testRecordsNestedSpans() {
+        TraceBuffer buffer = new TraceBuffer(8);
+        buffer.start(0);
+        buffer.begin(SpanKind.CONTROLLER, NAME_A, 1_000_000);
+        buffer.begin(SpanKind.REPOSITORY, NAME_B, 2_000_000);
+        buffer.begin(SpanKind.SQL, NAME_C, 3_000_000);
+        buffer.end(4_000_000);
+        buffer.end(5_000_000);
+        buffer.begin(SpanKind.SERIALIZATION, NAME_C, 6_000_000);
+        buffer.end(7_000_000);
+
+        List<TraceSpanVO> spans = buffer.snapshot(10_000_000);
+        assertEquals(4, spans.size());
+        assertEquals(0, buffer.dropped());
+
+        assertEquals("CONTROLLER", spans.get(0).getKind());
+        assertEquals("a", spans.get(0).getName());
+        assertEquals(0, spans.get(0).getDepth());
+        assertFalse(spans.get(0).getFinished());
+        assertEquals(9.0, spans.get(0).getDurationMillis(), 1e-9);
+
+        assertEquals("REPOSITORY", spans.get(1).getKind());
+        assertEquals(1, spans.get(1).getDepth());
+        assertEquals(3.0, spans.get(1).getDurationMillis(), 1e-9);
+
+        assertEquals("SQL", spans.get(2).getKind());
+        assertEquals(2, spans.get(2).getDepth());
+        assertEquals(3.0, spans.get(2).getStartMillis(), 1e-9);
+        assertEquals(1.0, spans.get(2).getDurationMillis(), 1e-9);
+
+        assertEquals("SERIALIZATION", spans.get(3).getKind());
+        assertEquals(1, spans.get(3).getDepth());
+        assertTrue(spans.get(3).getFinished());
+    }
+
+    @Test
+    void testKeepsLatestSpansWhenFull() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        buffer.start(0);
+        buffer.begin(SpanKind.CONTROLLER, NAME_A, 0);
+        for (int i = 1; i <= 5; i++) {
+            buffer.begin(SpanKind.SQL, NAME_B, i);
+            buffer.end(i + 1);
+        }
+        // 根片段的槽位已被覆盖，关闭时不能改写覆盖它的片段
+        buffer.end(100);
+
+        List<TraceSpanVO> spans = buffer.snapshot(100);
+        assertEquals(4, spans.size());
+        assertEquals(2, buffer.dropped());
+        for (TraceSpanVO span : spans) {
+            assertEquals("SQL", span.getKind());
+            assertEquals(1, span.getDepth());
+            assertEquals(1e-6, span.getDurationMillis(), 1e-12);
+        }
+        assertEquals(2e-6, spans.get(0).getStartMillis(), 1e-12);
+    }
+
+    @Test
+    void testSkipsSpansBeyondMaxDepth() {
+        TraceBuffer buffer = new TraceBuffer(256);
+        buffer.start(0);
+        for (int i = 0; i < TraceBuffer.MAX_DEPTH + 3; i++) {
+            buffer.begin(SpanKind.SERVICE, NAME_A, i);
+        }
+        for (int i = 0; i < TraceBuffer.MAX_DEPTH + 3; i++) {
+            buffer.end(1000 + i);
+        }
+
+        List<TraceSpanVO> spans = buffer.snapshot(2000);
+        assertEquals(TraceBuffer.MAX_DEPTH, spans.size());
+        assertEquals(3, buffer.dropped());
+        assertTrue(spans.stream().allMatch(TraceSpanVO::getFinished));
+        // 最外层片段最后关闭
+        assertEquals(1000 + TraceBuffer.MAX_DEPTH + 2, Math.round(spans.get(0).getDurationMillis() * 1_000_000));
+    }
+
+    @Test
+    void testStartClearsPreviousRequest() {
+        TraceBuffer buffer = new TraceBuffer(8);
+        buffer.start(0);
+        buffer.begin(SpanKind.SERVICE, NAME_A, 1);
+        buffer.stop();
+
+        buffer.start(10);
+        buffer.begin(SpanKind.SQL, NAME_B, 11);
+        buffer.end(12);
+
+        List<TraceSpanVO> spans = buffer.snapshot(20);
+        assertEquals(1, spans.size());
+        assertEquals(0, spans.get(0).getDepth());
+        assertEquals(1e-6, spans.get(0).getStartMillis(), 1e-12);
+    }
+
+    @Test
+    void testIgnoresThreadsWithoutTrace() {
+        assertFalse(Tracer.isActive());
+        Tracer.begin(SpanKind.SQL, NAME_A);
+        Tracer.end();
+        assertFalse(Tracer.isActive());
+    }
+}
@@ -0,0 +1,176 @@
+package com.blog.trace;
+
+import com.blog.util.SlowRequestLog;
+import com.blog.vo.SlowRequestVO;
+import com.blog.vo.TraceSpanVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求追踪过滤器测试：超过阈值的请求连同片段树写入慢请求日志，请求结束后线程不再记录片段；
+ * 异步请求的首次分派、执行器任务和结果分派合并为一个请求
+ */
+class TracingFilterTest {
+
+    private static final int HANDLER = Tracer.nameId("TestController.handle");
+    private static final int QUERY = Tracer.nameId("SELECT 1");
+    private static final int TASK = Tracer.nameId("TestExecutor.run");
+    private static final int WRITE_JSON = Tracer.nameId("TestConverter.write");
+
+    private SlowRequestLog slowRequestLog;
+
+    private TracingFilter tracingFilter;
+
+    @BeforeEach
+    void setUp() {
+        slowRequestLog = new SlowRequestLog(10);
+        tracingFilter = new TracingFilter(slowRequestLog, 64, true);
+    }
+
+    @Test
+    void testCapturesSlowRequest() throws Exception {
+        slowRequestLog.setThresholdMillis(0);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tracingFilter.doFilter(new MockHttpServletRequest("GET", "/articles/1"), response,
+                new MockFilterChain(new TracedServlet()));
+
+        List<SlowRequestVO> entries = slowRequestLog.getEntries();
+        assertEquals(1, entries.size());
+        SlowRequestVO entry = entries.get(0);
+        assertEquals("GET", entry.getMethod());
+        assertEquals("/articles/1", entry.getUri());
+        assertEquals(202, entry.getStatus());
+        assertEquals(0, entry.getDroppedSpans());
+
+        List<TraceSpanVO> spans = entry.getSpans();
+        assertEquals(3, spans.size());
+        assertEquals("FILTER", spans.get(0).getKind());
+        assertEquals(0, spans.get(0).getDepth());
+        assertEquals("TestController.handle", spans.get(1).getName());
+        assertEquals(1, spans.get(1).getDepth());
+        assertEquals("SELECT 1", spans.get(2).getName());
+        assertEquals(2, spans.get(2).getDepth());
+        assertTrue(spans.stream().allMatch(TraceSpanVO::getFinished));
+        assertTrue(spans.get(0).getDurationMillis() >= spans.get(1).getDurationMillis());
+
+        assertFalse(Tracer.isActive());
+    }
+
+    @Test
+    void testIgnoresFastRequest() throws Exception {
+        slowRequestLog.setThresholdMillis(60_000);
+
+        tracingFilter.doFilter(new MockHttpServletRequest("GET", "/articles"), new MockHttpServletResponse(),
+                new MockFilterChain(new TracedServlet()));
+
+        assertTrue(slowRequestLog.getEntries().isEmpty());
+        assertEquals(0, slowRequestLog.getTotalCount());
+    }
+
+    @Test
+    void testMergesAsyncRequestAcrossThreads() throws Exception {
+        slowRequestLog.setThresholdMillis(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/articles/search");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<TraceContext> forked = new AtomicReference<>();
+
+        // 首次分派：控制器开始异步处理，把追踪上下文交给执行器
+        tracingFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                Tracer.begin(SpanKind.CONTROLLER, HANDLER);
+                try {
+                    WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(req);
+                    StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(req, res);
+                    asyncManager.setAsyncWebRequest(asyncWebRequest);
+                    asyncWebRequest.startAsync();
+                    forked.set(Tracer.fork());
+                } finally {
+                    Tracer.end();
+                }
+            }
+        }));
+        assertNotNull(forked.get());
+        assertTrue(slowRequestLog.getEntries().isEmpty());
+        assertFalse(Tracer.isActive());
+
+        // 执行器线程：查询片段并入请求
+        AtomicBoolean joined = new AtomicBoolean();
+        Thread executor = new Thread(() -> {
+            joined.set(Tracer.join(forked.get(), TASK));
+            try {
+                Tracer.begin(SpanKind.SQL, QUERY);
+                Tracer.end();
+            } finally {
+                Tracer.leave(forked.get());
+            }
+        });
+        executor.start();
+        executor.join();
+        assertTrue(joined.get());
+
+        // 结果分派：序列化响应后按整个请求写入慢请求日志
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        tracingFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                Tracer.begin(SpanKind.SERIALIZATION, WRITE_JSON);
+                Tracer.end();
+                res.setStatus(200);
+            }
+        }));
+
+        List<SlowRequestVO> entries = slowRequestLog.getEntries();
+        assertEquals(1, entries.size());
+        List<TraceSpanVO> spans = entries.get(0).getSpans();
+        assertEquals(List.of("FilterChain", "TestController.handle", "TestExecutor.run", "SELECT 1",
+                        "AsyncDispatch", "TestConverter.write"),
+                spans.stream().map(TraceSpanVO::getName).collect(Collectors.toList()));
+        assertEquals("ASYNC", spans.get(2).getKind());
+        assertEquals(1, spans.get(3).getDepth());
+        assertTrue(spans.stream().allMatch(TraceSpanVO::getFinished));
+        for (int i = 1; i < spans.size(); i++) {
+            assertTrue(spans.get(i).getStartMillis() >= spans.get(i - 1).getStartMillis());
+        }
+        assertFalse(Tracer.isActive());
+    }
+
+    /**
+     * 模拟控制器方法中执行一条SQL
+     */
+    private static class TracedServlet extends HttpServlet {
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            assertTrue(Tracer.isActive());
+            Tracer.begin(SpanKind.CONTROLLER, HANDLER);
+            try {
+                Tracer.begin(SpanKind.SQL, QUERY);
+                Tracer.end();
+            } finally {
+                Tracer.end();
+            }
+            response.setStatus(202);
+        }
+    }
+}
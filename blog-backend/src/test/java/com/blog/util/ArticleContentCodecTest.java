@@ -0,0 +1,107 @@
+package com.blog.util;
+
+import com.blog.config.ArticleContentCompressionRunner;
+import com.blog.entity.ArticleBody;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章正文编解码器测试
+ */
+class ArticleContentCodecTest {
+
+    private static final String LONG_CONTENT = "<pre><code>System.out.println(\"博客\");</code></pre>\n".repeat(200);
+
+    private ArticleContentCodec codec;
+
+    @BeforeEach
+    void setup() {
+        codec = new ArticleContentCodec();
+        ReflectionTestUtils.setField(codec, "enabled", true);
+        ReflectionTestUtils.setField(codec, "threshold", 1024);
+    }
+
+    @Test
+    void testLongContentIsStoredAsStandardGzip() throws Exception {
+        ArticleBody body = new ArticleBody(1L);
+        codec.encode(body, LONG_CONTENT);
+
+        assertTrue(codec.isCompressed(body));
+        // 只存压缩数据，搜索文本不含HTML标记
+        assertNull(body.getContent());
+        assertTrue(body.getContentGzip().length < LONG_CONTENT.getBytes(StandardCharsets.UTF_8).length);
+        assertTrue(body.getSearchText().startsWith("System.out.println(\"博客\"); System.out"));
+        assertFalse(body.getSearchText().contains("<"));
+        assertEquals(LONG_CONTENT, codec.decode(body));
+        // 存储的数据可直接作为 Content-Encoding: gzip 响应体
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.getContentGzip()))) {
+            assertEquals(LONG_CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testShortContentOrDisabledStaysPlain() {
+        ArticleBody body = new ArticleBody(1L);
+        codec.encode(body, LONG_CONTENT);
+        codec.encode(body, "短文");
+        // 改为短文后清除原有的压缩数据和搜索文本
+        assertFalse(codec.isCompressed(body));
+        assertNull(body.getSearchText());
+        assertEquals("短文", codec.decode(body));
+
+        ReflectionTestUtils.setField(codec, "enabled", false);
+        codec.encode(body, LONG_CONTENT);
+        assertFalse(codec.isCompressed(body));
+        assertEquals(LONG_CONTENT, body.getContent());
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() {
+        ArticleBody body = new ArticleBody(1L);
+        body.setContentGzip("not gzip".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, () -> codec.decode(body));
+    }
+
+    @Test
+    void testExistingBodiesAreCompressedInBatches() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:content_compression;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO article (id, title, status, create_time, update_time) VALUES (?, ?, 1, ?, ?)",
+                    id, "文章" + id, now, now);
+            jdbcTemplate.update("INSERT INTO article_body (article_id, content) VALUES (?, ?)",
+                    id, id == 3 ? "短文" : LONG_CONTENT);
+        }
+
+        ArticleContentCompressionRunner runner = new ArticleContentCompressionRunner();
+        ReflectionTestUtils.setField(runner, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(runner, "articleContentCodec", codec);
+        ReflectionTestUtils.setField(runner, "batchSize", 2);
+
+        assertEquals(4, runner.compressExisting());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM article_body WHERE content_gzip IS NOT NULL AND search_text IS NOT NULL", Integer.class));
+        // 压缩后明文置空，只有短文保留明文
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM article_body WHERE content IS NOT NULL", Integer.class));
+        byte[] stored = jdbcTemplate.queryForObject(
+                "SELECT content_gzip FROM article_body WHERE article_id = 5", byte[].class);
+        assertEquals(LONG_CONTENT, ArticleContentCodec.gunzip(stored));
+        // 再次执行不会重复压缩
+        assertEquals(0, runner.compressExisting());
+    }
+}
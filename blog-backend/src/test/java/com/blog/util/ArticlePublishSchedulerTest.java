@@ -0,0 +1,195 @@
+package com.blog.util;
+
+import com.blog.entity.Article;
+import com.blog.repository.ArticleRepository;
+import com.blog.support.JpaSliceTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 定时发布调度器测试：获得租约后从数据库加载待发布文章，到点条件更新发布。
+ * 发布时间设在远离当前时间的将来，时间轮在测试期间不会触发，通过推进测试时钟并调用publishDue()发布，不依赖真实时间
+ */
+@JpaSliceTest
+@TestPropertySource(properties = "blog.publish.tick-duration=10")
+@Import({ArticlePublishScheduler.class, ArticlePublishSchedulerTest.SchedulerTestConfig.class})
+class ArticlePublishSchedulerTest {
+
+    private static final Duration LEAD = Duration.ofMinutes(10);
+
+    @Autowired
+    private ArticlePublishScheduler articlePublishScheduler;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MutableClock clock;
+
+    @MockBean
+    private ArchiveIndex archiveIndex;
+
+    @BeforeEach
+    void setup() {
+        // 租约表由迁移脚本创建，测试使用Hibernate建表时需单独创建
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS scheduler_lease (name VARCHAR(64) PRIMARY KEY, "
+                + "owner VARCHAR(128) NOT NULL, expires_at TIMESTAMP(3) NOT NULL)");
+        clock.reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        // 模拟租约被其他节点接管，清空本节点时间轮，下一个测试重新全量加载
+        jdbcTemplate.update("DELETE FROM scheduler_lease");
+        leaseToOtherNode();
+        articlePublishScheduler.renewLease();
+        articleRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM scheduler_lease");
+    }
+
+    @Test
+    void testPendingArticlesLoadedAndPublishedWhenDue() {
+        long publishAt = clock.millis() + LEAD.toMillis();
+        Long dueId = saveDraft(new Date(publishAt));
+        Long laterId = saveDraft(new Date(publishAt + 3600_000));
+        Long plainDraftId = saveDraft(null);
+
+        // 模拟重启：新获得租约时从数据库加载
+        articlePublishScheduler.renewLease();
+        assertTrue(articlePublishScheduler.isLeader());
+        assertEquals(2, articlePublishScheduler.getScheduledCount());
+
+        // 未到期时不发布
+        articlePublishScheduler.publishDue();
+        assertEquals(0, articleRepository.findById(dueId).orElseThrow().getStatus());
+
+        clock.advance(LEAD);
+        articlePublishScheduler.publishDue();
+
+        Article published = articleRepository.findById(dueId).orElseThrow();
+        assertEquals(1, published.getStatus());
+        assertNull(published.getPublishAt());
+        assertEquals(publishAt / 1000, published.getCreateTime().getTime() / 1000);
+        assertEquals(0, articleRepository.findById(laterId).orElseThrow().getStatus());
+        assertEquals(0, articleRepository.findById(plainDraftId).orElseThrow().getStatus());
+        assertEquals(1, articlePublishScheduler.getScheduledCount());
+        verify(archiveIndex).refresh(List.of(dueId));
+    }
+
+    @Test
+    void testCancelledOrRescheduledArticleNotPublished() {
+        articlePublishScheduler.renewLease();
+        Date publishAt = new Date(clock.millis() + LEAD.toMillis());
+        Long cancelledId = saveDraft(publishAt);
+        Long rescheduledId = saveDraft(publishAt);
+        articlePublishScheduler.schedule(cancelledId, publishAt);
+        articlePublishScheduler.schedule(rescheduledId, publishAt);
+        articlePublishScheduler.cancel(List.of(cancelledId));
+        articlePublishScheduler.schedule(rescheduledId, new Date(publishAt.getTime() + 3600_000));
+
+        clock.advance(LEAD);
+        articlePublishScheduler.publishDue();
+
+        assertEquals(0, articleRepository.findById(cancelledId).orElseThrow().getStatus());
+        assertEquals(0, articleRepository.findById(rescheduledId).orElseThrow().getStatus());
+        assertEquals(1, articlePublishScheduler.getScheduledCount());
+    }
+
+    @Test
+    void testFollowerDoesNotLoadJobs() {
+        leaseToOtherNode();
+        Long id = saveDraft(new Date(clock.millis() + LEAD.toMillis()));
+
+        articlePublishScheduler.renewLease();
+        assertFalse(articlePublishScheduler.isLeader());
+        assertEquals(0, articlePublishScheduler.getScheduledCount());
+
+        // 未持有租约的节点即使到期也不执行状态变更
+        clock.advance(LEAD);
+        articlePublishScheduler.publishDue();
+        assertEquals(0, articleRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    private void leaseToOtherNode() {
+        jdbcTemplate.update("INSERT INTO scheduler_lease (name, owner, expires_at) VALUES (?, ?, ?)",
+                ArticlePublishScheduler.LEASE_NAME, "other-node", new Timestamp(System.currentTimeMillis() + 60000));
+    }
+
+    private Long saveDraft(Date publishAt) {
+        Article article = new Article();
+        article.setTitle("定时文章");
+        article.setViewCount(0);
+        article.setStatus(0);
+        article.setPublishAt(publishAt);
+        return articleRepository.save(article).getId();
+    }
+
+    /**
+     * 可手动推进的测试时钟
+     */
+    static class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.now();
+
+        void reset() {
+            instant = Instant.now();
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @TestConfiguration
+    static class SchedulerTestConfig {
+
+        @Bean
+        public AsyncTaskExecutor applicationTaskExecutor() {
+            return new SimpleAsyncTaskExecutor("publish-test-");
+        }
+
+        @Bean
+        public MutableClock clock() {
+            return new MutableClock();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.util;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 合成语料生成器测试：生成结果只由种子决定，分布呈长尾，可在H2 MySQL模式下分批并行写入
+ */
+class CorpusGeneratorTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:corpus;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void testSameSeedGeneratesSameArticles() {
+        CorpusGenerator first = new CorpusGenerator(jdbcTemplate, options(7, 100));
+        CorpusGenerator second = new CorpusGenerator(jdbcTemplate, options(7, 100));
+        CorpusGenerator other = new CorpusGenerator(jdbcTemplate, options(8, 100));
+
+        for (long ordinal : new long[]{0, 1, 57, 99}) {
+            assertEquals(first.preview(ordinal), second.preview(ordinal));
+        }
+        assertNotEquals(first.preview(0).getContent(), other.preview(0).getContent());
+    }
+
+    @Test
+    void testArticleShape() {
+        CorpusGenerator.Options options = options(42, 300);
+        CorpusGenerator generator = new CorpusGenerator(jdbcTemplate, options);
+        boolean codeBlock = false;
+        boolean english = false;
+        for (long ordinal = 0; ordinal < 300; ordinal++) {
+            CorpusGenerator.ArticleRow row = generator.preview(ordinal);
+            assertTrue(row.getContentBytes() >= options.getMinBodyBytes());
+            // 最多超出一个段落
+            assertTrue(row.getContentBytes() < options.getMaxBodyBytes() + 4096);
+            assertTrue(row.getTitle().length() <= 100);
+            assertTrue(row.getTags().length() <= 500);
+            assertFalse(row.getTags().isEmpty());
+            assertTrue(row.getCreateTime().getTime() <= row.getUpdateTime().getTime());
+            codeBlock |= row.getContent().contains("```");
+            english |= row.getContent().contains(" the ");
+        }
+        assertTrue(codeBlock);
+        assertTrue(english);
+    }
+
+    @Test
+    void testLongTailDistributions() {
+        CorpusGenerator generator = new CorpusGenerator(jdbcTemplate, options(42, 5000));
+        Map<Long, Integer> categorySizes = new HashMap<>();
+        Map<String, Integer> tagCounts = new HashMap<>();
+        int maxViews = 0;
+        int lowViews = 0;
+        for (long ordinal = 0; ordinal < 5000; ordinal++) {
+            CorpusGenerator.ArticleRow row = generator.preview(ordinal);
+            categorySizes.merge(row.getCategoryId(), 1, Integer::sum);
+            for (String tag : row.getTags().split(",")) {
+                tagCounts.merge(tag, 1, Integer::sum);
+            }
+            maxViews = Math.max(maxViews, row.getViewCount());
+            if (row.getViewCount() < 1000) {
+                lowViews++;
+            }
+        }
+
+        // 第一名分类远大于最后一名
+        assertTrue(categorySizes.get(1L) > 5 * categorySizes.getOrDefault(24L, 1));
+        // 标签：头部标签使用频繁，同时有大量只出现少数几次的标签
+        int topTag = tagCounts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        long rareTags = tagCounts.values().stream().filter(count -> count <= 2).count();
+        assertTrue(topTag > 500);
+        assertTrue(rareTags > 200);
+        // 浏览量：每个排名恰好出现一次，最热文章为maxViews，排名1000之后的文章浏览量不足千分之一
+        assertEquals(1000000, maxViews);
+        assertEquals(4000, lowViews);
+    }
+
+    @Test
+    void testGenerateWritesBatchesAndAppends() {
+        CorpusGenerator.Options options = options(42, 53);
+        options.setBatchSize(7);
+        options.setParallelism(3);
+        CorpusGenerator generator = new CorpusGenerator(jdbcTemplate, options);
+
+        long before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article", Long.class);
+        CorpusGenerator.Summary summary = generator.generate();
+        long categories = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category", Long.class);
+
+        assertEquals(53, summary.getArticles());
+        assertEquals(before + 53, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article", Long.class));
+        assertEquals(before + 53, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article_body", Long.class));
+        long firstId = summary.getFirstArticleId();
+        // 内容与批大小、并行度无关
+        List<String> titles = jdbcTemplate.queryForList(
+                "SELECT title FROM article WHERE id >= ? ORDER BY id", String.class, firstId);
+        for (int i = 0; i < titles.size(); i++) {
+            assertEquals(generator.preview(i).getTitle(), titles.get(i));
+        }
+        assertEquals(firstId + 53, jdbcTemplate.queryForObject("SELECT next_val FROM article_seq", Long.class));
+
+        // 再次生成追加在后面，分类按名称复用
+        CorpusGenerator.Summary next = generator.generate();
+        assertEquals(firstId + 53, next.getFirstArticleId());
+        assertEquals(categories, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category", Long.class));
+    }
+
+    private static CorpusGenerator.Options options(long seed, long articles) {
+        CorpusGenerator.Options options = new CorpusGenerator.Options();
+        options.setSeed(seed);
+        options.setArticles(articles);
+        return options;
+    }
+}
@@ -0,0 +1,62 @@
+package com.blog.util;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据库租约测试：在H2 MySQL模式下执行迁移脚本，两个节点竞争同一租约
+ */
+class DatabaseLeaseTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:lease;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM scheduler_lease");
+    }
+
+    @Test
+    void testOnlyOneOwnerHoldsLease() {
+        DatabaseLease first = new DatabaseLease(jdbcTemplate, "job", "node-1", 60000);
+        DatabaseLease second = new DatabaseLease(jdbcTemplate, "job", "node-2", 60000);
+
+        assertTrue(first.tryAcquire());
+        assertFalse(second.tryAcquire());
+        // 持有者可以续约
+        assertTrue(first.tryAcquire());
+        assertTrue(first.isHeld());
+        assertFalse(second.isHeld());
+
+        // 主动释放后其他节点立即接管
+        first.release();
+        assertFalse(first.isHeld());
+        assertTrue(second.tryAcquire());
+        assertFalse(first.tryAcquire());
+    }
+
+    @Test
+    void testExpiredLeaseTakenOver() throws Exception {
+        DatabaseLease first = new DatabaseLease(jdbcTemplate, "job", "node-1", 50);
+        DatabaseLease second = new DatabaseLease(jdbcTemplate, "job", "node-2", 60000);
+
+        assertTrue(first.tryAcquire());
+        Thread.sleep(100);
+        assertFalse(first.isHeld());
+        assertTrue(second.tryAcquire());
+        assertFalse(first.tryAcquire());
+    }
+}
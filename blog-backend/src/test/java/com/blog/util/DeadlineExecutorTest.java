@@ -0,0 +1,173 @@
+package com.blog.util;
+
+import com.blog.common.Result;
+import com.blog.common.ResultCode;
+import com.blog.exception.BlogException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 带截止时间的异步执行测试：正常结果、截止时间降级、执行器拒绝、查询超时降级、任务异常，
+ * 以及剩余时间向下取整为事务超时
+ */
+class DeadlineExecutorTest {
+
+    private static final Result<String> FALLBACK = Result.failed(ResultCode.REQUEST_TIMEOUT, "降级");
+
+    private DeadlineExecutor deadlineExecutor;
+
+    private ThreadPoolTaskExecutor searchExecutor;
+
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        searchExecutor = new ThreadPoolTaskExecutor();
+        searchExecutor.setCorePoolSize(1);
+        searchExecutor.setMaxPoolSize(1);
+        searchExecutor.initialize();
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        deadlineExecutor = new DeadlineExecutor();
+        ReflectionTestUtils.setField(deadlineExecutor, "searchExecutor", searchExecutor);
+        ReflectionTestUtils.setField(deadlineExecutor, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(deadlineExecutor, "timeoutMillis", 2500L);
+    }
+
+    @AfterEach
+    void cleanup() {
+        searchExecutor.shutdown();
+    }
+
+    @Test
+    void testResultRunsInReadOnlyTransactionWithRoundedDownTimeout() throws Exception {
+        DeferredResult<Result<String>> deferredResult = deadlineExecutor.submit(() -> "结果", () -> FALLBACK);
+
+        Result<?> result = (Result<?>) await(deferredResult);
+        assertEquals("结果", result.getData());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        // 剩余不到2.5秒，语句超时取2秒而不是3秒，不会晚于截止时间
+        assertEquals(2, definition.getValue().getTimeout());
+    }
+
+    @Test
+    void testDeadlineReturnsFallback() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DeferredResult<Result<String>> deferredResult = deadlineExecutor.submit(() -> {
+            awaitQuietly(release);
+            return "过期结果";
+        }, () -> FALLBACK);
+        MockAsyncContext asyncContext = startAsync(deferredResult);
+
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        assertSame(FALLBACK, deferredResult.getResult());
+
+        // 被中断或迟到的任务结果不会覆盖降级结果
+        release.countDown();
+        searchExecutor.getThreadPoolExecutor().shutdown();
+        assertTrue(searchExecutor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertSame(FALLBACK, deferredResult.getResult());
+    }
+
+    @Test
+    void testRejectedTaskReturnsServiceUnavailable() {
+        AsyncTaskExecutor rejecting = mock(AsyncTaskExecutor.class);
+        when(rejecting.submit(any(Runnable.class))).thenThrow(new TaskRejectedException("队列已满"));
+        ReflectionTestUtils.setField(deadlineExecutor, "searchExecutor", rejecting);
+
+        DeferredResult<Result<String>> deferredResult = deadlineExecutor.submit(() -> "结果", () -> FALLBACK);
+
+        assertTrue(deferredResult.hasResult());
+        BlogException error = assertInstanceOf(BlogException.class, deferredResult.getResult());
+        assertEquals(ResultCode.SERVICE_UNAVAILABLE, error.getCode());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testQueryTimeoutReturnsFallback() throws Exception {
+        DeferredResult<Result<String>> deferredResult = deadlineExecutor.submit(() -> {
+            throw new QueryTimeoutException("statement cancelled due to timeout");
+        }, () -> FALLBACK);
+
+        assertSame(FALLBACK, await(deferredResult));
+    }
+
+    @Test
+    void testTaskErrorIsSetAsErrorResult() throws Exception {
+        IllegalStateException failure = new IllegalStateException("查询失败");
+        DeferredResult<Result<String>> deferredResult = deadlineExecutor.submit(() -> {
+            throw failure;
+        }, () -> FALLBACK);
+
+        assertSame(failure, await(deferredResult));
+    }
+
+    @Test
+    void testLessThanOneSecondLeftReturnsFallbackWithoutQuery() throws Exception {
+        ReflectionTestUtils.setField(deadlineExecutor, "timeoutMillis", 500L);
+
+        DeferredResult<Result<String>> deferredResult = deadlineExecutor.submit(() -> "结果", () -> FALLBACK);
+
+        assertSame(FALLBACK, await(deferredResult));
+        verifyNoInteractions(transactionManager);
+    }
+
+    private static Object await(DeferredResult<?> deferredResult) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!deferredResult.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(deferredResult.hasResult(), "任务应在5秒内完成");
+        return deferredResult.getResult();
+    }
+
+    /**
+     * 按Spring MVC处理异步请求的方式启动DeferredResult，以便触发超时回调
+     */
+    private static MockAsyncContext startAsync(DeferredResult<?> deferredResult) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.startDeferredResultProcessing(deferredResult);
+        return (MockAsyncContext) request.getAsyncContext();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
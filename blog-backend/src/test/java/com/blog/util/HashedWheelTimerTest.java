@@ -0,0 +1,64 @@
+package com.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTest {
+
+    @Test
+    void testTasksFireInDeadlineOrderNotBeforeDeadline() throws Exception {
+        // 8个槽、每格10ms，最长的任务需要绕多圈
+        try (HashedWheelTimer timer = new HashedWheelTimer("test-wheel", 10, TimeUnit.MILLISECONDS, 8, Runnable::run)) {
+            List<Integer> fired = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(3);
+            long start = System.nanoTime();
+            long[] elapsed = new long[3];
+            int[] delays = {250, 30, 120};
+            for (int i = 0; i < delays.length; i++) {
+                int index = i;
+                timer.newTimeout(() -> {
+                    elapsed[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    fired.add(delays[index]);
+                    done.countDown();
+                }, delays[i], TimeUnit.MILLISECONDS);
+            }
+
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            assertEquals(List.of(30, 120, 250), fired);
+            for (int i = 0; i < delays.length; i++) {
+                assertTrue(elapsed[i] >= delays[i], "任务提前触发：" + elapsed[i] + "ms < " + delays[i] + "ms");
+            }
+        }
+    }
+
+    @Test
+    void testCancelledTaskDoesNotFire() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test-wheel", 10, TimeUnit.MILLISECONDS, 8, Runnable::run)) {
+            CountDownLatch cancelledFired = new CountDownLatch(1);
+            CountDownLatch laterFired = new CountDownLatch(1);
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(cancelledFired::countDown, 50, TimeUnit.MILLISECONDS);
+            timer.newTimeout(laterFired::countDown, 100, TimeUnit.MILLISECONDS);
+
+            assertTrue(timeout.cancel());
+            assertTrue(laterFired.await(2, TimeUnit.SECONDS));
+            assertEquals(1, cancelledFired.getCount());
+            assertFalse(timeout.isExpired());
+            assertEquals(0, timer.pendingCount());
+        }
+    }
+
+    @Test
+    void testOverdueTaskFiresOnNextTick() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test-wheel", 10, TimeUnit.MILLISECONDS, 8, Runnable::run)) {
+            CountDownLatch fired = new CountDownLatch(1);
+            timer.newTimeout(fired::countDown, -60000, TimeUnit.MILLISECONDS);
+            assertTrue(fired.await(500, TimeUnit.MILLISECONDS));
+        }
+    }
+}
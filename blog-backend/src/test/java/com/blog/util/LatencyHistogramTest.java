@@ -0,0 +1,48 @@
+package com.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟直方图测试：分桶边界连续，分位数误差在分桶精度以内
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsAreContiguous() {
+        for (long micros = 0; micros < 1 << 20; micros++) {
+            int index = LatencyHistogram.indexOf(micros);
+            assertTrue(micros <= LatencyHistogram.upperBoundOf(index), "micros=" + micros);
+            if (index > 0) {
+                assertTrue(micros > LatencyHistogram.upperBoundOf(index - 1), "micros=" + micros);
+            }
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i * 100L));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(100.0, histogram.getMaxMillis(), 1e-9);
+        assertEquals(50.05, histogram.getMeanMillis(), 1e-9);
+        assertEquals(50.0, histogram.getPercentileMillis(0.5), 50.0 * 0.125);
+        assertEquals(99.0, histogram.getPercentileMillis(0.99), 99.0 * 0.125);
+        assertEquals(100.0, histogram.getPercentileMillis(1.0), 1e-9);
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanMillis());
+        assertEquals(0, histogram.getPercentileMillis(0.99));
+    }
+}
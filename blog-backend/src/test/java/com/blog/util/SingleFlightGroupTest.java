@@ -0,0 +1,105 @@
+package com.blog.util;
+
+import com.blog.exception.BlogException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightGroupTest {
+
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlightGroup<Long, String> group = new SingleFlightGroup<>("test", 5000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        return group.execute(1L, () -> {
+                            loads.incrementAndGet();
+                            release.await();
+                            return "文章1";
+                        });
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            // 等待所有调用进入合并等待后再放行首个加载
+            while (group.getCoalesced() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertEquals("文章1", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, group.getCoalesced());
+        assertEquals(0, group.getInFlight());
+    }
+
+    @Test
+    void testFailureIsNotCached() throws Throwable {
+        SingleFlightGroup<Long, String> group = new SingleFlightGroup<>("test", 5000);
+
+        assertThrows(BlogException.class, () -> group.execute(1L, () -> {
+            throw new BlogException("文章不存在");
+        }));
+
+        assertEquals("文章1", group.execute(1L, () -> "文章1"));
+        assertEquals(0, group.getCoalesced());
+    }
+
+    @Test
+    void testWaiterLoadsItselfWhenLeaderIsStuck() throws Exception {
+        SingleFlightGroup<Long, String> group = new SingleFlightGroup<>("test", 50);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> {
+                try {
+                    return group.execute(1L, () -> {
+                        leaderStarted.countDown();
+                        release.await();
+                        return "首个调用";
+                    });
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            // 首个调用卡住，等待方超时后自行加载，不会无限期阻塞
+            assertEquals("自行加载", group.execute(1L, () -> "自行加载"));
+            assertEquals(1, group.getWaitTimeouts());
+            assertEquals(1, group.getInFlight());
+
+            release.countDown();
+            assertEquals("首个调用", leader.get(5, TimeUnit.SECONDS));
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, group.getInFlight());
+    }
+}
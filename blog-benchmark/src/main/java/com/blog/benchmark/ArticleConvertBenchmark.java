@@ -0,0 +1,71 @@
+package com.blog.benchmark;
+
+import com.blog.entity.Article;
+import com.blog.util.ArticleConverter;
+import com.blog.vo.ArticleVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章实体转VO基准测试
+ * 直接调用文章服务使用的ArticleConverter，不经过数据库
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class ArticleConvertBenchmark {
+
+    private List<Article> page;
+
+    private Article article;
+
+    private String content;
+
+    @Setup
+    public void setup() {
+        page = BenchmarkData.articles(20);
+        article = page.get(0);
+        content = new String(new char[8192]).replace('\0', '文');
+    }
+
+    /**
+     * 列表接口：单篇文章转换，不含正文
+     */
+    @Benchmark
+    public ArticleVO convertSummary() {
+        return ArticleConverter.toVO(article, null);
+    }
+
+    /**
+     * 详情接口：单篇文章转换，含正文
+     */
+    @Benchmark
+    public ArticleVO convertWithContent() {
+        return ArticleConverter.toVO(article, content);
+    }
+
+    /**
+     * 一页（20篇）文章转换
+     */
+    @Benchmark
+    public void convertPage(Blackhole blackhole) {
+        for (Article item : page) {
+            blackhole.consume(ArticleConverter.toVO(item, null));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.blog.benchmark;
+
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.vo.ArticleVO;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试数据
+ * 使用固定随机种子生成，多次运行的输入完全一致，结果可直接对比
+ */
+public final class BenchmarkData {
+
+    /**
+     * 随机种子
+     */
+    public static final long SEED = 20240101L;
+
+    /**
+     * 数据的固定时间基准（2024-01-01 00:00:00 GMT+8）
+     */
+    private static final long BASE_TIME = 1704038400000L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成文章实体，字段长度接近线上文章
+     *
+     * @param count 数量
+     * @return 文章列表
+     */
+    public static List<Article> articles(int count) {
+        Random random = new Random(SEED);
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("技术");
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Article article = new Article();
+            article.setId((long) i + 1);
+            article.setTitle("文章标题" + i + "：" + text(random, 20));
+            article.setSummary(text(random, 120));
+            article.setThumbnail("/uploads/images/" + Long.toHexString(random.nextLong()) + ".png");
+            article.setCategoryId(category.getId());
+            article.setCategory(category);
+            article.setViewCount(random.nextInt(100000));
+            article.setTags("Java,Spring Boot,性能");
+            article.setStatus(1);
+            article.setCreateTime(new Date(BASE_TIME + i * 3600_000L));
+            article.setUpdateTime(new Date(BASE_TIME + i * 3600_000L + random.nextInt(86400_000)));
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    /**
+     * 生成文章列表接口返回的文章VO（不含正文）
+     *
+     * @param count 数量
+     * @return 文章VO列表
+     */
+    public static List<ArticleVO> articleVOs(int count) {
+        List<ArticleVO> result = new ArrayList<>(count);
+        for (Article article : articles(count)) {
+            result.add(ArticleVO.builder()
+                    .id(article.getId())
+                    .title(article.getTitle())
+                    .summary(article.getSummary())
+                    .thumbnail(article.getThumbnail())
+                    .categoryId(article.getCategoryId())
+                    .categoryName(article.getCategory().getName())
+                    .viewCount(article.getViewCount())
+                    .tags(article.getTags())
+                    .status(article.getStatus())
+                    .createTime(article.getCreateTime())
+                    .updateTime(article.getUpdateTime())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 生成固定内容的字节数组
+     *
+     * @param size 字节数
+     * @return 字节数组
+     */
+    public static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(SEED).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('一' + random.nextInt(2000)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.blog.benchmark;
+
+import com.blog.util.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件上传落盘基准测试
+ * 文件写入临时目录，每轮迭代结束后清空；结果受磁盘性能影响，应在同一台机器上对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class FileUploadBenchmark {
+
+    /**
+     * 文件大小（字节）
+     */
+    @Param({"4096", "1048576"})
+    private int size;
+
+    private Path uploadDir;
+
+    private FileUtil fileUtil;
+
+    private MockMultipartFile file;
+
+    @Setup
+    public void setup() throws IOException {
+        uploadDir = Files.createTempDirectory("blog-benchmark-upload");
+        fileUtil = new FileUtil();
+        ReflectionTestUtils.setField(fileUtil, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(fileUtil, "allowedTypes", "image/jpeg,image/png,image/gif");
+        ReflectionTestUtils.setField(fileUtil, "maxSizeStr", "10MB");
+        file = new MockMultipartFile("file", "image.png", "image/png", BenchmarkData.bytes(size));
+    }
+
+    @Benchmark
+    public String uploadFile() throws IOException {
+        return fileUtil.uploadFile(file, "images");
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanIteration() throws IOException {
+        FileSystemUtils.deleteRecursively(uploadDir.resolve("images"));
+    }
+
+    @TearDown
+    public void cleanup() throws IOException {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+}
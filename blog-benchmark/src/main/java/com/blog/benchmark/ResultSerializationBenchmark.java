@@ -0,0 +1,71 @@
+package com.blog.benchmark;
+
+import com.blog.common.PageResult;
+import com.blog.common.Result;
+import com.blog.vo.ArticleVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页结果构建及JSON序列化基准测试
+ * ObjectMapper按application.yml中spring.jackson的日期格式和时区配置，与线上序列化路径一致
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class ResultSerializationBenchmark {
+
+    /**
+     * 每页文章数
+     */
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<ArticleVO> articles;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .dateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+                .timeZone(TimeZone.getTimeZone("GMT+8"))
+                .build();
+        articles = BenchmarkData.articleVOs(pageSize);
+    }
+
+    /**
+     * 构建分页结果
+     */
+    @Benchmark
+    public PageResult<ArticleVO> pageResultOf() {
+        return PageResult.of(1, pageSize, 1000L, articles);
+    }
+
+    /**
+     * 构建并序列化接口响应Result&lt;PageResult&lt;ArticleVO&gt;&gt;
+     */
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(Result.success(PageResult.of(1, pageSize, 1000L, articles)));
+    }
+}
@@ -72,6 +72,50 @@ export function deleteArticle(id) {
   });
 }
 
+/**
+ * 批量修改文章状态
+ * @param {Object} data - 批量操作参数
+ * @param {Array<number>} [data.ids] - 文章ID列表
+ * @param {number} data.targetStatus - 目标状态：0-草稿，1-已发布
+ * @returns {Promise}
+ */
+export function batchUpdateStatus(data) {
+  return request({
+    url: '/api/articles/batch/status',
+    method: 'put',
+    data
+  });
+}
+
+/**
+ * 批量移动文章分类
+ * @param {Object} data - 批量操作参数
+ * @param {Array<number>} [data.ids] - 文章ID列表
+ * @param {number} data.targetCategoryId - 目标分类ID
+ * @returns {Promise}
+ */
+export function batchMoveCategory(data) {
+  return request({
+    url: '/api/articles/batch/category',
+    method: 'put',
+    data
+  });
+}
+
+/**
+ * 批量删除文章
+ * @param {Object} data - 批量操作参数
+ * @param {Array<number>} [data.ids] - 文章ID列表
+ * @returns {Promise}
+ */
+export function batchDeleteArticles(data) {
+  return request({
+    url: '/api/articles/batch/delete',
+    method: 'post',
+    data
+  });
+}
+
 /**
  * 根据分类获取文章列表
  * @param {number|string} categoryId - 分类ID
@@ -130,6 +174,33 @@ export function getPopularArticles(limit = 5) {
   });
 }
 
+/**
+ * 获取文章归档（各月份已发布文章数量）
+ * @returns {Promise}
+ */
+export function getArchive() {
+  return request({
+    url: '/api/articles/archive',
+    method: 'get'
+  });
+}
+
+/**
+ * 获取某月归档文章
+ * @param {string} month - 月份，格式yyyy-MM
+ * @param {Object} [params] - 查询参数
+ * @param {string} [params.cursor] - 上一页返回的游标
+ * @param {number} [params.size] - 每页条数
+ * @returns {Promise}
+ */
+export function getArchiveArticles(month, params) {
+  return request({
+    url: `/api/articles/archive/${month}`,
+    method: 'get',
+    params
+  });
+}
+
 // 导出文章API对象
 export const articleApi = {
   getArticles,
@@ -138,8 +209,13 @@ export const articleApi = {
   createArticle,
   updateArticle,
   deleteArticle,
+  batchUpdateStatus,
+  batchMoveCategory,
+  batchDeleteArticles,
   getArticlesByCategory,
   searchArticles,
   getLatestArticles,
-  getPopularArticles
+  getPopularArticles,
+  getArchive,
+  getArchiveArticles
 };
\ No newline at end of file